@@ -1,16 +1,26 @@
 package com.example.skillboost.codeReview.controller;
 
+import com.example.skillboost.codeReview.domain.CodeReview;
 import com.example.skillboost.codeReview.service.CodeReviewService;
 import com.example.skillboost.codeReview.GithubFile;
 import com.example.skillboost.codeReview.service.GithubService;
+import com.example.skillboost.llm.LlmStreamRelay;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/review")
 public class CodeReviewController {
@@ -21,6 +31,9 @@ public class CodeReviewController {
     @Autowired
     private CodeReviewService codeReviewService;
 
+    @Autowired
+    private LlmStreamRelay llmStreamRelay;
+
     @PostMapping
     public ResponseEntity<?> reviewCode(
             @RequestParam("code") String code,
@@ -60,7 +73,8 @@ public class CodeReviewController {
 
             // 2. AI 리뷰 생성
             System.out.println("\n AI 리뷰 생성 중...");
-            String reviewResult = codeReviewService.reviewWithContext(code, comment, repoContext);
+            CodeReviewService.ReviewResult result = codeReviewService.reviewWithContext(code, comment, repoContext);
+            String reviewResult = result.review();
 
             // 3. 응답 생성
             Map<String, Object> response = new HashMap<>();
@@ -69,6 +83,11 @@ public class CodeReviewController {
             response.put("repo_url", repoUrl != null ? repoUrl : "");
             response.put("success", true);
 
+            // Gemini 실패로 만든 mock 리뷰는 저장하지 않는다
+            if (!result.mock()) {
+                codeReviewService.saveReview(code, comment, repoUrl, reviewResult);
+            }
+
             System.out.println(" 리뷰 완료! (리뷰 길이: " + reviewResult.length() + "자)");
             System.out.println("=".repeat(60) + "\n");
 
@@ -90,4 +109,44 @@ public class CodeReviewController {
             return ResponseEntity.internalServerError().body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 스트리밍 코드 리뷰 (SSE)
+     * POST /api/review/stream → 바로 "status" 이벤트를 보내고, GitHub 레포를 불러온 뒤
+     * "token" 이벤트로 리뷰 텍스트 조각, 마지막에 저장된 결과를 "done" 이벤트로 보낸다.
+     * 레포 불러오기도 스트림 안에서 하므로 캐시에 없는 레포여도 첫 바이트를 기다리지 않는다.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReview(
+            @RequestParam("code") String code,
+            @RequestParam(value = "comment", required = false) String comment,
+            @RequestParam(value = "repo_url", required = false) String repoUrl,
+            @RequestParam(value = "branch", defaultValue = "main") String branch
+    ) {
+        log.info("스트리밍 코드 리뷰 요청 받음 (코드 길이: {}자)", code.length());
+
+        boolean hasRepo = repoUrl != null && !repoUrl.isEmpty();
+        AtomicInteger contextFilesCount = new AtomicInteger();
+
+        // GitHub 호출은 블로킹이라 boundedElastic 에서
+        Flux<String> chunks = Mono.fromCallable(() -> hasRepo ? githubService.fetchRepoCode(repoUrl, branch) : List.<GithubFile>of())
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(files -> contextFilesCount.set(files.size()))
+                .flatMapMany(files -> codeReviewService.streamReviewWithContext(code, comment, files.isEmpty() ? null : files));
+
+        String status = hasRepo ? "레포지토리를 불러오는 중입니다." : "리뷰를 생성하는 중입니다.";
+        return llmStreamRelay.relay(status, chunks, review -> {
+            // API 키가 없어 만든 mock 리뷰는 저장하지 않는다
+            Long reviewId = codeReviewService.usesMockReview()
+                    ? null
+                    : codeReviewService.saveReview(code, comment, repoUrl, review).getId();
+            Map<String, Object> response = new HashMap<>();
+            response.put("review_id", reviewId);
+            response.put("review", review);
+            response.put("context_files_count", contextFilesCount.get());
+            response.put("repo_url", repoUrl != null ? repoUrl : "");
+            response.put("success", true);
+            return response;
+        });
+    }
+}
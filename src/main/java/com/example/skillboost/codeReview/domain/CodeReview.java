@@ -0,0 +1,47 @@
+package com.example.skillboost.codeReview.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "code_review")
+public class CodeReview {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 리뷰 대상 코드
+    @Lob
+    @Column(nullable = false)
+    private String sourceCode;
+
+    // 개발자의 질문/고민
+    @Lob
+    private String comment;
+
+    // 참고한 GitHub 레포 (없으면 null)
+    @Column(length = 500)
+    private String repoUrl;
+
+    // AI 리뷰 결과 (마크다운)
+    @Lob
+    private String review;
+
+    // 생성 시각
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
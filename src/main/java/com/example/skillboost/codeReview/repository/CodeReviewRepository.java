@@ -0,0 +1,7 @@
+package com.example.skillboost.codeReview.repository;
+
+import com.example.skillboost.codeReview.domain.CodeReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CodeReviewRepository extends JpaRepository<CodeReview, Long> {
+}
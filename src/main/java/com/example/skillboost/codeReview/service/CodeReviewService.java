@@ -1,88 +1,172 @@
 package com.example.skillboost.codeReview.service;
 
 import com.example.skillboost.codeReview.GithubFile;
+import com.example.skillboost.codeReview.domain.CodeReview;
+import com.example.skillboost.codeReview.repository.CodeReviewRepository;
+import com.example.skillboost.llm.LlmException;
+import com.example.skillboost.llm.LlmGateway;
+import com.example.skillboost.llm.PromptBuilder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class CodeReviewService {
 
-    private final WebClient webClient;
+    /**
+     * @param mock Gemini 를 쓰지 못해 만든 예시 리뷰인지 (저장하지 않는다)
+     */
+    public record ReviewResult(String review, boolean mock) {
+    }
+
+    private static final int RELATED_FILE_LIST_LIMIT = 20;
+    private static final int SEARCH_LIMIT = 200;
+
+    private final LlmGateway llmGateway;
+    private final CodeReviewRepository codeReviewRepository;
+    private final RepoIndexCache repoIndexCache;
+    private final RepoSummaryService repoSummaryService;
+
+    @Value("${review.prompt.max-tokens:12000}")
+    private int promptMaxTokens;
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    // 관련 코드 섹션에 쓸 토큰 예산
+    @Value("${review.context.token-budget:6000}")
+    private int contextTokenBudget;
 
-    @Value("${gemini.model:gemini-2.5-flash}")
-    private String geminiModel;
+    @Value("${review.prompt.summary-token-budget:1500}")
+    private int summaryTokenBudget;
 
-    public CodeReviewService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder
-                .baseUrl("https://generativelanguage.googleapis.com")
-                .build();
+    @Value("${review.prompt.target-token-budget:4000}")
+    private int targetTokenBudget;
+
+    @Value("${review.prompt.comment-token-budget:500}")
+    private int commentTokenBudget;
+
+    public CodeReviewService(LlmGateway llmGateway,
+                             CodeReviewRepository codeReviewRepository,
+                             RepoIndexCache repoIndexCache,
+                             RepoSummaryService repoSummaryService) {
+        this.llmGateway = llmGateway;
+        this.codeReviewRepository = codeReviewRepository;
+        this.repoIndexCache = repoIndexCache;
+        this.repoSummaryService = repoSummaryService;
     }
 
-    public String reviewWithContext(String targetCode, String comment, List<GithubFile> repoContext) {
+    public ReviewResult reviewWithContext(String targetCode, String comment, List<GithubFile> repoContext) {
         String prompt = buildPrompt(targetCode, comment, repoContext);
 
         System.out.println("생성된 프롬프트 길이: " + prompt.length() + "자");
 
-        if (geminiApiKey == null || geminiApiKey.isEmpty()) {
+        if (!llmGateway.isConfigured()) {
             System.out.println("Gemini API 키가 없습니다. Mock 리뷰를 생성합니다.");
-            return generateMockReview(repoContext != null ? repoContext.size() : 0);
+            return new ReviewResult(generateMockReview(repoContext != null ? repoContext.size() : 0), true);
         }
 
         return callGemini(prompt);
     }
 
+    /**
+     * 스트리밍 리뷰. 생성되는 텍스트 조각을 그대로 흘려준다 (API 키가 없으면 mock 리뷰 한 덩어리).
+     */
+    public Flux<String> streamReviewWithContext(String targetCode, String comment, List<GithubFile> repoContext) {
+        String prompt = buildPrompt(targetCode, comment, repoContext);
+
+        log.info("생성된 프롬프트 길이: {}자 (스트리밍)", prompt.length());
+
+        if (usesMockReview()) {
+            log.info("Gemini API 키가 없습니다. Mock 리뷰를 생성합니다.");
+            return Flux.just(generateMockReview(repoContext != null ? repoContext.size() : 0));
+        }
+
+        return llmGateway.stream(prompt);
+    }
+
+    /**
+     * Gemini 대신 mock 리뷰를 돌려주는 상태인지 (API 키 없음)
+     */
+    public boolean usesMockReview() {
+        return !llmGateway.isConfigured();
+    }
+
+    /**
+     * 완성된 리뷰 저장
+     */
+    @Transactional
+    public CodeReview saveReview(String targetCode, String comment, String repoUrl, String review) {
+        return codeReviewRepository.save(CodeReview.builder()
+                .sourceCode(targetCode)
+                .comment(comment)
+                .repoUrl(repoUrl)
+                .review(review)
+                .build());
+    }
+
     private String buildPrompt(String targetCode, String comment, List<GithubFile> repoContext) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("당신은 경험 많은 시니어 개발자입니다. 전체 구조를 이해하고, 코드 품질을 향상시키는 리뷰를 제공합니다.\n\n");
+        PromptBuilder prompt = PromptBuilder.create(promptMaxTokens);
+        prompt.text("당신은 경험 많은 시니어 개발자입니다. 전체 구조를 이해하고, 코드 품질을 향상시키는 리뷰를 제공합니다.\n\n");
+
+        // 리뷰 대상과 질문은 항상 넣되 각자 예산 안으로 줄인다
+        String target = PromptBuilder.fit(targetCode, targetTokenBudget, PromptBuilder.Truncation.HEAD_TAIL);
+        String question = PromptBuilder.fit(comment, commentTokenBudget, PromptBuilder.Truncation.HEAD);
 
         if (repoContext != null && !repoContext.isEmpty()) {
-            prompt.append("=== 프로젝트 전체 구조 ===\n\n");
-            prompt.append("총 ").append(repoContext.size()).append("개의 파일로 구성된 프로젝트입니다.\n\n");
-            prompt.append("파일 목록:\n");
-            int fileListCount = 0;
-            for (GithubFile file : repoContext) {
-                if (fileListCount++ >= 50) break;
-                prompt.append("  - ").append(file.getPath()).append("\n");
-            }
-            if (repoContext.size() > 50) {
-                prompt.append("  ... 외 ").append(repoContext.size() - 50).append("개 파일\n");
-            }
-            prompt.append("\n");
-
-            prompt.append("=== 주요 파일 내용 (샘플) ===\n\n");
-            int contentCount = 0;
-            for (GithubFile file : repoContext) {
-                if (contentCount++ >= 5) break;
-                prompt.append("#### ").append(file.getPath()).append("\n");
-                prompt.append("```\n");
-                String content = file.getContent();
-                if (content.length() > 1500) content = content.substring(0, 1500) + "\n... (생략)";
-                prompt.append(content).append("\n```\n\n");
+            // 리뷰 대상 코드 + 질문과 비슷한 청크만 골라 넣는다 (BM25)
+            String query = comment != null ? targetCode + "\n" + comment : targetCode;
+            List<RepoSearchIndex.ScoredChunk> related = repoIndexCache.get(repoContext).search(query, SEARCH_LIMIT);
+            List<String> relatedFiles = RepoSearchIndex.rankFiles(related);
+
+            prompt.text("=== 프로젝트 전체 구조 ===\n\n");
+            prompt.text("총 " + repoContext.size() + "개의 파일로 구성된 프로젝트입니다.\n\n");
+            repoSummaryService.find(repoContext).ifPresent(summary -> {
+                prompt.section(summaryTokenBudget);
+                prompt.add(summary.toPromptText() + "\n", PromptBuilder.Truncation.HEAD);
+            });
+            if (!relatedFiles.isEmpty()) {
+                prompt.text("리뷰 대상과 관련 있는 파일 (관련도 순):\n");
+                for (String path : relatedFiles.subList(0, Math.min(RELATED_FILE_LIST_LIMIT, relatedFiles.size()))) {
+                    prompt.text("  - " + path + "\n");
+                }
+                prompt.text("\n");
             }
 
-            prompt.append("=== 프로젝트 분석 ===\n");
-            prompt.append(analyzeProjectStructure(repoContext)).append("\n\n");
+            appendRelatedChunks(prompt, related);
+
+            prompt.text("=== 프로젝트 분석 ===\n");
+            prompt.text(analyzeProjectStructure(repoContext) + "\n\n");
         }
 
-        prompt.append("=== 리뷰 대상 코드 ===\n\n```\n").append(targetCode).append("\n```\n\n");
-        if (comment != null && !comment.isEmpty()) {
-            prompt.append("=== 개발자의 질문/고민 ===\n").append(comment).append("\n\n");
+        prompt.text("=== 리뷰 대상 코드 ===\n\n```\n" + target + "\n```\n\n");
+        if (!question.isEmpty()) {
+            prompt.text("=== 개발자의 질문/고민 ===\n" + question + "\n\n");
         }
 
-        prompt.append("=== 리뷰 요청사항 ===\n\n");
-        prompt.append("전체 구조와 코드 스타일을 고려하여 다음 관점에서 상세한 피드백을 제공해주세요:\n");
-        prompt.append("1. 아키텍처 일관성\n2. 네이밍 컨벤션\n3. 코드 품질\n4. 잠재적 문제\n5. 개선 제안\n\n");
-        prompt.append("리뷰는 친절하고 구체적인 예시를 포함해 작성해주세요.");
+        prompt.text("=== 리뷰 요청사항 ===\n\n");
+        prompt.text("전체 구조와 코드 스타일을 고려하여 다음 관점에서 상세한 피드백을 제공해주세요:\n");
+        prompt.text("1. 아키텍처 일관성\n2. 네이밍 컨벤션\n3. 코드 품질\n4. 잠재적 문제\n5. 개선 제안\n\n");
+        prompt.text("리뷰는 친절하고 구체적인 예시를 포함해 작성해주세요.");
 
-        return prompt.toString();
+        return prompt.build();
+    }
+
+    // 점수 높은 청크부터 예산이 찰 때까지 넣는다 (안 들어가는 큰 청크는 건너뛰고 다음 청크 시도)
+    private void appendRelatedChunks(PromptBuilder prompt, List<RepoSearchIndex.ScoredChunk> related) {
+        if (related.isEmpty()) return;
+
+        prompt.text("=== 관련 코드 (유사도 순) ===\n\n");
+        prompt.section(contextTokenBudget);
+        for (RepoSearchIndex.ScoredChunk scored : related) {
+            RepoSearchIndex.Chunk chunk = scored.chunk();
+            prompt.add("#### " + chunk.path() + " (L" + chunk.startLine() + "-" + chunk.endLine() + ")\n"
+                    + "```\n" + chunk.text() + "```\n\n");
+        }
     }
 
     private String analyzeProjectStructure(List<GithubFile> files) {
@@ -119,40 +203,12 @@ public class CodeReviewService {
         return analysis.toString();
     }
 
-    private String callGemini(String prompt) {
+    private ReviewResult callGemini(String prompt) {
         try {
-            Map<String, Object> requestBody = Map.of(
-                    "contents", List.of(
-                            Map.of("parts", List.of(Map.of("text", prompt)))
-                    )
-            );
-
-            Map<String, Object> response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/models/{model}:generateContent")
-                            .queryParam("key", geminiApiKey)
-                            .build(geminiModel))
-                    .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
-                }
-            }
-
-            throw new RuntimeException("Gemini API 응답 형식이 올바르지 않습니다.");
-
-        } catch (Exception e) {
+            return new ReviewResult(llmGateway.generateBlocking(prompt), false);
+        } catch (LlmException e) {
             System.err.println("Gemini API 호출 실패: " + e.getMessage());
-            e.printStackTrace();
-            return generateMockReview(0);
+            return new ReviewResult(generateMockReview(0), true);
         }
     }
 
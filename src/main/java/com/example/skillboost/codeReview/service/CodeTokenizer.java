@@ -0,0 +1,77 @@
+package com.example.skillboost.codeReview.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 코드 검색용 토크나이저.
+ *
+ * 식별자를 통째로 한 번, camelCase / snake_case / 숫자 경계로 쪼갠 조각을 한 번씩 낸다.
+ * 예) "getUserById" → getuserbyid, get, user, by, id
+ *     "HTTPServer2" → httpserver2, http, server, 2 (한 글자 조각은 버림)
+ */
+final class CodeTokenizer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private CodeTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isWordChar(text.charAt(i))) i++;
+            addIdentifier(text.substring(start, i), tokens);
+        }
+        return tokens;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static void addIdentifier(String identifier, List<String> tokens) {
+        if (identifier.length() > MAX_TOKEN_LENGTH) return; // 해시, base64 같은 덩어리
+
+        String whole = identifier.replace("_", "").toLowerCase();
+        add(whole, tokens);
+
+        int start = 0;
+        for (int i = 1; i <= identifier.length(); i++) {
+            if (i == identifier.length() || isBoundary(identifier, i)) {
+                String part = identifier.substring(start, i).replace("_", "").toLowerCase();
+                if (!part.equals(whole)) add(part, tokens);
+                start = i;
+            }
+        }
+    }
+
+    // i 번째 문자 앞에서 단어가 나뉘는지
+    private static boolean isBoundary(String s, int i) {
+        char prev = s.charAt(i - 1);
+        char cur = s.charAt(i);
+        if (cur == '_' || prev == '_') return true;
+        if (Character.isLowerCase(prev) && Character.isUpperCase(cur)) return true; // userId
+        if (Character.isLetter(prev) != Character.isLetter(cur)) return true;      // utf8, v2Api
+        if ((prev < 128) != (cur < 128)) return true;                                // 사용자Service
+        // HTTPServer: 대문자 연속 뒤에 소문자가 오면 마지막 대문자부터 새 단어
+        return Character.isUpperCase(prev) && Character.isUpperCase(cur)
+                && i + 1 < s.length() && Character.isLowerCase(s.charAt(i + 1));
+    }
+
+    private static void add(String token, List<String> tokens) {
+        if (token.length() >= MIN_TOKEN_LENGTH) tokens.add(token);
+    }
+}
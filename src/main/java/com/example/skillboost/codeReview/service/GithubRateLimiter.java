@@ -0,0 +1,93 @@
+package com.example.skillboost.codeReview.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * GitHub 응답의 X-RateLimit-Remaining / X-RateLimit-Reset / Retry-After 를 보고 요청 속도를 조절한다.
+ *
+ * - 남은 요청 수가 low-watermark 아래면 동시 요청 수를 그만큼 줄인다
+ * - 한도를 다 썼거나 Retry-After 를 받으면 reset 시각까지 (max-wait 이내) 다음 요청을 미룬다
+ *
+ * raw.githubusercontent.com 은 X-RateLimit 헤더를 주지 않으므로 429 의 Retry-After 만 반영된다.
+ */
+@Slf4j
+class GithubRateLimiter {
+
+    private static final String REMAINING = "X-RateLimit-Remaining";
+    private static final String RESET = "X-RateLimit-Reset";
+
+    private final int lowWatermark;
+    private final Duration maxWait;
+
+    private volatile long remaining = -1; // -1: 아직 모름
+    private volatile Instant blockedUntil = Instant.EPOCH;
+
+    GithubRateLimiter(int lowWatermark, Duration maxWait) {
+        this.lowWatermark = lowWatermark;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * WebClient 필터에서 모든 응답마다 호출한다.
+     */
+    void record(ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+
+        String remainingHeader = headers.getFirst(REMAINING);
+        if (remainingHeader != null) {
+            remaining = parseLong(remainingHeader, remaining);
+            if (remaining == 0) {
+                long reset = parseLong(headers.getFirst(RESET), 0);
+                if (reset > 0) blockUntil(Instant.ofEpochSecond(reset));
+            }
+        }
+
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            long seconds = parseLong(retryAfter, 0);
+            if (seconds > 0) blockUntil(Instant.now().plusSeconds(seconds));
+        }
+    }
+
+    /**
+     * 남은 요청 수를 보고 이번 배치의 동시 요청 수를 정한다.
+     */
+    int concurrency(int max) {
+        long left = remaining;
+        if (left < 0 || left >= lowWatermark) return max;
+        // 남은 양에 비례해서 줄인다 (최소 1)
+        return (int) Math.max(1, Math.min(max, max * left / lowWatermark));
+    }
+
+    /**
+     * 다음 요청 전에 기다려야 하는 시간. 한도가 풀리는 시각이 max-wait 보다 멀면 max-wait 만큼만 기다린다.
+     */
+    Duration delay() {
+        Duration wait = Duration.between(Instant.now(), blockedUntil);
+        if (wait.isNegative() || wait.isZero()) return Duration.ZERO;
+        return wait.compareTo(maxWait) > 0 ? maxWait : wait;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void blockUntil(Instant until) {
+        if (until.isAfter(blockedUntil)) {
+            blockedUntil = until;
+            log.warn("GitHub 요청 한도 도달, {} 까지 요청을 늦춥니다 (remaining={})", until, remaining);
+        }
+    }
+
+    private static long parseLong(String value, long fallback) {
+        if (value == null) return fallback;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -1,85 +1,292 @@
 package com.example.skillboost.codeReview.service;
 
 import com.example.skillboost.codeReview.GithubFile;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @Service
 public class GithubService {
 
+    private static final String FETCH_MODE_ARCHIVE = "archive";
+    private static final int ARCHIVE_PREFETCH_BUFFERS = 16;
+    private static final int RATE_LIMIT_RETRIES = 2;
+
     private final WebClient webClient;
+    private final RepoSnapshotCache snapshotCache;
+    private final RepoArchiveExtractor archiveExtractor;
+    private final GithubRateLimiter rateLimiter;
 
     @Value("${github.token:}")
     private String githubToken;
 
-    public GithubService(WebClient.Builder builder) {
-        this.webClient = builder.baseUrl("https://api.github.com").build();
+    @Value("${github.blob-concurrency:8}")
+    private int blobConcurrency;
+
+    // archive: manifest 가 없는 커밋은 zipball 한 번으로 받는다 / blobs: 항상 트리 + 파일별 요청
+    @Value("${github.fetch-mode:archive}")
+    private String fetchMode;
+
+    public GithubService(WebClient.Builder builder,
+                         RepoSnapshotCache snapshotCache,
+                         @Value("${github.archive.max-file-kb:512}") long maxFileKb,
+                         @Value("${github.archive.max-total-mb:50}") long maxTotalMb,
+                         @Value("${github.rate-limit.low-watermark:100}") int rateLimitLowWatermark,
+                         @Value("${github.rate-limit.max-wait-ms:10000}") long rateLimitMaxWaitMs) {
+        this.rateLimiter = new GithubRateLimiter(rateLimitLowWatermark, Duration.ofMillis(rateLimitMaxWaitMs));
+
+        // zipball 은 codeload.github.com 으로 302 리다이렉트된다
+        HttpClient httpClient = HttpClient.create().followRedirect(true);
+        this.webClient = builder
+                .baseUrl("https://api.github.com")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter((request, next) -> next.exchange(request).doOnNext(rateLimiter::record))
+                .build();
+        this.snapshotCache = snapshotCache;
+        this.archiveExtractor = new RepoArchiveExtractor(maxFileKb * 1024, maxTotalMb * 1024 * 1024);
     }
 
+    /**
+     * 브랜치를 커밋 SHA 로 바꾼 뒤, 그 커밋의 스냅샷을 캐시에서 꺼내거나 만든다.
+     * manifest 를 모르는 커밋은 zipball 하나로 받고 (fetch-mode=archive),
+     * manifest 가 있으면 이미 받아 둔 blob(SHA 동일)은 다시 내려받지 않는다.
+     */
     public List<GithubFile> fetchRepoCode(String repoUrl, String branch) {
         String[] parts = repoUrl.replace("https://github.com/", "").split("/");
         if (parts.length < 2) throw new IllegalArgumentException("잘못된 GitHub URL 형식입니다.");
 
         String owner = parts[0];
         String repo = parts[1];
-        String treeUrl = String.format("/repos/%s/%s/git/trees/%s?recursive=1", owner, repo, branch);
 
-        // 전체 트리 조회
-        Map<String, Object> response = webClient.get()
-                .uri(treeUrl)
-                .headers(h -> {
-                    if (!githubToken.isEmpty())
-                        h.setBearerAuth(githubToken);
+        String commitSha = resolveCommitSha(owner, repo, branch);
+
+        Optional<List<GithubFile>> snapshot = snapshotCache.findSnapshot(commitSha);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+
+        Optional<List<RepoSnapshotCache.ManifestEntry>> cachedManifest = snapshotCache.findManifest(commitSha);
+        if (cachedManifest.isEmpty() && FETCH_MODE_ARCHIVE.equals(fetchMode)) {
+            Optional<List<GithubFile>> archived = fetchArchive(owner, repo, commitSha);
+            if (archived.isPresent()) {
+                return archived.get();
+            }
+        }
+
+        List<RepoSnapshotCache.ManifestEntry> manifest = cachedManifest
+                .orElseGet(() -> fetchManifest(owner, repo, commitSha));
+
+        // blob SHA → 내용 (같은 내용의 파일이 여러 경로에 있어도 한 번만 받는다)
+        Map<String, String> contents = new HashMap<>();
+        Map<String, RepoSnapshotCache.ManifestEntry> missing = new LinkedHashMap<>();
+        for (RepoSnapshotCache.ManifestEntry entry : manifest) {
+            if (contents.containsKey(entry.sha()) || missing.containsKey(entry.sha())) continue;
+            Optional<String> cached = snapshotCache.findBlob(entry.sha());
+            if (cached.isPresent()) {
+                contents.put(entry.sha(), cached.get());
+            } else {
+                missing.put(entry.sha(), entry);
+            }
+        }
+
+        Map<String, String> downloaded = fetchBlobs(owner, repo, commitSha, missing.values());
+        downloaded.forEach(snapshotCache::putBlob);
+        contents.putAll(downloaded);
+
+        // 받지 못한 파일은 빈 내용으로 채우지 않고 뺀다
+        List<GithubFile> files = new ArrayList<>();
+        for (RepoSnapshotCache.ManifestEntry entry : manifest) {
+            String content = contents.get(entry.sha());
+            if (content != null) files.add(new GithubFile(entry.path(), content));
+        }
+
+        log.info("GitHub 스냅샷 생성: {}/{}@{} (파일 {}개, 새로 받은 파일 {}/{}개)",
+                owner, repo, commitSha.substring(0, 7), files.size(), downloaded.size(), missing.size());
+
+        // 일부라도 실패했으면 스냅샷은 캐시하지 않는다 → 다음 요청에서 빠진 blob 만 다시 받음
+        if (downloaded.size() < missing.size()) {
+            log.warn("GitHub 파일 {}개를 받지 못해 스냅샷을 캐시하지 않습니다: {}/{}@{}",
+                    missing.size() - downloaded.size(), owner, repo, commitSha.substring(0, 7));
+        } else {
+            snapshotCache.putSnapshot(commitSha, files);
+        }
+        return files;
+    }
+
+    private String resolveCommitSha(String owner, String repo, String branch) {
+        Optional<String> cached = snapshotCache.findCommitSha(owner, repo, branch);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // 조건부 요청: 브랜치가 그대로면 304 (GitHub 요청 한도를 쓰지 않음)
+        Optional<RepoSnapshotCache.RefValidator> validator = snapshotCache.findRefValidator(owner, repo, branch);
+
+        // Accept: application/vnd.github.sha → 본문이 커밋 SHA 문자열 하나뿐인 가벼운 응답
+        ResponseEntity<String> response = webClient.get()
+                .uri("/repos/{owner}/{repo}/commits/{branch}", owner, repo, branch)
+                .header(HttpHeaders.ACCEPT, "application/vnd.github.sha")
+                .headers(headers -> {
+                    authorize(headers);
+                    validator.ifPresent(v -> headers.setIfNoneMatch(v.etag()));
                 })
                 .retrieve()
+                .toEntity(String.class)
+                .block();
+
+        String commitSha;
+        if (response != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED && validator.isPresent()) {
+            commitSha = validator.get().commitSha();
+        } else {
+            String body = response != null ? response.getBody() : null;
+            if (body == null || body.isBlank()) {
+                throw new IllegalArgumentException("브랜치를 찾을 수 없습니다: " + branch);
+            }
+            commitSha = body.trim();
+            String etag = response.getHeaders().getETag();
+            if (etag != null) {
+                snapshotCache.putRefValidator(owner, repo, branch, new RepoSnapshotCache.RefValidator(etag, commitSha));
+            }
+        }
+
+        snapshotCache.putCommitSha(owner, repo, branch, commitSha);
+        return commitSha;
+    }
+
+    /**
+     * zipball 을 스트림으로 받아 텍스트 파일만 꺼낸다. 꺼낸 내용으로 manifest/blob/snapshot 캐시를 모두 채운다.
+     * 실패하면 empty → 호출 측이 트리 + 파일별 요청으로 다시 받는다.
+     */
+    private Optional<List<GithubFile>> fetchArchive(String owner, String repo, String commitSha) {
+        Flux<DataBuffer> body = webClient.get()
+                .uri("/repos/{owner}/{repo}/zipball/{sha}", owner, repo, commitSha)
+                .headers(this::authorize)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+
+        List<RepoArchiveExtractor.ExtractedFile> extracted;
+        try (InputStream in = DataBufferUtils.subscriberInputStream(body, ARCHIVE_PREFETCH_BUFFERS)) {
+            extracted = archiveExtractor.extract(in, this::isTextFile);
+        } catch (Exception e) {
+            log.warn("GitHub 아카이브 다운로드 실패, 파일별 요청으로 전환: {}/{}@{} ({})",
+                    owner, repo, commitSha.substring(0, 7), e.getMessage());
+            return Optional.empty();
+        }
+
+        List<GithubFile> files = new ArrayList<>();
+        List<RepoSnapshotCache.ManifestEntry> manifest = new ArrayList<>();
+        for (RepoArchiveExtractor.ExtractedFile file : extracted) {
+            snapshotCache.putBlob(file.sha(), file.content());
+            manifest.add(new RepoSnapshotCache.ManifestEntry(file.path(), file.sha()));
+            files.add(new GithubFile(file.path(), file.content()));
+        }
+
+        log.info("GitHub 아카이브 스냅샷 생성: {}/{}@{} (파일 {}개)",
+                owner, repo, commitSha.substring(0, 7), files.size());
+        snapshotCache.putManifest(commitSha, manifest);
+        snapshotCache.putSnapshot(commitSha, files);
+        return Optional.of(files);
+    }
+
+    private List<RepoSnapshotCache.ManifestEntry> fetchManifest(String owner, String repo, String commitSha) {
+        // 전체 트리 조회 (커밋 SHA 기준)
+        Map<String, Object> response = webClient.get()
+                .uri("/repos/{owner}/{repo}/git/trees/{sha}?recursive=1", owner, repo, commitSha)
+                .headers(this::authorize)
+                .retrieve()
                 .bodyToMono(Map.class)
                 .block();
 
         List<Map<String, Object>> tree = (List<Map<String, Object>>) response.get("tree");
-        List<GithubFile> files = new ArrayList<>();
+        List<RepoSnapshotCache.ManifestEntry> manifest = new ArrayList<>();
 
         // 텍스트 파일만 필터링
         for (Map<String, Object> file : tree) {
             if ("blob".equals(file.get("type"))) {
                 String path = (String) file.get("path");
-
                 if (!isTextFile(path)) continue;
-
-                String rawUrl = String.format(
-                        "https://raw.githubusercontent.com/%s/%s/%s/%s",
-                        owner, repo, branch, path
-                );
-
-                String content = fetchFileContent(rawUrl);
-                files.add(new GithubFile(path, content));
+                manifest.add(new RepoSnapshotCache.ManifestEntry(path, (String) file.get("sha")));
             }
         }
 
-        return files;
+        snapshotCache.putManifest(commitSha, manifest);
+        return manifest;
     }
 
-    // 개별 파일 내용 불러오기
-    private String fetchFileContent(String rawUrl) {
-        try {
-            return webClient.get()
-                    .uri(rawUrl)
-                    .headers(h -> {
-                        if (!githubToken.isEmpty())
-                            h.setBearerAuth(githubToken);
-                    })
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .onErrorResume(e -> Mono.just("")) // 오류 발생 시 빈 문자열 반환
-                    .block();
-        } catch (Exception e) {
-            return "";
-        }
+    private void authorize(HttpHeaders headers) {
+        if (!githubToken.isEmpty()) headers.setBearerAuth(githubToken);
+    }
+
+    /**
+     * 캐시에 없는 blob 들을 blob-concurrency 개씩 동시에 받는다 (blob SHA → 내용).
+     * 실패한 파일은 결과에서 빠진다 → 스냅샷에도 캐시에도 남기지 않음.
+     */
+    private Map<String, String> fetchBlobs(String owner, String repo, String commitSha,
+                                           Collection<RepoSnapshotCache.ManifestEntry> entries) {
+        if (entries.isEmpty()) return Map.of();
+
+        int concurrency = rateLimiter.concurrency(blobConcurrency);
+        Map<String, String> result = Flux.fromIterable(entries)
+                .flatMap(entry -> fetchFileContent(owner, repo, commitSha, entry.path())
+                                .map(content -> Map.entry(entry.sha(), content)),
+                        concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        return result != null ? result : Map.of();
+    }
+
+    // 개별 파일 내용 불러오기 (실패하면 empty)
+    private Mono<String> fetchFileContent(String owner, String repo, String commitSha, String path) {
+        // 커밋 SHA 로 고정된 raw URL 이라 브랜치가 그 사이 움직여도 manifest 와 내용이 어긋나지 않는다
+        String rawUrl = String.format(
+                "https://raw.githubusercontent.com/%s/%s/%s/%s",
+                owner, repo, commitSha, path
+        );
+        Mono<String> request = webClient.get()
+                .uri(rawUrl)
+                .headers(this::authorize)
+                .retrieve()
+                .bodyToMono(String.class)
+                .defaultIfEmpty("");
+
+        // 한도에 걸려 있으면 풀릴 때까지 기다렸다 보낸다 (재시도도 같은 규칙)
+        return Mono.defer(() -> Mono.delay(rateLimiter.delay()).then(request))
+                .retryWhen(Retry.max(RATE_LIMIT_RETRIES).filter(this::isRateLimited))
+                .onErrorResume(e -> {
+                    log.warn("GitHub 파일 조회 실패: {} ({})", rawUrl, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // 429, 또는 한도 초과로 인한 403 (GitHub 는 1차 한도 초과를 403 으로 준다)
+    private boolean isRateLimited(Throwable error) {
+        if (!(error instanceof WebClientResponseException response)) return false;
+        int status = response.getStatusCode().value();
+        return status == 429
+                || (status == 403 && "0".equals(response.getHeaders().getFirst("X-RateLimit-Remaining")));
     }
 
     // 텍스트 파일 확장자 필터
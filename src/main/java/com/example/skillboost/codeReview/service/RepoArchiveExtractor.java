@@ -0,0 +1,111 @@
+package com.example.skillboost.codeReview.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * GitHub zipball 을 스트림으로 읽으면서 필요한 파일만 꺼낸다.
+ *
+ * 아카이브 전체를 메모리나 디스크에 올리지 않고 엔트리를 순서대로 지나가며,
+ * 파일 하나는 max-file-bytes, 꺼낸 파일 합계는 max-total-bytes 를 넘지 않는다.
+ * 각 파일의 git blob SHA 를 직접 계산해서 트리 API 없이도 blob 캐시를 채울 수 있게 한다.
+ */
+@Slf4j
+class RepoArchiveExtractor {
+
+    /**
+     * 꺼낸 파일 (path 는 아카이브 최상위 폴더 "owner-repo-sha/" 를 뺀 레포 기준 경로)
+     */
+    record ExtractedFile(String path, String sha, String content) {
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final long maxFileBytes;
+    private final long maxTotalBytes;
+
+    RepoArchiveExtractor(long maxFileBytes, long maxTotalBytes) {
+        this.maxFileBytes = maxFileBytes;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    List<ExtractedFile> extract(InputStream archive, Predicate<String> accept) throws IOException {
+        List<ExtractedFile> files = new ArrayList<>();
+        long total = 0;
+        int skipped = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(archive, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+
+                String path = stripRootFolder(entry.getName());
+                if (path.isEmpty() || !accept.test(path)) continue;
+
+                byte[] bytes = readLimited(zip, maxFileBytes);
+                if (bytes == null) {
+                    skipped++;
+                    continue;
+                }
+
+                if (total + bytes.length > maxTotalBytes) {
+                    log.warn("GitHub 아카이브 크기 한도({} bytes) 도달, 나머지 파일은 건너뜀", maxTotalBytes);
+                    break;
+                }
+                total += bytes.length;
+                files.add(new ExtractedFile(path, blobSha(bytes), new String(bytes, StandardCharsets.UTF_8)));
+            }
+        }
+
+        if (skipped > 0) {
+            log.info("GitHub 아카이브: 파일 크기 한도({} bytes) 초과로 {}개 건너뜀", maxFileBytes, skipped);
+        }
+        return files;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    // zipball 은 모든 엔트리가 "owner-repo-sha/" 폴더 아래에 있다
+    private static String stripRootFolder(String name) {
+        int slash = name.indexOf('/');
+        return slash >= 0 ? name.substring(slash + 1) : name;
+    }
+
+    // limit 을 넘으면 null (남은 바이트는 다음 getNextEntry 가 건너뛴다)
+    private static byte[] readLimited(InputStream in, long limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long read = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            read += n;
+            if (read > limit) return null;
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    // git 의 blob SHA 규칙: sha1("blob " + 길이 + "\0" + 내용)
+    private static String blobSha(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + bytes.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            digest.update(bytes);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 레포 스냅샷별 검색 색인 캐시.
+ *
+ * 같은 스냅샷(파일 경로 + 내용이 같은 목록)이면 색인을 다시 만들지 않는다.
+ * 키는 경로와 내용 바이트 전체의 SHA-256 이다. 해시 충돌로 다른 레포의 색인을 돌려주면 안 되므로
+ * String.hashCode 같은 약한 값은 쓰지 않는다 (색인 생성보다 해시 계산이 훨씬 싸다).
+ */
+@Slf4j
+@Component
+public class RepoIndexCache {
+
+    private final Cache<String, RepoSearchIndex> indexes;
+
+    public RepoIndexCache(@Value("${review.index.cache-size:20}") long cacheSize,
+                          @Value("${review.index.expire-after-access-minutes:30}") long expireMinutes) {
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    public RepoSearchIndex get(List<GithubFile> files) {
+        return indexes.get(fingerprint(files), key -> {
+            long start = System.currentTimeMillis();
+            RepoSearchIndex index = RepoSearchIndex.build(files);
+            log.info("레포 검색 색인 생성: 파일 {}개, 청크 {}개 ({}ms)",
+                    files.size(), index.size(), System.currentTimeMillis() - start);
+            return index;
+        });
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private static String fingerprint(List<GithubFile> files) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            for (GithubFile file : files) {
+                // 길이를 앞에 붙여 경로/내용 경계가 달라도 같은 바이트열이 되지 않게 한다
+                update(digest, length, file.getPath().getBytes(StandardCharsets.UTF_8));
+                String content = file.getContent() != null ? file.getContent() : "";
+                update(digest, length, content.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, ByteBuffer length, byte[] bytes) {
+        length.clear();
+        digest.update(length.putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 레포 스냅샷 하나에 대한 메모리 역색인 (BM25).
+ *
+ * 파일을 줄 단위 청크로 나누고, 청크마다 파일 경로 토큰을 같이 색인한다.
+ * 리뷰 대상 코드/질문을 쿼리로 던져서 관련 있는 청크를 점수 순으로 돌려준다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 요청이 같이 써도 된다.
+ */
+public class RepoSearchIndex {
+
+    /**
+     * 검색 단위. startLine/endLine 은 1부터 시작
+     */
+    public record Chunk(String path, int startLine, int endLine, String text) {
+    }
+
+    public record ScoredChunk(Chunk chunk, double score) {
+    }
+
+    private static final int CHUNK_MAX_LINES = 40;
+    private static final int CHUNK_MAX_CHARS = 2000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final List<Chunk> chunks;
+    private final int[] chunkLengths;
+    private final double averageLength;
+    private final Map<String, Postings> postings;
+
+    private RepoSearchIndex(List<Chunk> chunks, int[] chunkLengths, Map<String, Postings> postings) {
+        this.chunks = chunks;
+        this.chunkLengths = chunkLengths;
+        this.postings = postings;
+        this.averageLength = chunkLengths.length == 0 ? 0 : Arrays.stream(chunkLengths).average().orElse(0);
+    }
+
+    public static RepoSearchIndex build(List<GithubFile> files) {
+        List<Chunk> chunks = new ArrayList<>();
+        for (GithubFile file : files) {
+            split(file, chunks);
+        }
+
+        int[] lengths = new int[chunks.size()];
+        Map<String, Map<Integer, Integer>> termCounts = new HashMap<>();
+        for (int id = 0; id < chunks.size(); id++) {
+            Chunk chunk = chunks.get(id);
+            List<String> tokens = CodeTokenizer.tokenize(chunk.path());
+            tokens.addAll(CodeTokenizer.tokenize(chunk.text()));
+            lengths[id] = tokens.size();
+            for (String token : tokens) {
+                termCounts.computeIfAbsent(token, t -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+        }
+
+        // 조회 때 박싱 없이 돌도록 배열로 굳힌다
+        Map<String, Postings> postings = new HashMap<>(termCounts.size() * 2);
+        termCounts.forEach((term, counts) -> {
+            int[] ids = counts.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] frequencies = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) frequencies[i] = counts.get(ids[i]);
+            postings.put(term, new Postings(ids, frequencies));
+        });
+
+        return new RepoSearchIndex(List.copyOf(chunks), lengths, postings);
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * 쿼리와 관련 있는 청크를 BM25 점수 순으로 최대 limit 개 돌려준다 (점수 0 인 청크는 제외).
+     */
+    public List<ScoredChunk> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(CodeTokenizer.tokenize(query));
+        if (terms.isEmpty() || chunks.isEmpty()) return List.of();
+
+        double[] scores = new double[chunks.size()];
+        int n = chunks.size();
+        for (String term : terms) {
+            Postings p = postings.get(term);
+            if (p == null) continue;
+            double idf = Math.log(1 + (n - p.ids.length + 0.5) / (p.ids.length + 0.5));
+            for (int i = 0; i < p.ids.length; i++) {
+                int id = p.ids[i];
+                double tf = p.frequencies[i];
+                double norm = K1 * (1 - B + B * chunkLengths[id] / averageLength);
+                scores[id] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        // 상위 limit 개만 남기는 최소 힙
+        PriorityQueue<ScoredChunk> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredChunk::score));
+        for (int id = 0; id < n; id++) {
+            if (scores[id] <= 0) continue;
+            if (top.size() < limit) {
+                top.add(new ScoredChunk(chunks.get(id), scores[id]));
+            } else if (scores[id] > top.peek().score()) {
+                top.poll();
+                top.add(new ScoredChunk(chunks.get(id), scores[id]));
+            }
+        }
+
+        List<ScoredChunk> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(ScoredChunk::score).reversed());
+        return result;
+    }
+
+    /**
+     * 청크 점수를 파일 단위로 모은 순위 (파일 점수 = 가장 높은 청크 점수).
+     */
+    public static List<String> rankFiles(List<ScoredChunk> scored) {
+        Map<String, Double> best = new LinkedHashMap<>();
+        for (ScoredChunk sc : scored) {
+            best.merge(sc.chunk().path(), sc.score(), Math::max);
+        }
+        return best.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private static void split(GithubFile file, List<Chunk> out) {
+        String content = file.getContent();
+        if (content == null || content.isBlank()) return;
+
+        String[] lines = content.split("\n", -1);
+        StringBuilder text = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (line.length() > CHUNK_MAX_CHARS) line = line.substring(0, CHUNK_MAX_CHARS); // 한 줄짜리 minified 파일 대비
+
+            if (text.length() > 0 && (i - start >= CHUNK_MAX_LINES || text.length() + line.length() > CHUNK_MAX_CHARS)) {
+                out.add(new Chunk(file.getPath(), start + 1, i, text.toString()));
+                text.setLength(0);
+                start = i;
+            }
+            text.append(line).append('\n');
+        }
+        if (!text.toString().isBlank()) {
+            out.add(new Chunk(file.getPath(), start + 1, lines.length, text.toString()));
+        }
+    }
+
+    private record Postings(int[] ids, int[] frequencies) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * GitHub 레포 스냅샷 캐시.
+ *
+ * - ref:      (owner/repo, branch) → 커밋 SHA. Redis, 짧은 TTL (브랜치는 움직이므로)
+ * - manifest: 커밋 SHA → [파일 경로, blob SHA]. Redis, 긴 TTL (커밋은 바뀌지 않음)
+ * - blob:     blob SHA → 파일 내용. 로컬 디스크 (내용 주소 저장이라 무효화가 필요 없고, 오래 안 쓰인 것만 정리)
+ * - snapshot: 커밋 SHA → 완성된 파일 목록. 로컬 LRU (전체 내용 크기 기준)
+ *
+ * 같은 커밋이면 GitHub API 를 전혀 부르지 않고, 새 커밋이어도 바뀐 blob 만 내려받는다.
+ * Redis/디스크 오류는 캐시 미스로 취급한다.
+ */
+@Slf4j
+@Component
+public class RepoSnapshotCache {
+
+    /**
+     * 스냅샷 구성 항목 (blob SHA 로 내용을 찾는다)
+     */
+    public record ManifestEntry(String path, String sha) {
+    }
+
+    /**
+     * 마지막으로 받은 브랜치 응답의 ETag 와 그때의 커밋 SHA (304 면 이 SHA 를 그대로 쓴다)
+     */
+    public record RefValidator(String etag, String commitSha) {
+    }
+
+    private static final String REF_KEY_PREFIX = "github:ref:";
+    private static final String REF_VALIDATOR_KEY_PREFIX = "github:ref-etag:";
+    private static final String MANIFEST_KEY_PREFIX = "github:manifest:";
+    private static final Pattern SHA_PATTERN = Pattern.compile("[0-9a-f]{40,64}");
+    private static final TypeReference<List<ManifestEntry>> MANIFEST_TYPE = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, List<GithubFile>> snapshots;
+    private final Path blobDir;
+    private final Duration refTtl;
+    private final Duration manifestTtl;
+    private final Duration blobMaxAge;
+
+    public RepoSnapshotCache(StringRedisTemplate redisTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${github.cache.dir:${java.io.tmpdir}/skillboost-github}") String cacheDir,
+                             @Value("${github.cache.snapshot-max-mb:128}") long snapshotMaxMb,
+                             @Value("${github.cache.ref-ttl-seconds:60}") long refTtlSeconds,
+                             @Value("${github.cache.manifest-ttl-hours:168}") long manifestTtlHours,
+                             @Value("${github.cache.blob-max-age-days:7}") long blobMaxAgeDays) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.blobDir = Path.of(cacheDir, "blobs");
+        this.refTtl = Duration.ofSeconds(refTtlSeconds);
+        this.manifestTtl = Duration.ofHours(manifestTtlHours);
+        this.blobMaxAge = Duration.ofDays(blobMaxAgeDays);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(snapshotMaxMb * 1024 * 1024)
+                .weigher((String sha, List<GithubFile> files) -> weight(files))
+                .build();
+    }
+
+    // --- ref (브랜치 → 커밋 SHA) ---
+
+    public Optional<String> findCommitSha(String owner, String repo, String branch) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(refKey(owner, repo, branch)));
+        } catch (Exception e) {
+            log.warn("GitHub ref 캐시 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void putCommitSha(String owner, String repo, String branch, String commitSha) {
+        try {
+            redisTemplate.opsForValue().set(refKey(owner, repo, branch), commitSha, refTtl);
+        } catch (Exception e) {
+            log.warn("GitHub ref 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // ref 캐시가 만료된 뒤에도 조건부 요청(If-None-Match)을 보낼 수 있도록 manifest 와 같은 기간 보관한다
+    public Optional<RefValidator> findRefValidator(String owner, String repo, String branch) {
+        try {
+            String json = redisTemplate.opsForValue().get(REF_VALIDATOR_KEY_PREFIX + refPath(owner, repo, branch));
+            return json != null ? Optional.of(objectMapper.readValue(json, RefValidator.class)) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("GitHub ref ETag 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void putRefValidator(String owner, String repo, String branch, RefValidator validator) {
+        try {
+            redisTemplate.opsForValue().set(REF_VALIDATOR_KEY_PREFIX + refPath(owner, repo, branch),
+                    objectMapper.writeValueAsString(validator), manifestTtl);
+        } catch (Exception e) {
+            log.warn("GitHub ref ETag 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // --- snapshot (커밋 SHA → 파일 목록) ---
+
+    public Optional<List<GithubFile>> findSnapshot(String commitSha) {
+        return Optional.ofNullable(snapshots.getIfPresent(commitSha)).map(List::copyOf);
+    }
+
+    public void putSnapshot(String commitSha, List<GithubFile> files) {
+        snapshots.put(commitSha, List.copyOf(files));
+    }
+
+    // --- manifest (커밋 SHA → 경로/blob SHA) ---
+
+    public Optional<List<ManifestEntry>> findManifest(String commitSha) {
+        try {
+            String json = redisTemplate.opsForValue().get(MANIFEST_KEY_PREFIX + commitSha);
+            return json != null ? Optional.of(objectMapper.readValue(json, MANIFEST_TYPE)) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("GitHub manifest 캐시 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void putManifest(String commitSha, List<ManifestEntry> manifest) {
+        try {
+            redisTemplate.opsForValue().set(MANIFEST_KEY_PREFIX + commitSha,
+                    objectMapper.writeValueAsString(manifest), manifestTtl);
+        } catch (Exception e) {
+            log.warn("GitHub manifest 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // --- blob (blob SHA → 내용, 디스크) ---
+
+    public Optional<String> findBlob(String blobSha) {
+        if (!isSha(blobSha)) return Optional.empty();
+        Path file = blobPath(blobSha);
+        try {
+            if (!Files.exists(file)) return Optional.empty();
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now())); // 최근 사용 표시 (cleanup 기준)
+            return Optional.of(content);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void putBlob(String blobSha, String content) {
+        if (!isSha(blobSha)) return;
+        Path file = blobPath(blobSha);
+        try {
+            Files.createDirectories(file.getParent());
+            // 다른 요청이 읽는 도중 반쯤 쓰인 파일을 보지 않도록 임시 파일에 쓰고 옮긴다
+            Path tmp = Files.createTempFile(file.getParent(), blobSha, ".tmp");
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("GitHub blob 캐시 저장 실패: sha={}, {}", blobSha, e.getMessage());
+        }
+    }
+
+    /**
+     * blob-max-age-days 동안 쓰이지 않은 blob 파일을 지운다.
+     */
+    @Scheduled(fixedDelayString = "${github.cache.cleanup-interval-ms:3600000}")
+    public void cleanupBlobs() {
+        if (!Files.isDirectory(blobDir)) return;
+        Instant threshold = Instant.now().minus(blobMaxAge);
+        try (Stream<Path> files = Files.walk(blobDir)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(threshold)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException ignored) {
+                    // 다음 정리 때 다시 시도
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("GitHub blob 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private static boolean isSha(String sha) {
+        return sha != null && SHA_PATTERN.matcher(sha).matches();
+    }
+
+    private String refKey(String owner, String repo, String branch) {
+        return REF_KEY_PREFIX + refPath(owner, repo, branch);
+    }
+
+    private String refPath(String owner, String repo, String branch) {
+        return owner + "/" + repo + ":" + branch;
+    }
+
+    // git 처럼 앞 두 글자로 디렉터리를 나눠 한 디렉터리에 파일이 몰리지 않게 한다
+    private Path blobPath(String blobSha) {
+        return blobDir.resolve(blobSha.substring(0, 2)).resolve(blobSha);
+    }
+
+    private static int weight(List<GithubFile> files) {
+        long bytes = 0;
+        for (GithubFile file : files) {
+            bytes += file.getPath().length() + (file.getContent() != null ? file.getContent().length() : 0);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes * 2); // char = 2 byte
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+import com.example.skillboost.llm.LlmGateway;
+import com.example.skillboost.llm.PromptBuilder;
+import com.example.skillboost.llm.TokenEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 레포 계층 요약 (파일 → 디렉터리 → 레포) 캐시.
+ *
+ * - 파일 요약: git blob SHA 로 저장 → 내용이 같으면 어느 레포/커밋/사용자든 재사용
+ * - 디렉터리 요약: 자식(파일 blob SHA, 하위 디렉터리 키)으로 만든 해시로 저장 (git tree 와 같은 머클 구조)
+ *   → 새 커밋이면 바뀐 파일과 그 위 디렉터리만 다시 요약한다
+ * - 루트 디렉터리 요약이 곧 레포 요약
+ *
+ * 요약이 아직 없으면 find 는 바로 empty 를 돌려주고 백그라운드에서 만든다 (요청 스레드에서 LLM 을 기다리지 않음).
+ * 요약이 끝까지 완성되지 못하면 retry-backoff 동안은 같은 스냅샷의 요약을 다시 시작하지 않는다 (같은 LLM 호출 반복 방지).
+ */
+@Slf4j
+@Service
+public class RepoSummaryService {
+
+    public record DirectorySummary(String path, String summary) {
+    }
+
+    public record RepoSummary(String overview, List<DirectorySummary> directories) {
+
+        /**
+         * 프롬프트에 넣을 형태 (레포 개요 + 주요 디렉터리별 요약)
+         */
+        public String toPromptText() {
+            StringBuilder text = new StringBuilder("레포 개요:\n").append(overview).append("\n");
+            if (!directories.isEmpty()) {
+                text.append("\n주요 디렉터리:\n");
+                for (DirectorySummary dir : directories) {
+                    text.append("- ").append(dir.path()).append(": ").append(dir.summary()).append("\n");
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    private static final String FILE_KEY_PREFIX = "summary:file:";
+    private static final String DIR_KEY_PREFIX = "summary:dir:";
+    private static final String RETRY_KEY_PREFIX = "summary:retry:";
+    private static final String EMPTY_FILE_SUMMARY = "빈 파일";
+    // 모델이 응답에서 빠뜨린 파일 - 상위 요약이 막히지 않도록 채워 두고, 짧게만 캐시해 나중에 다시 요약되게 한다
+    private static final String OMITTED_FILE_SUMMARY = "요약 없음";
+    private static final Duration OMITTED_FILE_TTL = Duration.ofDays(1);
+    private static final int MAX_FILES_PER_BATCH = 20;
+    private static final int MAX_LISTED_DIRECTORIES = 15;
+    private static final int MAX_SUMMARY_LENGTH = 600;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LlmGateway llmGateway;
+    private final ObjectMapper objectMapper;
+
+    // 백그라운드 요약 작업 (대부분 Gemini 대기라 가상 스레드), 동시 LLM 호출은 concurrency 개로 제한
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore llmPermits;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final boolean enabled;
+    private final int maxFiles;
+    private final int batchTokenBudget;
+    private final int fileTokenBudget;
+    private final int childrenTokenBudget;
+    private final Duration ttl;
+    private final Duration retryBackoff;
+
+    public RepoSummaryService(StringRedisTemplate redisTemplate,
+                              LlmGateway llmGateway,
+                              ObjectMapper objectMapper,
+                              @Value("${summary.enabled:true}") boolean enabled,
+                              @Value("${summary.concurrency:4}") int concurrency,
+                              @Value("${summary.max-files:500}") int maxFiles,
+                              @Value("${summary.batch-token-budget:6000}") int batchTokenBudget,
+                              @Value("${summary.file-token-budget:1500}") int fileTokenBudget,
+                              @Value("${summary.children-token-budget:4000}") int childrenTokenBudget,
+                              @Value("${summary.ttl-days:30}") long ttlDays,
+                              @Value("${summary.retry-backoff-minutes:30}") long retryBackoffMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.llmGateway = llmGateway;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.llmPermits = new Semaphore(concurrency);
+        this.maxFiles = maxFiles;
+        this.batchTokenBudget = batchTokenBudget;
+        this.fileTokenBudget = fileTokenBudget;
+        this.childrenTokenBudget = childrenTokenBudget;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.retryBackoff = Duration.ofMinutes(retryBackoffMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 스냅샷의 레포 요약을 돌려준다. 아직 없으면 empty 를 돌려주고 백그라운드 요약을 시작한다.
+     */
+    public Optional<RepoSummary> find(List<GithubFile> files) {
+        if (!enabled || !llmGateway.isConfigured() || files == null || files.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Node root = buildTree(files);
+        Optional<RepoSummary> summary = lookup(root);
+        if (summary.isEmpty() && get(RETRY_KEY_PREFIX + root.key) == null && inFlight.add(root.key)) {
+            executor.submit(() -> {
+                boolean complete = false;
+                try {
+                    complete = summarize(root);
+                } catch (Exception e) {
+                    log.warn("레포 요약 실패: {}", e.getMessage());
+                } finally {
+                    if (!complete) set(RETRY_KEY_PREFIX + root.key, "1", retryBackoff);
+                    inFlight.remove(root.key);
+                }
+            });
+        }
+        return summary;
+    }
+
+    // --- 조회 ---
+
+    private Optional<RepoSummary> lookup(Node root) {
+        String overview = get(DIR_KEY_PREFIX + root.key);
+        if (overview == null) return Optional.empty();
+
+        // src/main/java/... 처럼 디렉터리 하나만 이어지는 구간은 건너뛰고 실제로 갈라지는 지점의 하위 디렉터리를 보여준다
+        Node top = collapse(root);
+        List<Node> dirs = top.dirs.values().stream().limit(MAX_LISTED_DIRECTORIES).toList();
+        List<String> summaries = multiGet(dirs.stream().map(d -> DIR_KEY_PREFIX + d.key).toList());
+
+        List<DirectorySummary> directories = new ArrayList<>();
+        for (int i = 0; i < dirs.size(); i++) {
+            if (summaries.get(i) != null) {
+                directories.add(new DirectorySummary(dirs.get(i).path, summaries.get(i)));
+            }
+        }
+        return Optional.of(new RepoSummary(overview, directories));
+    }
+
+    // --- 요약 파이프라인 (map: 파일 → reduce: 디렉터리) ---
+
+    // 레포 요약까지 완성했으면 true
+    private boolean summarize(Node root) {
+        long start = System.currentTimeMillis();
+
+        List<FileNode> allFiles = new ArrayList<>();
+        collectFiles(root, allFiles);
+
+        Map<String, String> fileSummaries = new ConcurrentHashMap<>();
+        List<String> cached = multiGet(allFiles.stream().map(f -> FILE_KEY_PREFIX + f.blobSha).toList());
+        List<FileNode> missing = new ArrayList<>();
+        Set<String> missingShas = new HashSet<>();
+        for (int i = 0; i < allFiles.size(); i++) {
+            FileNode file = allFiles.get(i);
+            if (file.content.isBlank()) {
+                fileSummaries.put(file.blobSha, EMPTY_FILE_SUMMARY); // LLM 에 보낼 필요 없음
+            } else if (cached.get(i) != null) {
+                fileSummaries.put(file.blobSha, cached.get(i));
+            } else if (missingShas.add(file.blobSha)) {
+                missing.add(file); // 내용이 같은 파일은 한 번만 요약
+            }
+        }
+
+        // map: 바뀐 파일만 배치로 묶어 병렬 요약
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (List<FileNode> batch : toBatches(missing)) {
+            batches.add(CompletableFuture.runAsync(() -> summarizeFiles(batch, fileSummaries), executor));
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+        // reduce: 아래에서 위로 디렉터리 요약
+        int[] dirCalls = new int[1];
+        Optional<String> overview = summarizeDirectory(root, fileSummaries, dirCalls);
+
+        log.info("레포 요약 {}: 파일 {}개 중 {}개 새로 요약, 디렉터리 {}개 새로 요약 ({}ms)",
+                overview.isPresent() ? "완료" : "일부 실패", allFiles.size(), missing.size(),
+                dirCalls[0], System.currentTimeMillis() - start);
+        return overview.isPresent();
+    }
+
+    private void summarizeFiles(List<FileNode> batch, Map<String, String> fileSummaries) {
+        PromptBuilder prompt = PromptBuilder.create(batchTokenBudget * 2).text("""
+                당신은 코드베이스를 분석하는 시니어 개발자입니다.
+                아래 파일들 각각을 1~2문장(100자 이내)으로 요약하세요.
+                파일의 역할, 주요 클래스/함수, 다른 모듈과의 관계 위주로 작성하고 JSON 배열로만 출력하세요.
+
+                출력 형식:
+                [
+                  { "path": "파일 경로", "summary": "요약" }
+                ]
+
+                --- 파일 ---
+                """);
+        Map<String, FileNode> byPath = new HashMap<>();
+        for (FileNode file : batch) {
+            String content = PromptBuilder.fit(file.content, fileTokenBudget, PromptBuilder.Truncation.OUTLINE);
+            prompt.text("### FILE: " + file.path + "\n" + content + "\n\n");
+            byPath.put(normalizePath(file.path), file);
+        }
+
+        String raw = callLlm(prompt.build());
+        if (raw == null) return;
+
+        try {
+            int start = raw.indexOf('[');
+            int end = raw.lastIndexOf(']');
+            if (start == -1 || end <= start) return;
+            for (JsonNode item : objectMapper.readTree(raw.substring(start, end + 1))) {
+                FileNode file = byPath.get(normalizePath(item.path("path").asText("")));
+                String summary = clip(item.path("summary").asText(""));
+                if (file == null || summary.isBlank()) continue;
+                fileSummaries.put(file.blobSha, summary);
+                set(FILE_KEY_PREFIX + file.blobSha, summary, ttl);
+            }
+        } catch (Exception e) {
+            log.warn("파일 요약 응답 파싱 실패: {}", e.getMessage());
+            return;
+        }
+
+        // 응답은 왔는데 빠진 파일 (경로를 다르게 적었거나 요약할 내용이 없다고 본 경우)
+        for (FileNode file : batch) {
+            if (fileSummaries.putIfAbsent(file.blobSha, OMITTED_FILE_SUMMARY) == null) {
+                set(FILE_KEY_PREFIX + file.blobSha, OMITTED_FILE_SUMMARY, OMITTED_FILE_TTL);
+            }
+        }
+    }
+
+    // 하위 요약이 하나라도 빠지면 empty → 다음 요청 때 빠진 부분만 다시 시도
+    private Optional<String> summarizeDirectory(Node node, Map<String, String> fileSummaries, int[] dirCalls) {
+        String cached = get(DIR_KEY_PREFIX + node.key);
+        if (cached != null) return Optional.of(cached);
+
+        List<String> lines = new ArrayList<>();
+        List<String> childSummaries = new ArrayList<>();
+        for (Node dir : node.dirs.values()) {
+            Optional<String> summary = summarizeDirectory(dir, fileSummaries, dirCalls);
+            if (summary.isEmpty()) return Optional.empty();
+            lines.add("- " + dir.name + "/: " + summary.get() + "\n");
+            childSummaries.add(summary.get());
+        }
+        for (FileNode file : node.files) {
+            String summary = fileSummaries.get(file.blobSha);
+            if (summary == null) return Optional.empty();
+            lines.add("- " + file.name + ": " + summary + "\n");
+            childSummaries.add(summary);
+        }
+
+        String summary;
+        if (childSummaries.size() == 1 && !node.path.isEmpty()) {
+            // 자식이 하나뿐이면 그 요약을 그대로 쓴다 (LLM 호출 생략)
+            summary = childSummaries.get(0);
+        } else {
+            dirCalls[0]++;
+            summary = callLlm(directoryPrompt(node, lines));
+            if (summary == null) return Optional.empty();
+            summary = clip(summary);
+        }
+
+        set(DIR_KEY_PREFIX + node.key, summary, ttl);
+        return Optional.of(summary);
+    }
+
+    private String directoryPrompt(Node node, List<String> lines) {
+        boolean isRoot = node.path.isEmpty();
+        PromptBuilder prompt = PromptBuilder.create(childrenTokenBudget * 2).text(isRoot
+                ? """
+                  아래는 GitHub 레포지토리 최상위의 파일/디렉터리 요약입니다.
+                  이 레포지토리 전체를 3~5문장(400자 이내)으로 요약하세요.
+                  아키텍처, 주요 기능, 사용 기술 위주로 작성하고 요약 문장만 출력하세요.
+
+                  """
+                : """
+                  아래는 디렉터리 "%s" 안의 파일/하위 디렉터리 요약입니다.
+                  이 디렉터리의 역할을 2~3문장(200자 이내)으로 요약하고 요약 문장만 출력하세요.
+
+                  """.formatted(node.path));
+        prompt.section(childrenTokenBudget);
+        for (String line : lines) {
+            if (!prompt.add(line)) break;
+        }
+        return prompt.build();
+    }
+
+    private String callLlm(String prompt) {
+        try {
+            llmPermits.acquire();
+            try {
+                return llmGateway.generateBlocking(prompt);
+            } finally {
+                llmPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("요약 LLM 호출 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<List<FileNode>> toBatches(List<FileNode> files) {
+        List<List<FileNode>> batches = new ArrayList<>();
+        List<FileNode> current = new ArrayList<>();
+        int tokens = 0;
+        for (FileNode file : files) {
+            int size = Math.min(fileTokenBudget, file.tokens);
+            if (!current.isEmpty() && (tokens + size > batchTokenBudget || current.size() >= MAX_FILES_PER_BATCH)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                tokens = 0;
+            }
+            current.add(file);
+            tokens += size;
+        }
+        if (!current.isEmpty()) batches.add(current);
+        return batches;
+    }
+
+    // --- 트리 (머클 키) ---
+
+    private static final class Node {
+        final String path;
+        final String name;
+        final TreeMap<String, Node> dirs = new TreeMap<>();
+        final List<FileNode> files = new ArrayList<>();
+        String key;
+
+        Node(String path, String name) {
+            this.path = path;
+            this.name = name;
+        }
+    }
+
+    private record FileNode(String path, String name, String blobSha, String content, int tokens) {
+    }
+
+    private Node buildTree(List<GithubFile> files) {
+        Node root = new Node("", "");
+        files.stream()
+                .sorted(Comparator.comparing(GithubFile::getPath))
+                .limit(maxFiles)
+                .forEach(file -> {
+                    String[] parts = file.getPath().split("/");
+                    Node node = root;
+                    for (int i = 0; i < parts.length - 1; i++) {
+                        String dirPath = node.path.isEmpty() ? parts[i] : node.path + "/" + parts[i];
+                        String name = parts[i];
+                        node = node.dirs.computeIfAbsent(name, n -> new Node(dirPath, n));
+                    }
+                    String content = file.getContent() != null ? file.getContent() : "";
+                    node.files.add(new FileNode(file.getPath(), parts[parts.length - 1], blobSha(content),
+                            content, TokenEstimator.estimate(content)));
+                });
+        computeKey(root);
+        return root;
+    }
+
+    // 자식 이름 + 자식 키로 만든 해시 (내용이 같은 서브트리는 같은 키)
+    private static String computeKey(Node node) {
+        MessageDigest digest = sha256();
+        for (Node dir : node.dirs.values()) {
+            digest.update(("d " + dir.name + " " + computeKey(dir) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        for (FileNode file : node.files) {
+            digest.update(("f " + file.name + " " + file.blobSha + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        node.key = HexFormat.of().formatHex(digest.digest());
+        return node.key;
+    }
+
+    private static Node collapse(Node node) {
+        while (node.files.isEmpty() && node.dirs.size() == 1) {
+            node = node.dirs.firstEntry().getValue();
+        }
+        return node;
+    }
+
+    private static void collectFiles(Node node, List<FileNode> out) {
+        node.dirs.values().forEach(dir -> collectFiles(dir, out));
+        out.addAll(node.files);
+    }
+
+    // git 의 blob SHA 규칙: sha1("blob " + 길이 + "\0" + 내용), RepoSnapshotCache 의 blob 키와 같다
+    private static String blobSha(String content) {
+        try {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + bytes.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            digest.update(bytes);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Redis (오류는 캐시 미스로 취급) ---
+
+    private String get(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("요약 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> multiGet(List<String> keys) {
+        if (keys.isEmpty()) return List.of();
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values != null && values.size() == keys.size()) return values;
+        } catch (Exception e) {
+            log.warn("요약 캐시 조회 실패: {}", e.getMessage());
+        }
+        return new ArrayList<>(Collections.nCopies(keys.size(), (String) null));
+    }
+
+    private void set(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            log.warn("요약 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 모델이 경로를 "./a/b.java", "/a/b.java", "`a/b.java`" 처럼 적어도 같은 파일로 본다
+    private static String normalizePath(String path) {
+        String normalized = path.trim().replace("`", "").replace('\\', '/');
+        while (normalized.startsWith("./") || normalized.startsWith("/")) {
+            normalized = normalized.substring(normalized.startsWith("./") ? 2 : 1);
+        }
+        return normalized;
+    }
+
+    private static String clip(String text) {
+        String trimmed = text.trim();
+        return trimmed.length() > MAX_SUMMARY_LENGTH ? trimmed.substring(0, MAX_SUMMARY_LENGTH) : trimmed;
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.skillboost.codingtest.controller;
 
+import com.example.skillboost.codingtest.domain.CodingSubmission;
 import com.example.skillboost.codingtest.dto.SubmissionRequestDto;
 import com.example.skillboost.codingtest.dto.SubmissionResultDto;
-import com.example.skillboost.codingtest.service.GradingService;
+import com.example.skillboost.codingtest.service.SubmissionQueueService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -14,11 +22,14 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class SubmissionController {
 
-    private final GradingService gradingService;
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final SubmissionQueueService submissionQueueService;
 
     /**
-     * 코딩 테스트 제출 + 채점
-     * POST /api/coding/submissions
+     * 코딩 테스트 제출 (채점은 비동기)
+     * POST /api/coding/submissions → 202 + submissionId
+     * 결과는 GET /api/coding/submissions/{id} 또는 SSE /api/coding/submissions/{id}/events 로 확인
      */
     @PostMapping("/submissions")
     public ResponseEntity<SubmissionResultDto> submit(@RequestBody SubmissionRequestDto request) {
@@ -26,16 +37,60 @@ public class SubmissionController {
                 request.getProblemId(), request.getLanguage(), request.getUserId());
 
         if (request.getCode() == null || request.getCode().isBlank()) {
-            return ResponseEntity.badRequest().body(
-                    SubmissionResultDto.builder()
-                            .status("ERROR")
-                            .score(0)
-                            .message("코드가 비어 있습니다.")
-                            .build()
-            );
+            return ResponseEntity.badRequest().body(error("코드가 비어 있습니다."));
+        }
+
+        Optional<CodingSubmission> queued;
+        try {
+            queued = submissionQueueService.enqueue(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
         }
 
-        SubmissionResultDto result = gradingService.grade(request);
-        return ResponseEntity.ok(result);
+        if (queued.isEmpty()) {
+            log.warn("채점 대기열이 가득 차 제출을 거절했습니다: problemId={}", request.getProblemId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(error("채점 요청이 많습니다. 잠시 후 다시 제출해 주세요."));
+        }
+
+        CodingSubmission submission = queued.get();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/coding/submissions/" + submission.getId()))
+                .body(SubmissionResultDto.builder()
+                        .submissionId(submission.getId())
+                        .status(submission.getStatus())
+                        .message("채점 대기 중입니다.")
+                        .build());
+    }
+
+    /**
+     * 채점 결과 조회 (폴링)
+     * GET /api/coding/submissions/{id}
+     */
+    @GetMapping("/submissions/{id}")
+    public ResponseEntity<SubmissionResultDto> getSubmission(@PathVariable Long id) {
+        return submissionQueueService.find(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 채점 상태 구독 (SSE, 이벤트 이름 "status")
+     * GET /api/coding/submissions/{id}/events
+     */
+    @GetMapping(value = "/submissions/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable Long id) {
+        return submissionQueueService.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private SubmissionResultDto error(String message) {
+        return SubmissionResultDto.builder()
+                .status("ERROR")
+                .score(0)
+                .message(message)
+                .build();
     }
 }
@@ -29,6 +29,14 @@ public class CodingProblem {
     // 예: "array,implementation"
     private String tags;
 
+    // 출력 비교 방식 (null이면 TOKENS)
+    @Enumerated(EnumType.STRING)
+    private OutputCompareMode compareMode;
+
+    // CPU 시간 제한(ms), 메모리 제한(MB) - null이면 JudgeSpec 기본값 (2000ms / 256MB)
+    private Integer timeLimitMs;
+    private Integer memoryLimitMb;
+
     @OneToMany(mappedBy = "problem", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CodingTestCase> testCases = new ArrayList<>();
 }
@@ -0,0 +1,6 @@
+package com.example.skillboost.codingtest.domain;
+
+public enum OutputCompareMode {
+    TOKENS,          // 공백/개행 차이 무시, 토큰 단위 비교
+    FLOAT_TOLERANCE  // TOKENS + 실수 토큰은 오차 허용 비교
+}
@@ -0,0 +1,162 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 채점/리뷰 결과 캐시 (로컬 Caffeine → Redis 공유 캐시 2단계).
+ *
+ * 키는 (용도, 문제 ID, 언어, 정규화된 코드의 SHA-256, 모델[, 판정]) 이라서
+ * 공백/주석만 다른 재제출은 Gemini를 다시 부르지 않는다.
+ * Redis 장애 시에는 로컬 캐시만으로 동작한다.
+ * Redis 에서 가져온 값은 Redis 에 남은 TTL 만큼만 로컬에 둔다 (Redis 보다 오래 살아남지 않도록).
+ */
+@Slf4j
+@Component
+public class AiResultCache {
+
+    private static final String REDIS_KEY_PREFIX = "ai-result:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, SubmissionResultDto> local;
+    private final Duration ttl;
+    private final boolean redisEnabled;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public AiResultCache(StringRedisTemplate redisTemplate,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${judge.ai-cache.max-entries:1000}") long maxEntries,
+                         @Value("${judge.ai-cache.ttl-hours:24}") long ttlHours,
+                         @Value("${judge.ai-cache.redis-enabled:true}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.redisEnabled = redisEnabled;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.<String, SubmissionResultDto>writing((key, value) -> ttl))
+                .build();
+
+        this.localHits = Counter.builder("judge.ai.cache")
+                .tag("result", "local_hit")
+                .description("AI 결과 캐시 적중 수 (로컬)")
+                .register(meterRegistry);
+        this.redisHits = Counter.builder("judge.ai.cache")
+                .tag("result", "redis_hit")
+                .description("AI 결과 캐시 적중 수 (Redis)")
+                .register(meterRegistry);
+        this.misses = Counter.builder("judge.ai.cache")
+                .tag("result", "miss")
+                .description("AI 결과 캐시 미스 수")
+                .register(meterRegistry);
+        Gauge.builder("judge.ai.cache.size", local, Cache::estimatedSize)
+                .description("로컬 AI 결과 캐시 크기")
+                .register(meterRegistry);
+    }
+
+    public static String key(String kind, Long problemId, String language, String code, String model, String... extra) {
+        String lang = language != null ? language.toLowerCase() : "";
+        StringBuilder key = new StringBuilder()
+                .append(kind).append(':')
+                .append(problemId).append(':')
+                .append(lang).append(':')
+                .append(model).append(':')
+                .append(sha256(CodeNormalizer.normalize(lang, code)));
+        for (String e : extra) {
+            key.append(':').append(e);
+        }
+        return key.toString();
+    }
+
+    public Optional<SubmissionResultDto> get(String key) {
+        SubmissionResultDto cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return Optional.of(copy(cached));
+        }
+
+        if (redisEnabled) {
+            try {
+                String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+                if (json != null) {
+                    SubmissionResultDto value = objectMapper.readValue(json, SubmissionResultDto.class);
+                    putLocal(key, value, redisTemplate.getExpire(REDIS_KEY_PREFIX + key, TimeUnit.MILLISECONDS));
+                    redisHits.increment();
+                    return Optional.of(copy(value));
+                }
+            } catch (Exception e) {
+                log.warn("AI 결과 캐시(Redis) 조회 실패: {}", e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, SubmissionResultDto value) {
+        SubmissionResultDto stored = copy(value);
+        stored.setSubmissionId(null); // 제출마다 다른 값은 캐시에 넣지 않는다
+        local.put(key, stored);
+
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key, objectMapper.writeValueAsString(stored), ttl);
+            } catch (Exception e) {
+                log.warn("AI 결과 캐시(Redis) 저장 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    /**
+     * remainingMillis: Redis PTTL 결과. 만료 직전이거나 이미 지워졌으면(음수/0, null) 로컬에 넣지 않는다.
+     */
+    private void putLocal(String key, SubmissionResultDto value, Long remainingMillis) {
+        if (remainingMillis == null || remainingMillis <= 0) return;
+        Duration remaining = Duration.ofMillis(Math.min(remainingMillis, ttl.toMillis()));
+        local.policy().expireVariably().ifPresent(policy -> policy.put(key, value, remaining));
+    }
+
+    // 호출 측이 DTO(리스트 포함)를 수정해도 캐시 값이 바뀌지 않도록 복사본을 돌려준다
+    private SubmissionResultDto copy(SubmissionResultDto value) {
+        return value.toBuilder()
+                .interviewQuestions(value.getInterviewQuestions() != null
+                        ? new ArrayList<>(value.getInterviewQuestions())
+                        : null)
+                .build();
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
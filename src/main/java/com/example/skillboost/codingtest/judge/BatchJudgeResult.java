@@ -0,0 +1,49 @@
+package com.example.skillboost.codingtest.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 한 제출의 전체 테스트케이스 실행 결과
+ */
+@Getter
+@AllArgsConstructor
+public class BatchJudgeResult {
+
+    // 전체 판정: 모두 통과면 3(Accepted), 아니면 가장 앞선 실패 케이스의 statusId
+    private int statusId;
+
+    private String message;
+
+    // 테스트케이스 순서 그대로 (조기 종료로 실행되지 않은 케이스는 JudgeResult.skipped())
+    private List<JudgeResult> results;
+
+    private int passedCount;
+    private int totalCount;
+
+    private double maxTime;
+    private long maxMemory;
+
+    public static BatchJudgeResult of(List<JudgeResult> results) {
+        JudgeResult firstFailure = results.stream()
+                .filter(r -> !r.isAccepted() && !r.isSkipped())
+                .findFirst()
+                .orElse(null);
+
+        int passed = (int) results.stream().filter(JudgeResult::isAccepted).count();
+        double maxTime = results.stream().mapToDouble(JudgeResult::getTime).max().orElse(0);
+        long maxMemory = results.stream().mapToLong(JudgeResult::getMemory).max().orElse(0);
+
+        if (firstFailure == null) {
+            return new BatchJudgeResult(3, "Accepted", results, passed, results.size(), maxTime, maxMemory);
+        }
+        return new BatchJudgeResult(firstFailure.getStatusId(), firstFailure.getMessage(),
+                results, passed, results.size(), maxTime, maxMemory);
+    }
+
+    public boolean isAccepted() {
+        return statusId == 3;
+    }
+}
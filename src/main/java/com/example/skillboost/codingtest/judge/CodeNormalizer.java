@@ -0,0 +1,163 @@
+package com.example.skillboost.codingtest.judge;
+
+/**
+ * AI 결과 캐시 키용 코드 정규화.
+ *
+ * 주석을 지우고 공백 차이를 없애서, 템플릿 복붙/재제출처럼 의미가 같은 코드가 같은 키를 갖게 한다.
+ * 문자열/문자 리터럴 안의 내용은 공백까지 그대로 둔다 ("a//b" 가 주석으로 잘리거나 "x = 1" 이 "x=1" 이 되면
+ * 출력이 다른 코드가 같은 키가 됨). Python 삼중 따옴표 문자열(docstring)과 Java text block 은 여러 줄에 걸치므로
+ * 닫는 따옴표 세 개까지를 한 리터럴로 본다.
+ * Python 은 들여쓰기가 문법이므로 줄 앞 공백은 유지하고 줄 끝 공백과 빈 줄만 없앤다.
+ */
+final class CodeNormalizer {
+
+    private CodeNormalizer() {
+    }
+
+    static String normalize(String language, String code) {
+        if (code == null) return "";
+        boolean python = "python".equalsIgnoreCase(language);
+        boolean tripleQuotes = python || "java".equalsIgnoreCase(language);
+        String stripped = stripComments(code.replace("\r\n", "\n"), python, tripleQuotes);
+        return python ? normalizeLines(stripped) : collapseWhitespace(stripped, tripleQuotes);
+    }
+
+    private static String stripComments(String code, boolean python, boolean tripleQuotes) {
+        StringBuilder out = new StringBuilder(code.length());
+        int i = 0;
+        int n = code.length();
+        while (i < n) {
+            char c = code.charAt(i);
+            char next = i + 1 < n ? code.charAt(i + 1) : '\0';
+
+            if (c == '"' || c == '\'') {
+                int end = literalEnd(code, i, tripleQuotes);
+                out.append(code, i, end);
+                i = end;
+            } else if (python && c == '#') {
+                while (i < n && code.charAt(i) != '\n') i++;
+            } else if (!python && c == '/' && next == '/') {
+                while (i < n && code.charAt(i) != '\n') i++;
+            } else if (!python && c == '/' && next == '*') {
+                int end = code.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                out.append(' ');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static int literalEnd(String code, int start, boolean tripleQuotes) {
+        char quote = code.charAt(start);
+        if (tripleQuotes && code.startsWith(String.valueOf(quote).repeat(3), start)) {
+            return skipTripleQuoted(code, start, quote);
+        }
+        return skipLiteral(code, start, quote);
+    }
+
+    // 따옴표로 시작하는 리터럴의 끝(닫는 따옴표 다음) 위치. 이스케이프 처리, 닫히지 않으면 줄 끝까지
+    private static int skipLiteral(String code, int start, char quote) {
+        int i = start + 1;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return code.length();
+    }
+
+    // 삼중 따옴표 문자열의 끝(닫는 따옴표 세 개 다음) 위치. 줄바꿈을 포함하고, 닫히지 않으면 코드 끝까지
+    private static int skipTripleQuoted(String code, int start, char quote) {
+        String delimiter = String.valueOf(quote).repeat(3);
+        int i = start + 3;
+        while (i < code.length()) {
+            if (code.charAt(i) == '\\') {
+                i += 2;
+            } else if (code.startsWith(delimiter, i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return code.length();
+    }
+
+    // 토큰 경계에 필요한 공백만 한 칸으로 남긴다 ("int  main() {" == "int main(){", "a + +b" != "a ++b")
+    private static String collapseWhitespace(String code, boolean tripleQuotes) {
+        StringBuilder out = new StringBuilder(code.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                i++;
+                continue;
+            }
+            if (pendingSpace && needsSeparator(out.charAt(out.length() - 1), c)) out.append(' ');
+            pendingSpace = false;
+            if (c == '"' || c == '\'') {
+                int end = literalEnd(code, i, tripleQuotes);
+                out.append(code, i, end);
+                i = end;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean needsSeparator(char prev, char next) {
+        boolean prevWord = Character.isLetterOrDigit(prev) || prev == '_';
+        boolean nextWord = Character.isLetterOrDigit(next) || next == '_';
+        if (prevWord || nextWord) return prevWord && nextWord;
+        return !isDelimiter(prev) && !isDelimiter(next);
+    }
+
+    private static boolean isDelimiter(char c) {
+        return "(){}[];,".indexOf(c) >= 0;
+    }
+
+    // 줄 단위로 정리하되 여러 줄 문자열 안의 줄바꿈/공백은 건드리지 않는다
+    private static String normalizeLines(String code) {
+        StringBuilder out = new StringBuilder(code.length());
+        int lineStart = 0;
+        int i = 0;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = literalEnd(code, i, true);
+                out.append(code, i, end);
+                i = end;
+            } else if (c == '\n') {
+                endLine(out, lineStart);
+                lineStart = out.length();
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        endLine(out, lineStart);
+        return out.toString();
+    }
+
+    // 현재 줄의 끝 공백을 지우고, 빈 줄이면 없앤다
+    private static void endLine(StringBuilder out, int lineStart) {
+        int end = out.length();
+        while (end > lineStart && Character.isWhitespace(out.charAt(end - 1))) end--;
+        out.setLength(end);
+        if (end > lineStart) out.append('\n');
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.skillboost.codingtest.judge;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompileResult {
+
+    private final CompiledArtifact artifact;  // 성공 시
+    private final String error;               // 실패 시 컴파일러 메시지
+    private final boolean cached;             // 캐시 적중 여부
+
+    public static CompileResult success(CompiledArtifact artifact, boolean cached) {
+        return new CompileResult(artifact, null, cached);
+    }
+
+    public static CompileResult failure(String error) {
+        return new CompileResult(null, error, false);
+    }
+
+    public boolean isSuccess() {
+        return artifact != null;
+    }
+}
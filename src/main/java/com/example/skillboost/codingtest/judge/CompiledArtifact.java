@@ -0,0 +1,40 @@
+package com.example.skillboost.codingtest.judge;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 컴파일 결과물 (Java: 클래스 파일들, C++: 실행 파일).
+ * 캐시에 들어가는 불변 객체이고, 실행할 때마다 작업 디렉토리에 풀어서 쓴다.
+ */
+@Getter
+public class CompiledArtifact {
+
+    private final String language;
+
+    // 상대 경로 → 바이트 (예: "Main.class", "Main$Node.class", "output")
+    private final Map<String, byte[]> files;
+
+    private final boolean executable;
+
+    private final long sizeBytes;
+
+    public CompiledArtifact(String language, Map<String, byte[]> files, boolean executable) {
+        this.language = language;
+        this.files = Map.copyOf(files);
+        this.executable = executable;
+        this.sizeBytes = files.values().stream().mapToLong(b -> b.length).sum();
+    }
+
+    public void writeTo(JudgeWorkspace workspace) throws IOException {
+        for (Map.Entry<String, byte[]> entry : files.entrySet()) {
+            Path target = workspace.write(entry.getKey(), entry.getValue());
+            if (executable) {
+                target.toFile().setExecutable(true);
+            }
+        }
+    }
+}
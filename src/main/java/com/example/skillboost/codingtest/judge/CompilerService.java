@@ -0,0 +1,368 @@
+package com.example.skillboost.codingtest.judge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.tools.*;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * 제출 코드 컴파일 + 컴파일 결과 캐시.
+ *
+ * - Java: javax.tools.JavaCompiler 로 메모리 안에서 컴파일 (javac 프로세스/JVM 부팅 없음)
+ * - C++: 기존처럼 g++ 프로세스로 컴파일 후 실행 파일 바이트를 보관
+ *
+ * 캐시 키는 SHA-256(언어, 컴파일 옵션, 소스)이므로 재제출/재채점/"예제 실행 후 제출"은 컴파일을 건너뛴다.
+ */
+@Slf4j
+@Component
+public class CompilerService {
+
+    private static final List<String> JAVA_OPTIONS = List.of("-proc:none");
+    private static final List<String> CPP_FLAGS = List.of();
+    private static final int COMPILE_TIMEOUT_SECONDS = 5;
+    private static final String COMPILE_TIMEOUT_MESSAGE = "Time Limit Exceeded during Compilation";
+    // 끊을 수 없는 javac 가 스레드를 붙잡고 있어도 CPU 를 무한정 쓰지 않도록 동시 컴파일 수를 고정
+    private static final int COMPILE_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final String WARM_UP_SOURCE = "public class Main { public static void main(String[] a) { System.out.println(a.length); } }";
+
+    @Value("${judge.compile-cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${judge.compile-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    // access-order LinkedHashMap = LRU
+    private final LinkedHashMap<String, CompiledArtifact> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+
+    // javax.tools 컴파일은 호출 스레드에서 끊을 수 없으므로 별도 스레드에서 돌리고 시간 제한만큼만 기다린다.
+    // 모든 스레드가 바쁘면 큐에 쌓지 않고 거절 → javac 프로세스로 컴파일 (프로세스는 시간 초과 시 강제 종료 가능)
+    private final ThreadPoolExecutor compileExecutor = new ThreadPoolExecutor(
+            COMPILE_THREADS, COMPILE_THREADS, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "judge-compile");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    public CompilerService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.hits = Counter.builder("judge.compile.cache")
+                .tag("result", "hit")
+                .description("컴파일 캐시 적중 수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("judge.compile.cache")
+                .tag("result", "miss")
+                .description("컴파일 캐시 미스 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("judge.compile.cache.size", this, CompilerService::size)
+                .description("캐시된 컴파일 결과 수")
+                .register(meterRegistry);
+        warmUp();
+    }
+
+    /**
+     * 첫 제출이 컴파일러 클래스 로딩/JIT 비용까지 떠안아 시간 제한에 걸리지 않도록 한 번 미리 컴파일해 둔다.
+     */
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        CompileResult result = compileJava(WARM_UP_SOURCE);
+        log.info("Java 컴파일러 예열 {} ({}ms)", result.isSuccess() ? "완료" : "실패", System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compileExecutor.shutdownNow();
+    }
+
+    /**
+     * 컴파일이 필요한 언어(java, cpp)만 호출한다.
+     */
+    public CompileResult compile(String language, String sourceCode) {
+        String lang = language.toLowerCase();
+        String key = cacheKey(lang, sourceCode);
+
+        CompiledArtifact cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return CompileResult.success(cached, true);
+        }
+        misses.increment();
+
+        CompileResult result = lang.equals("java")
+                ? compileJava(sourceCode)
+                : compileCpp(sourceCode);
+
+        if (result.isSuccess()) {
+            put(key, result.getArtifact());
+        }
+        return result;
+    }
+
+    public long getHitCount() {
+        return (long) hits.count();
+    }
+
+    public long getMissCount() {
+        return (long) misses.count();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    // --- 캐시 ---
+
+    private synchronized CompiledArtifact get(String key) {
+        return cache.get(key);
+    }
+
+    private synchronized void put(String key, CompiledArtifact artifact) {
+        if (artifact.getSizeBytes() > maxBytes) return;
+
+        CompiledArtifact previous = cache.put(key, artifact);
+        if (previous != null) cachedBytes -= previous.getSizeBytes();
+        cachedBytes += artifact.getSizeBytes();
+
+        // 가장 오래 안 쓴 항목부터 제거
+        Iterator<Map.Entry<String, CompiledArtifact>> it = cache.entrySet().iterator();
+        while ((cache.size() > maxEntries || cachedBytes > maxBytes) && it.hasNext()) {
+            cachedBytes -= it.next().getValue().getSizeBytes();
+            it.remove();
+        }
+    }
+
+    private String cacheKey(String language, String sourceCode) {
+        String flags = String.join(" ", language.equals("java") ? JAVA_OPTIONS : CPP_FLAGS);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(language.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(flags.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(sourceCode.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Java (in-memory) ---
+
+    private CompileResult compileJava(String sourceCode) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            // JRE 전용 이미지 등 컴파일러 모듈이 없는 경우 javac 프로세스로 대체
+            return compileWithProcess("java", "Main.java", sourceCode);
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+
+        try (StandardJavaFileManager standard =
+                     compiler.getStandardFileManager(diagnostics, Locale.getDefault(), StandardCharsets.UTF_8);
+             InMemoryFileManager fileManager = new InMemoryFileManager(standard, classes)) {
+
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    JAVA_OPTIONS,
+                    null,
+                    List.of(new SourceFile("Main", sourceCode))
+            );
+
+            Future<Boolean> running;
+            try {
+                running = compileExecutor.submit(task);
+            } catch (RejectedExecutionException e) {
+                log.warn("Java 컴파일 스레드가 모두 사용 중 → javac 프로세스로 컴파일");
+                return compileWithProcess("java", "Main.java", sourceCode);
+            }
+
+            Boolean ok;
+            try {
+                ok = running.get(COMPILE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // 서버 부하 때문일 수도 있으므로 여기서 CE 로 판정하지 않고, 시간 제한을 강제할 수 있는 프로세스로 다시 컴파일한다
+                // (취소해도 javac 는 멈추지 않지만 스레드 수가 고정이라 붙잡히는 CPU 도 그만큼으로 제한됨)
+                running.cancel(true);
+                log.warn("Java 메모리 컴파일 시간 초과 ({}초) → javac 프로세스로 재시도", COMPILE_TIMEOUT_SECONDS);
+                return compileWithProcess("java", "Main.java", sourceCode);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return CompileResult.failure(String.valueOf(cause.getMessage()));
+            }
+
+            if (!Boolean.TRUE.equals(ok)) {
+                return CompileResult.failure(formatDiagnostics(diagnostics));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompileResult.failure(e.getMessage());
+        } catch (IOException e) {
+            return CompileResult.failure(e.getMessage());
+        }
+
+        Map<String, byte[]> files = new HashMap<>();
+        classes.forEach((className, bytes) ->
+                files.put(className.replace('.', '/') + ".class", bytes.toByteArray()));
+        return CompileResult.success(new CompiledArtifact("java", files, false), false);
+    }
+
+    private String formatDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+            if (d.getKind() != Diagnostic.Kind.ERROR) continue;
+            sb.append("Main.java:").append(d.getLineNumber())
+                    .append(": error: ").append(d.getMessage(Locale.getDefault()))
+                    .append("\n");
+        }
+        return sb.toString().trim();
+    }
+
+    // --- C++ (g++ 프로세스) ---
+
+    private CompileResult compileCpp(String sourceCode) {
+        return compileWithProcess("cpp", "main.cpp", sourceCode);
+    }
+
+    private CompileResult compileWithProcess(String language, String fileName, String sourceCode) {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("compile_");
+            Path source = dir.resolve(fileName);
+            Files.writeString(source, sourceCode, StandardCharsets.UTF_8);
+
+            ProcessBuilder pb;
+            String outputName = null;
+            if (language.equals("java")) {
+                pb = new ProcessBuilder("javac", "-encoding", "UTF-8", source.toString());
+            } else {
+                outputName = isWindows() ? "output.exe" : "output";
+                List<String> command = new ArrayList<>(List.of("g++"));
+                command.addAll(CPP_FLAGS);
+                command.addAll(List.of("-o", dir.resolve(outputName).toString(), source.toString()));
+                pb = new ProcessBuilder(command);
+            }
+            pb.directory(dir.toFile());
+            pb.redirectErrorStream(true);
+
+            Process process = pb.start();
+            boolean finished = process.waitFor(COMPILE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (!finished) {
+                process.destroyForcibly();
+                return CompileResult.failure(COMPILE_TIMEOUT_MESSAGE);
+            }
+            if (process.exitValue() != 0) {
+                return CompileResult.failure(
+                        new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim());
+            }
+
+            Map<String, byte[]> files = new HashMap<>();
+            if (outputName != null) {
+                files.put(outputName, Files.readAllBytes(dir.resolve(outputName)));
+            } else {
+                try (Stream<Path> stream = Files.list(dir)) {
+                    for (Path p : stream.filter(f -> f.toString().endsWith(".class")).toList()) {
+                        files.put(dir.relativize(p).toString(), Files.readAllBytes(p));
+                    }
+                }
+            }
+            return CompileResult.success(new CompiledArtifact(language, files, outputName != null), false);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompileResult.failure(e.getMessage());
+        } catch (IOException e) {
+            return CompileResult.failure(e.getMessage());
+        } finally {
+            deleteQuietly(dir);
+        }
+    }
+
+    private boolean isWindows() {
+        return System.getProperty("os.name").toLowerCase().contains("win");
+    }
+
+    private void deleteQuietly(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    // --- javax.tools 어댑터 ---
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String code;
+
+        SourceFile(String className, String code) {
+            super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class ClassOutput extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes;
+
+        ClassOutput(String className, ByteArrayOutputStream bytes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+
+    private static class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> classes;
+
+        InMemoryFileManager(StandardJavaFileManager delegate, Map<String, ByteArrayOutputStream> classes) {
+            super(delegate);
+            this.classes = classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            classes.put(className, bytes);
+            return new ClassOutput(className, bytes);
+        }
+    }
+}
@@ -2,19 +2,18 @@ package com.example.skillboost.codingtest.judge;
 
 import com.example.skillboost.codingtest.domain.CodingProblem;
 import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.example.skillboost.llm.LlmGateway;
+import com.example.skillboost.llm.PromptBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Gemini API를 이용해
@@ -28,130 +27,55 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GeminiJudge {
 
+    private static final List<String> FALLBACK_QUESTIONS = List.of(
+            "이 문제를 해결하기 위해 선택한 자료구조와 알고리즘을 설명해주세요.",
+            "시간 복잡도를 줄이기 위해 어떤 개선이 가능할까요?",
+            "극단적인 입력값이 들어왔을 때 어떤 문제가 발생할 수 있을까요?"
+    );
+
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final AiResultCache resultCache;
+    private final LlmGateway llmGateway;
 
-    @Value("${gemini.api.key}")
-    private String apiKey;
+    // 문제 설명/제출 코드가 아주 길어도 프롬프트가 이 예산을 넘지 않게 줄인다 (캐시 키는 원본 코드 기준)
+    @Value("${judge.prompt.description-token-budget:2000}")
+    private int descriptionTokenBudget;
 
-    @Value("${gemini.model:gemini-2.0-flash}")
-    private String model;
+    @Value("${judge.prompt.code-token-budget:6000}")
+    private int codeTokenBudget;
 
     /**
-     * AI 채점 메인 로직
+     * AI 채점 메인 로직 (테스트케이스로 채점할 수 없는 문제/언어용)
      */
     public SubmissionResultDto grade(CodingProblem problem, String userCode, String language) {
-        try {
-            // 1) 프롬프트 만들기
-            String prompt = buildPrompt(problem, language, userCode);
-
-            // 2) Gemini 요청 바디 만들기
-            ObjectNode root = objectMapper.createObjectNode();
-            ArrayNode contents = objectMapper.createArrayNode();
-            ObjectNode content = objectMapper.createObjectNode();
-            ArrayNode parts = objectMapper.createArrayNode();
-            ObjectNode part = objectMapper.createObjectNode();
-            part.put("text", prompt);
-            parts.add(part);
-            content.set("parts", parts);
-            contents.add(content);
-            root.set("contents", contents);
-
-            String body = objectMapper.writeValueAsString(root);
-
-            String url =
-                    "https://generativelanguage.googleapis.com/v1beta/models/"
-                            + model
-                            + ":generateContent?key="
-                            + apiKey;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    new HttpEntity<>(body, headers),
-                    String.class
-            );
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                log.error("Gemini API 호출 실패: {}", response.getBody());
-                return buildErrorResult("AI 채점 서버 응답이 올바르지 않습니다.");
-            }
-
-            // 3) Gemini 응답 파싱
-            JsonNode rootNode = objectMapper.readTree(response.getBody());
-
-            // 최신 Gemini 응답구조: candidates → content → parts → text
-            JsonNode candidates = rootNode.path("candidates");
-            if (!candidates.isArray() || candidates.size() == 0) {
-                log.error("Gemini 응답에 candidates 없음: {}", response.getBody());
-                return buildErrorResult("AI 응답이 비어 있습니다.");
-            }
-
-            JsonNode contentNode = candidates.get(0).path("content");
-            JsonNode partsNode = contentNode.path("parts");
-            if (!partsNode.isArray() || partsNode.size() == 0) {
-                log.error("Gemini 응답에 parts 없음: {}", response.getBody());
-                return buildErrorResult("AI 응답 파싱 실패.");
-            }
-
-            String rawText = partsNode.get(0).path("text").asText();
-            if (rawText == null || rawText.isBlank()) {
-                log.error("Gemini 응답 text 없음: {}", response.getBody());
-                return buildErrorResult("AI 응답이 비어 있습니다.");
-            }
-
-            // 🔥 4) text 안에서 JSON 부분만 추출
-            String jsonString = extractJsonString(rawText);
-            if (jsonString == null) {
-                log.error("Gemini 응답에서 JSON 부분 추출 실패. rawText={}", rawText);
-                return buildErrorResult("AI 응답 JSON 파싱 실패");
-            }
+        String cacheKey = AiResultCache.key("grade", problem.getId(), language, userCode, llmGateway.getModel());
+        Optional<SubmissionResultDto> cached = resultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-            // 5) JSON 파싱
-            JsonNode json;
-            try {
-                json = objectMapper.readTree(jsonString);
-            } catch (Exception e) {
-                log.error("AI JSON 파싱 실패. jsonString={}", jsonString, e);
+        try {
+            JsonNode json = requestJson(buildPrompt(problem, language, userCode));
+            if (json == null) {
                 return buildErrorResult("AI 응답 JSON 파싱 실패");
             }
 
-            // 6) AI 결과 해석
+            // AI 결과 해석
             String status = json.path("status").asText("WA");   // 기본값 WA
             int score = json.path("score").asInt(0);
             String feedback = json.path("feedback").asText("");
 
-            // 7) 면접 질문 파싱
-            List<String> interviewQuestions = new ArrayList<>();
-            JsonNode qNode = json.path("interviewQuestions");
-            if (qNode.isArray()) {
-                for (JsonNode q : qNode) {
-                    if (q.isTextual()) interviewQuestions.add(q.asText());
-                }
-            }
-
-            // 8) 테스트케이스 기반 점수 계산 (문제 데이터 기반)
-            Integer totalTestCases = problem.getTestCases() != null
-                    ? problem.getTestCases().size()
-                    : null;
-            Integer passedCount = null;
-            if (totalTestCases != null && totalTestCases > 0) {
-                passedCount = (int) Math.round(totalTestCases * (score / 100.0));
-            }
-
-            // 9) 최종 반환
-            return SubmissionResultDto.builder()
+            // 실제로 실행한 테스트케이스가 없으므로 passedCount / totalCount 는 비워 둔다
+            SubmissionResultDto result = SubmissionResultDto.builder()
                     .status(status)
                     .score(score)
-                    .passedCount(passedCount)
-                    .totalCount(totalTestCases)
                     .message(status.equals("AC") ? "정답입니다! 🎉" : "오답입니다.")
                     .aiFeedback(feedback)
-                    .interviewQuestions(interviewQuestions)
+                    .interviewQuestions(parseQuestions(json))
                     .build();
+            // 실패 결과는 캐시하지 않는다 (다음 제출에서 다시 시도)
+            resultCache.put(cacheKey, result);
+            return result;
 
         } catch (Exception e) {
             log.error("AI 채점 실패", e);
@@ -159,22 +83,84 @@ public class GeminiJudge {
         }
     }
 
+    /**
+     * 채점(판정)은 테스트케이스 실행으로 끝난 상태에서 코드 리뷰 + 예상 면접 질문만 생성한다.
+     * 반환값에는 aiFeedback, interviewQuestions 만 채워진다.
+     */
+    public SubmissionResultDto review(CodingProblem problem, String userCode, String language, String verdict) {
+        // 리뷰 내용은 판정 결과에 따라 달라지므로 판정도 키에 넣는다
+        String cacheKey = AiResultCache.key("review", problem.getId(), language, userCode, llmGateway.getModel(), verdict);
+        Optional<SubmissionResultDto> cached = resultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        try {
+            JsonNode json = requestJson(buildReviewPrompt(problem, language, userCode, verdict));
+            if (json == null) {
+                return buildReviewErrorResult("AI 응답 JSON 파싱 실패");
+            }
+            SubmissionResultDto result = SubmissionResultDto.builder()
+                    .aiFeedback(json.path("feedback").asText(""))
+                    .interviewQuestions(parseQuestions(json))
+                    .build();
+            resultCache.put(cacheKey, result);
+            return result;
+        } catch (Exception e) {
+            log.error("AI 코드 리뷰 실패", e);
+            return buildReviewErrorResult("AI 코드 리뷰 중 오류 발생");
+        }
+    }
+
+    /**
+     * Gemini 호출 후 응답 text 안의 JSON 객체를 파싱해서 반환. 응답이 이상하면 null.
+     */
+    private JsonNode requestJson(String prompt) {
+        String rawText = llmGateway.generateBlocking(prompt);
+
+        // 🔥 text 안에서 JSON 부분만 추출
+        String jsonString = extractJsonString(rawText);
+        if (jsonString == null) {
+            log.error("Gemini 응답에서 JSON 부분 추출 실패. rawText={}", rawText);
+            return null;
+        }
+
+        try {
+            return objectMapper.readTree(jsonString);
+        } catch (Exception e) {
+            log.error("AI JSON 파싱 실패. jsonString={}", jsonString, e);
+            return null;
+        }
+    }
+
+    private List<String> parseQuestions(JsonNode json) {
+        List<String> interviewQuestions = new ArrayList<>();
+        JsonNode qNode = json.path("interviewQuestions");
+        if (qNode.isArray()) {
+            for (JsonNode q : qNode) {
+                if (q.isTextual()) interviewQuestions.add(q.asText());
+            }
+        }
+        return interviewQuestions;
+    }
+
     /**
      * AI 실패 fallback
      */
     private SubmissionResultDto buildErrorResult(String message) {
-        List<String> fallbackQuestions = List.of(
-                "이 문제를 해결하기 위해 선택한 자료구조와 알고리즘을 설명해주세요.",
-                "시간 복잡도를 줄이기 위해 어떤 개선이 가능할까요?",
-                "극단적인 입력값이 들어왔을 때 어떤 문제가 발생할 수 있을까요?"
-        );
-
         return SubmissionResultDto.builder()
                 .status("WA")   // 실패 시 절대 AC로 보이지 않게
                 .score(0)
                 .message(message)
                 .aiFeedback("AI 분석 실패: " + message)
-                .interviewQuestions(fallbackQuestions)
+                .interviewQuestions(FALLBACK_QUESTIONS)
+                .build();
+    }
+
+    private SubmissionResultDto buildReviewErrorResult(String message) {
+        return SubmissionResultDto.builder()
+                .aiFeedback("AI 분석 실패: " + message)
+                .interviewQuestions(FALLBACK_QUESTIONS)
                 .build();
     }
 
@@ -213,9 +199,48 @@ public class GeminiJudge {
                 %s
                 """.formatted(
                 problem.getTitle(),
-                problem.getDescription(),
+                PromptBuilder.fit(problem.getDescription(), descriptionTokenBudget, PromptBuilder.Truncation.HEAD),
+                language,
+                PromptBuilder.fit(userCode, codeTokenBudget, PromptBuilder.Truncation.HEAD_TAIL)
+        );
+    }
+
+    /**
+     * 리뷰 전용 프롬프트 (판정은 이미 끝났으므로 채점하지 않게 한다)
+     */
+    private String buildReviewPrompt(CodingProblem problem, String language, String userCode, String verdict) {
+        return """
+                너는 코딩 테스트 제출 코드를 리뷰하는 한국인 시니어 개발자이다.
+                채점은 테스트케이스 실행으로 이미 끝났고, 결과는 "%s" 이다. 다시 채점하지 말고 리뷰만 해라.
+
+                오직 아래 JSON 형식만, 앞뒤 설명 없이 출력해야 한다:
+
+                {
+                  "feedback": "한국어 코드 리뷰 (채점 결과의 원인, 개선점, 복잡도)",
+                  "interviewQuestions": [
+                    "질문1",
+                    "질문2",
+                    "질문3"
+                  ]
+                }
+
+                --- 문제 정보 ---
+                제목: %s
+
+                설명:
+                %s
+
+                --- 사용 언어 ---
+                %s
+
+                --- 사용자 코드 ---
+                %s
+                """.formatted(
+                verdict,
+                problem.getTitle(),
+                PromptBuilder.fit(problem.getDescription(), descriptionTokenBudget, PromptBuilder.Truncation.HEAD),
                 language,
-                userCode
+                PromptBuilder.fit(userCode, codeTokenBudget, PromptBuilder.Truncation.HEAD_TAIL)
         );
     }
 
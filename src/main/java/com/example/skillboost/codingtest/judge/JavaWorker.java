@@ -0,0 +1,203 @@
+package com.example.skillboost.codingtest.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JudgeWorkerMain 프로세스 하나에 대한 핸들.
+ * 한 번에 하나의 실행만 맡기며, 동시 접근은 JavaWorkerPool이 막는다.
+ *
+ * 워커마다 전용 디렉토리를 둔다: 제어 소켓, 원시 stdin/stdout 파일, 그리고 사용자 코드의 작업 디렉토리(work).
+ * work 는 실행이 끝날 때마다 비우므로, 상대 경로로 만든 파일이 다음 제출에 보이거나 워커 클래스 파일을 덮어쓰지 않는다.
+ */
+class JavaWorker {
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final long CONNECT_POLL_MILLIS = 10;
+
+    /**
+     * 워커가 보내는 stdout 조각을 받는 쪽. false 를 돌려주면 (오답/출력 초과 확정) 더 읽지 않고 실행을 중단한다.
+     */
+    interface OutputSink {
+        boolean accept(byte[] chunk, int offset, int length);
+    }
+
+    private final Process process;
+    private final Path home;
+    private final Path workDir;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final byte[] frame = new byte[JudgeWorkerOutput.FRAME_SIZE];
+
+    @Getter
+    private int runs;
+
+    private JavaWorker(Process process, Path home, Path workDir, SocketChannel control) {
+        this.process = process;
+        this.home = home;
+        this.workDir = workDir;
+        this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(control)));
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(control)));
+    }
+
+    /**
+     * 워커 JVM을 띄우고 READY 신호가 올 때까지 기다린다 (JVM 부팅 비용은 여기서 한 번만 낸다).
+     */
+    static JavaWorker start(List<String> command) throws IOException {
+        Path home = Files.createTempDirectory("judge-worker-run");
+        Path workDir = Files.createDirectory(home.resolve("work"));
+        Path socket = home.resolve("control.sock");
+        Path stdin = Files.createFile(home.resolve("stdin"));
+        Path stdout = Files.createFile(home.resolve("stdout"));
+
+        Process process = null;
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+
+            List<String> args = new ArrayList<>(command);
+            args.addAll(List.of(socket.toString(), stdin.toString(), stdout.toString()));
+            process = new ProcessBuilder(args)
+                    .directory(workDir.toFile())
+                    .redirectInput(stdin.toFile())
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(stdout.toFile()))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            JavaWorker worker = new JavaWorker(process, home, workDir, accept(server, process));
+            Files.deleteIfExists(socket);
+            if (worker.in.readInt() != JudgeWorkerMain.READY) {
+                throw new IOException("워커 핸드셰이크 실패");
+            }
+            return worker;
+        } catch (IOException e) {
+            if (process != null) process.destroyForcibly();
+            deleteRecursively(home);
+            throw e;
+        }
+    }
+
+    /**
+     * @return 실행 결과. sink 가 중단시켰으면 null (워커는 아직 사용자 코드를 실행 중이므로 호출 측이 폐기해야 한다)
+     */
+    Response run(Path classDir, byte[] input, long outputLimit, long cpuLimitNanos, OutputSink sink)
+            throws IOException {
+        runs++;
+        out.writeUTF(classDir.toAbsolutePath().toString());
+        out.writeLong(outputLimit);
+        out.writeLong(cpuLimitNanos);
+        out.writeInt(input.length);
+        out.write(input);
+        out.flush();
+
+        while (true) {
+            int type = in.readInt();
+            if (type == JudgeWorkerMain.FRAME_STDOUT) {
+                int length = in.readInt();
+                if (length < 0 || length > frame.length) {
+                    throw new IOException("잘못된 stdout 프레임 길이: " + length);
+                }
+                in.readFully(frame, 0, length);
+                if (!sink.accept(frame, 0, length)) {
+                    return null;
+                }
+            } else if (type == JudgeWorkerMain.FRAME_RESULT) {
+                return readResult();
+            } else {
+                throw new IOException("알 수 없는 워커 프레임: " + type);
+            }
+        }
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * 다음 실행 전에 사용자 코드가 작업 디렉토리에 만든 파일을 지운다.
+     */
+    void cleanWorkDir() throws IOException {
+        try (Stream<Path> files = Files.list(workDir)) {
+            for (Path file : files.toList()) {
+                deleteRecursively(file);
+            }
+        }
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+        // 종료를 기다리지 않고, 프로세스가 내려간 뒤 디렉토리를 지운다
+        process.onExit().thenRun(() -> deleteRecursively(home));
+    }
+
+    // 워커가 제어 소켓에 연결할 때까지 기다린다. 그 전에 죽거나 너무 오래 걸리면 실패
+    private static SocketChannel accept(ServerSocketChannel server, Process process) throws IOException {
+        server.configureBlocking(false);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MILLIS);
+        while (true) {
+            SocketChannel channel = server.accept();
+            if (channel != null) {
+                channel.configureBlocking(true);
+                return channel;
+            }
+            if (!process.isAlive()) throw new IOException("워커가 연결 전에 종료됨 (exit " + process.exitValue() + ")");
+            if (System.nanoTime() > deadline) throw new IOException("워커 연결 시간 초과");
+            try {
+                Thread.sleep(CONNECT_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("워커 연결 대기 중단");
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            // 이미 지워졌거나 접근 불가 - 무시
+        }
+    }
+
+    private Response readResult() throws IOException {
+        int status = in.readInt();
+        int exitCode = in.readInt();
+        long elapsedNanos = in.readLong();
+        long cpuNanos = in.readLong();
+        long peakHeapBytes = in.readLong();
+        byte[] stderr = readBytes();
+        boolean healthy = in.readBoolean();
+        return new Response(status, exitCode, elapsedNanos, cpuNanos, peakHeapBytes, stderr, healthy);
+    }
+
+    private byte[] readBytes() throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Response {
+        private final int status;
+        private final int exitCode;
+        private final long elapsedNanos;   // Main.main 실행 구간만 (JVM 부팅 제외)
+        private final long cpuNanos;       // 실행 구간의 워커 프로세스 CPU 시간 (user + sys, 모든 스레드)
+        private final long peakHeapBytes;  // 실행 중 최대 힙 사용량
+        private final byte[] stderr;
+        private final boolean healthy;     // false면 재사용하지 않고 교체
+    }
+}
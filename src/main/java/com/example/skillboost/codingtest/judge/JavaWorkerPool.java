@@ -0,0 +1,331 @@
+package com.example.skillboost.codingtest.judge;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * 미리 부팅해 둔 Java 워커 JVM 풀.
+ *
+ * 제출마다 `java -cp . Main` 을 새로 띄우면 JVM 부팅 시간이 채점 시간 대부분을 차지한다.
+ * 워커는 컴파일된 Main을 매번 새 클래스로더로 로딩해서 실행하므로 제출 간 static 상태는 공유되지 않고,
+ * maxRuns 회 실행했거나 스레드 누수/타임아웃/OOM이 감지되면 폐기 후 새로 띄운다.
+ *
+ * 워커 JVM은 문제의 메모리 제한 그대로 -Xmx 를 걸고 띄우며(제한별 풀), 메모리 초과는 OOM 으로만 판정한다.
+ * 실행 중 최대 힙 사용량에는 아직 수거되지 않은 가비지까지 섞여 있어 판정 기준으로 쓸 수 없기 때문.
+ */
+@Slf4j
+@Component
+public class JavaWorkerPool {
+
+    @Value("${judge.java-worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${judge.java-worker.pool-size:2}")
+    private int poolSize;
+
+    @Value("${judge.java-worker.max-runs:50}")
+    private int maxRuns;
+
+    // 문제의 메모리 제한이 이보다 크면 워커 대신 일반 프로세스로 실행
+    @Value("${judge.java-worker.max-heap-mb:256}")
+    private int maxHeapMb;
+
+    // 동시에 유지할 메모리 제한별 풀 개수. 넘으면 새 제한의 문제는 일반 프로세스로 실행
+    @Value("${judge.java-worker.max-tiers:3}")
+    private int maxTiers;
+
+    @Value("${judge.java-worker.acquire-timeout-ms:200}")
+    private long acquireTimeoutMs;
+
+    private final ConcurrentMap<Integer, Tier> tiers = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+    private Path home;
+    private String javaBin;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Java 워커 풀 비활성화 (judge.java-worker.enabled=false)");
+            return;
+        }
+        try {
+            this.home = prepareWorkerHome();
+            this.javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        } catch (IOException e) {
+            log.error("Java 워커 준비 실패 → 일반 프로세스 실행으로 동작합니다.", e);
+            return;
+        }
+
+        running = true;
+        // 대부분의 문제가 쓰는 기본 제한 풀은 미리 채워 둔다
+        tier(Math.min(JudgeSpec.DEFAULT_MEMORY_LIMIT_MB, maxHeapMb));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Tier tier : tiers.values()) {
+            JavaWorker worker;
+            while ((worker = tier.idle.poll()) != null) {
+                worker.destroy();
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * classDir 의 Main 을 워커에서 실행한다. stdout이 outputLimit 바이트를 넘으면 그 즉시 중단된다.
+     * checker 가 있으면 워커가 보내는 출력 조각을 바로 비교하고, 오답이 확정되는 순간 워커를 종료한다
+     * (출력을 모아 두지 않음). checker 가 null 이면 출력을 outputLimit 까지 모아 accepted(output) 로 돌려준다.
+     * 시간은 실행 구간의 워커 프로세스 CPU 시간(사용자 코드가 띄운 스레드 포함)으로 판정하고,
+     * 메모리는 제한과 같은 -Xmx 로 뜬 워커에서 OOM 이 났는지로 판정한다 (보고용 메모리는 최대 힙 사용량).
+     * CPU 제한은 워커 안의 감시 스레드가 실행 중에 바로 끊는다.
+     * 풀이 꺼져 있거나 놀고 있는 워커가 없거나(처음 보는 메모리 제한이라 풀을 새로 채우는 중 포함) 워커가 실행 중 죽으면
+     * empty 를 돌려주고,
+     * 그때는 호출 측이 기존처럼 새 프로세스로 실행한다.
+     */
+    public Optional<JudgeResult> run(Path classDir, String input, JudgeSpec spec, long outputLimit,
+                                     OutputChecker checker) {
+        if (!running) return Optional.empty();
+        long heapMb = spec.getMemoryLimitBytes() / (1024 * 1024);
+        if (heapMb <= 0 || heapMb > maxHeapMb) return Optional.empty();
+
+        Tier tier = tier((int) heapMb);
+        if (tier == null) return Optional.empty();
+
+        JavaWorker worker = acquire(tier);
+        if (worker == null) return Optional.empty();
+
+        boolean reusable = false;
+        try {
+            byte[] inputBytes = input.getBytes(StandardCharsets.UTF_8);
+            StdoutSink sink = new StdoutSink(checker, outputLimit);
+            long cpuLimitNanos = TimeUnit.MILLISECONDS.toNanos(spec.getTimeLimitMillis());
+            Future<JavaWorker.Response> future =
+                    executor.submit(() -> worker.run(classDir, inputBytes, outputLimit, cpuLimitNanos, sink));
+
+            JavaWorker.Response response;
+            try {
+                response = future.get(spec.getWallTimeLimitMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                return Optional.of(JudgeResult.timeLimitExceeded());
+            }
+
+            // 출력 도중 오답/출력 초과가 확정되어 읽기를 멈춘 경우 (워커는 재사용하지 않고 교체)
+            if (response == null) {
+                return Optional.of(sink.getOutcome() == OutputChecker.Outcome.OUTPUT_LIMIT_EXCEEDED
+                        ? JudgeResult.outputLimitExceeded()
+                        : JudgeResult.wrongAnswer(null, 0));
+            }
+
+            reusable = response.isHealthy() && worker.getRuns() < maxRuns;
+
+            long memoryKb = response.getPeakHeapBytes() / 1024;
+            if (response.getStatus() == JudgeWorkerMain.STATUS_MEMORY_LIMIT) {
+                return Optional.of(JudgeResult.memoryLimitExceeded(memoryKb));
+            }
+            if (response.getStatus() == JudgeWorkerMain.STATUS_TIME_LIMIT || response.getCpuNanos() > cpuLimitNanos) {
+                return Optional.of(JudgeResult.timeLimitExceeded());
+            }
+            if (response.getStatus() == JudgeWorkerMain.STATUS_OUTPUT_LIMIT) {
+                return Optional.of(JudgeResult.outputLimitExceeded());
+            }
+
+            JudgeResult result;
+            if (response.getStatus() == JudgeWorkerMain.STATUS_OK) {
+                double seconds = response.getCpuNanos() / 1_000_000_000.0;
+                result = sink.finish(seconds);
+            } else {
+                String error = normalize(response.getStderr());
+                result = JudgeResult.runtimeError(error.isEmpty() ? "Runtime Error" : error);
+            }
+            result.setMemory(memoryKb);
+            return Optional.of(result);
+
+        } catch (ExecutionException e) {
+            log.warn("Java 워커가 실행 중 종료됨 → 일반 프로세스로 재실행: {}", e.getCause().getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            if (reusable && clean(worker)) {
+                tier.idle.offer(worker);
+            } else {
+                retire(tier, worker);
+            }
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    /**
+     * heapMb 제한의 풀. 처음 보는 제한이면 풀을 만들고 poolSize 만큼 띄우기 시작한다.
+     * 유지 중인 풀이 maxTiers 개를 넘으면 null.
+     */
+    private Tier tier(int heapMb) {
+        Tier existing = tiers.get(heapMb);
+        if (existing != null) return existing;
+
+        synchronized (tiers) {
+            existing = tiers.get(heapMb);
+            if (existing != null) return existing;
+            if (tiers.size() >= maxTiers) return null;
+
+            Tier created = new Tier(List.of(
+                    javaBin,
+                    "-Xmx" + heapMb + "m",
+                    "-Xss64m",
+                    "-XX:+UseSerialGC",
+                    "-Djava.security.manager=allow",
+                    "-cp", home.toString(),
+                    JudgeWorkerMain.class.getName()
+            ));
+            tiers.put(heapMb, created);
+            log.info("Java 워커 풀 추가: -Xmx{}m x {}", heapMb, poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                spawnAsync(created);
+            }
+            return created;
+        }
+    }
+
+    private JavaWorker acquire(Tier tier) {
+        try {
+            return tier.idle.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private boolean clean(JavaWorker worker) {
+        try {
+            worker.cleanWorkDir();
+            return true;
+        } catch (IOException e) {
+            log.warn("Java 워커 작업 디렉토리 정리 실패 → 워커 교체: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void retire(Tier tier, JavaWorker worker) {
+        worker.destroy();
+        spawnAsync(tier);
+    }
+
+    private void spawnAsync(Tier tier) {
+        if (!running) return;
+        executor.execute(() -> {
+            try {
+                JavaWorker worker = JavaWorker.start(tier.command);
+                if (running) {
+                    tier.idle.offer(worker);
+                } else {
+                    worker.destroy();
+                }
+            } catch (IOException e) {
+                log.error("Java 워커 기동 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 워커 클래스 파일만 임시 디렉토리로 복사한다.
+     * (Spring Boot fat jar 안의 클래스는 -cp 로 직접 가리킬 수 없기 때문)
+     */
+    private Path prepareWorkerHome() throws IOException {
+        Path home = Files.createTempDirectory("judge-worker");
+        Path packageDir = home.resolve(JudgeWorkerMain.class.getPackageName().replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        for (Class<?> workerClass : List.of(JudgeWorkerMain.class, JudgeWorkerOutput.class)) {
+            String classFile = workerClass.getSimpleName() + ".class";
+            try (InputStream is = workerClass.getResourceAsStream(classFile)) {
+                if (is == null) throw new IOException("워커 클래스 파일을 찾을 수 없습니다: " + classFile);
+                Files.copy(is, packageDir.resolve(classFile), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return home;
+    }
+
+    // JudgeClient.readLimited 와 같은 형태(줄 단위 + trim)로 맞춘다
+    private static String normalize(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8)
+                .replace("\r\n", "\n")
+                .trim();
+    }
+
+    /**
+     * 같은 -Xmx 로 띄운 워커 묶음
+     */
+    private static final class Tier {
+
+        private final List<String> command;
+        private final BlockingQueue<JavaWorker> idle = new LinkedBlockingQueue<>();
+
+        Tier(List<String> command) {
+            this.command = command;
+        }
+    }
+
+    /**
+     * 워커 stdout 조각 처리: checker 가 있으면 바로 비교, 없으면 제한 크기까지 모은다.
+     */
+    private static final class StdoutSink implements JavaWorker.OutputSink {
+
+        private final OutputChecker checker;
+        private final long outputLimit;
+        private final ByteArrayOutputStream collected;
+        private volatile OutputChecker.Outcome outcome;
+
+        StdoutSink(OutputChecker checker, long outputLimit) {
+            this.checker = checker;
+            this.outputLimit = outputLimit;
+            this.collected = checker == null ? new ByteArrayOutputStream() : null;
+        }
+
+        @Override
+        public boolean accept(byte[] chunk, int offset, int length) {
+            if (checker != null) {
+                outcome = checker.feed(chunk, offset, length);
+            } else if (collected.size() + (long) length > outputLimit) {
+                outcome = OutputChecker.Outcome.OUTPUT_LIMIT_EXCEEDED;
+            } else {
+                collected.write(chunk, offset, length);
+            }
+            return outcome == null;
+        }
+
+        OutputChecker.Outcome getOutcome() {
+            return outcome;
+        }
+
+        // 정상 종료한 실행의 최종 판정
+        JudgeResult finish(double seconds) {
+            if (checker == null) {
+                return JudgeResult.accepted(normalize(collected.toByteArray()), seconds);
+            }
+            return checker.finish() == OutputChecker.Outcome.MATCH
+                    ? JudgeResult.accepted(null, seconds)
+                    : JudgeResult.wrongAnswer(null, seconds);
+        }
+    }
+}
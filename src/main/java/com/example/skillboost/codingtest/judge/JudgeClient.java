@@ -1,185 +1,406 @@
 package com.example.skillboost.codingtest.judge;
 
+import com.example.skillboost.codingtest.domain.CodingTestCase;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JudgeClient {
 
-    private static final String TEMP_DIR = System.getProperty("java.io.tmpdir");
-    private static final int TIMEOUT_SECONDS = 2; // 시간 제한
+    private static final int STDERR_LIMIT_BYTES = 64 * 1024;
+    // 워커 풀을 못 쓸 때 띄우는 java 프로세스의 힙 외 메모리 (메타스페이스, 코드 캐시, 스레드 스택 등)
+    private static final long JVM_RSS_OVERHEAD_BYTES = 64L * 1024 * 1024;
+
+    private final JavaWorkerPool javaWorkerPool;
+    private final CompilerService compilerService;
+    private final JudgeWorkspaceManager workspaceManager;
+    private final JudgeToolchain judgeToolchain;
+
+    // 테스트케이스 병렬 실행용 - 동시에 띄우는 프로세스 수를 코어 수로 제한
+    private final ExecutorService testCaseExecutor =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    // 프로세스 stdin/stdout/stderr 펌프용 (블로킹 I/O라 가상 스레드)
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 실행 중인 프로세스의 CPU 시간 / 메모리 샘플링용
+    private final ScheduledExecutorService monitorScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @Value("${judge.output-limit-bytes:16777216}")
+    private long outputLimitBytes;
+
+    @Value("${judge.float-epsilon:1e-6}")
+    private double floatEpsilon;
+
+    @PreDestroy
+    public void shutdown() {
+        testCaseExecutor.shutdownNow();
+        streamExecutor.shutdownNow();
+        monitorScheduler.shutdownNow();
+    }
 
     /**
      * CodingTestService에서 호출하는 메서드
      * 소스코드, 언어, 입력값을 받아 실행 결과를 반환
      */
     public JudgeResult execute(String sourceCode, String language, String input) {
-        String uniqueId = UUID.randomUUID().toString();
-        File sourceFile = createSourceFile(language, sourceCode, uniqueId);
+        try (JudgeWorkspace workspace = workspaceManager.acquire()) {
+            File sourceFile = createSourceFile(workspace, language, sourceCode);
+            if (sourceFile == null) {
+                return JudgeResult.runtimeError("Internal Error: 파일 생성 실패");
+            }
 
-        if (sourceFile == null) {
-            return JudgeResult.runtimeError("Internal Error: 파일 생성 실패");
+            // 1. 컴파일 (Java, C++ 만)
+            JudgeResult compileFailure = compile(language, sourceCode, workspace);
+            if (compileFailure != null) {
+                return compileFailure;
+            }
+
+            // 2. 실행 (출력은 제한 크기까지만 모아서 반환)
+            return runCode(language, sourceFile, input, null, JudgeSpec.defaults());
+
+        } catch (Exception e) {
+            return JudgeResult.runtimeError(e.getMessage());
         }
+    }
 
-        try {
-            // 1. 컴파일 (Java, C++ 만)
-            if (language.equalsIgnoreCase("java") || language.equalsIgnoreCase("cpp")) {
-                String compileError = compileCode(language, sourceFile);
-                if (compileError != null) {
-                    return JudgeResult.compileError(compileError);
+    public BatchJudgeResult executeAll(String sourceCode, String language,
+                                       List<CodingTestCase> testCases, VerdictMode mode) {
+        return executeAll(sourceCode, language, testCases, mode, JudgeSpec.defaults());
+    }
+
+    /**
+     * 한 번 컴파일한 결과물로 모든 테스트케이스를 병렬 실행하고 정답과 비교한다.
+     * STOP_ON_FIRST_FAILURE 이면 실패 케이스가 나오는 즉시 나머지 실행을 취소한다.
+     * 케이스마다 spec의 CPU 시간 / 메모리 제한을 적용한다.
+     */
+    public BatchJudgeResult executeAll(String sourceCode, String language,
+                                       List<CodingTestCase> testCases, VerdictMode mode,
+                                       JudgeSpec spec) {
+        int total = testCases.size();
+
+        try (JudgeWorkspace workspace = workspaceManager.acquire()) {
+            File sourceFile = createSourceFile(workspace, language, sourceCode);
+            if (sourceFile == null) {
+                return BatchJudgeResult.of(Collections.nCopies(total,
+                        JudgeResult.runtimeError("Internal Error: 파일 생성 실패")));
+            }
+
+            // 1. 컴파일은 한 번만
+            JudgeResult compileFailure = compile(language, sourceCode, workspace);
+            if (compileFailure != null) {
+                return BatchJudgeResult.of(Collections.nCopies(total, compileFailure));
+            }
+
+            // 2. 같은 결과물로 케이스별 실행 (작업 디렉토리는 읽기 전용으로 공유)
+            AtomicReferenceArray<JudgeResult> results = new AtomicReferenceArray<>(total);
+            CompletionService<Integer> completion = new ExecutorCompletionService<>(testCaseExecutor);
+            List<Future<Integer>> futures = new ArrayList<>(total);
+            // 케이스마다 "시작됨/시작 전 취소됨" 중 먼저 차지한 쪽이 finished 를 한 번 내린다
+            AtomicIntegerArray claimed = new AtomicIntegerArray(total);
+            CountDownLatch finished = new CountDownLatch(total);
+
+            for (int i = 0; i < total; i++) {
+                int index = i;
+                CodingTestCase testCase = testCases.get(i);
+                futures.add(completion.submit(() -> {
+                    if (!claimed.compareAndSet(index, 0, 1)) return index;
+                    try {
+                        results.set(index, judgeCase(language, sourceFile, testCase, spec));
+                    } finally {
+                        finished.countDown();
+                    }
+                    return index;
+                }));
+            }
+
+            // 여기서 꺼낸 결과만 판정에 쓴다. 취소된 케이스가 중단되면서 results 에 늦게 써 넣는
+            // "채점이 중단되었습니다." 가 앞 번호의 실제 실패(WA/TLE)를 가리지 않도록.
+            JudgeResult[] collected = new JudgeResult[total];
+            try {
+                for (int done = 0; done < total; done++) {
+                    int index = completion.take().get();
+                    collected[index] = results.get(index);
+                    if (mode == VerdictMode.STOP_ON_FIRST_FAILURE && !collected[index].isAccepted()) {
+                        break;
+                    }
                 }
+            } finally {
+                // 조기 종료(또는 인터럽트) 시 아직 돌고 있는 케이스 취소 → runCode가 프로세스를 정리함
+                futures.forEach(f -> f.cancel(true));
+                for (int i = 0; i < total; i++) {
+                    if (claimed.compareAndSet(i, 0, 1)) finished.countDown();
+                }
+                // 작업 디렉토리를 반납하기 전에 취소된 케이스의 프로세스까지 끝나기를 기다린다
+                awaitCancelled(finished, spec);
             }
 
-            // 2. 실행
-            return runCode(language, sourceFile, input);
+            List<JudgeResult> ordered = new ArrayList<>(total);
+            for (JudgeResult r : collected) {
+                ordered.add(r != null ? r : JudgeResult.skipped());
+            }
+            return BatchJudgeResult.of(ordered);
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchJudgeResult.of(Collections.nCopies(total, JudgeResult.runtimeError("채점이 중단되었습니다.")));
         } catch (Exception e) {
-            return JudgeResult.runtimeError(e.getMessage());
-        } finally {
-            cleanup(sourceFile);
+            return BatchJudgeResult.of(Collections.nCopies(total, JudgeResult.runtimeError(e.getMessage())));
         }
     }
 
     // --- 내부 헬퍼 메서드 ---
 
-    private File createSourceFile(String language, String code, String uniqueId) {
+    /**
+     * 돌고 있던 케이스는 인터럽트를 받으면 프로세스를 죽이고 끝날 때까지 기다린 뒤 빠지므로 보통 금방 끝난다.
+     * 케이스 하나는 벽시계 제한을 넘겨 돌 수 없으므로 그만큼까지만 기다린다.
+     */
+    private void awaitCancelled(CountDownLatch finished, JudgeSpec spec) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(spec.getWallTimeLimitMillis());
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (!finished.await(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                        log.warn("취소된 채점 케이스가 {}ms 안에 끝나지 않았습니다.", spec.getWallTimeLimitMillis());
+                    }
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Java, C++ 만 컴파일한다. 같은 소스는 캐시된 결과물을 그대로 사용.
+     * @return 컴파일 실패 시 CE 결과, 성공(또는 컴파일 불필요) 시 null
+     */
+    private JudgeResult compile(String language, String sourceCode, JudgeWorkspace workspace) throws IOException {
+        if (!language.equalsIgnoreCase("java") && !language.equalsIgnoreCase("cpp")) {
+            return null;
+        }
+        CompileResult compiled = compilerService.compile(language, sourceCode);
+        if (!compiled.isSuccess()) {
+            return JudgeResult.compileError(compiled.getError());
+        }
+        compiled.getArtifact().writeTo(workspace);
+        return null;
+    }
+
+    private JudgeResult judgeCase(String language, File sourceFile, CodingTestCase testCase,
+                                  JudgeSpec spec) {
+        String input = testCase.getInputData() != null ? testCase.getInputData() : "";
+        OutputChecker checker = new OutputChecker(
+                testCase.getExpectedOutput(), spec.getCompareMode(), floatEpsilon, outputLimitBytes);
+        return runCode(language, sourceFile, input, checker, spec);
+    }
+
+    private File createSourceFile(JudgeWorkspace workspace, String language, String code) {
         try {
             String fileName;
-            // 언어별 파일 확장자 및 클래스명 처리
+            // 언어별 파일 확장자 및 클래스명 처리 (작업 디렉토리가 실행마다 분리되어 있으므로 이름은 고정)
             if (language.equalsIgnoreCase("java")) {
                 fileName = "Main.java"; // Java는 Main 클래스 강제
             } else if (language.equalsIgnoreCase("cpp")) {
-                fileName = uniqueId + ".cpp";
+                fileName = "main.cpp";
             } else { // python
-                fileName = uniqueId + ".py";
+                fileName = "main.py";
             }
-
-            // 폴더 분리 (동시 실행 충돌 방지)
-            Path dirPath = Path.of(TEMP_DIR, "judge_" + uniqueId);
-            Files.createDirectories(dirPath);
-
-            File file = dirPath.resolve(fileName).toFile();
-            try (FileWriter writer = new FileWriter(file)) {
-                writer.write(code);
-            }
-            return file;
+            return workspace.write(fileName, code).toFile();
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
-    private String compileCode(String language, File sourceFile) {
-        ProcessBuilder pb;
-        if (language.equalsIgnoreCase("java")) {
-            // javac -encoding UTF-8 Main.java
-            pb = new ProcessBuilder("javac", "-encoding", "UTF-8", sourceFile.getAbsolutePath());
-        } else {
-            // g++ -o output source.cpp
-            String outputPath = sourceFile.getParent() + File.separator + "output";
-            // Windows인 경우 .exe 붙임
-            if (System.getProperty("os.name").toLowerCase().contains("win")) {
-                outputPath += ".exe";
-            }
-            pb = new ProcessBuilder("g++", "-o", outputPath, sourceFile.getAbsolutePath());
+    /**
+     * @param checker null이면 stdout을 모아서 accepted(output)로 반환,
+     *                아니면 출력을 흘려보내며 비교하고 불일치/출력 초과 시 즉시 프로세스를 종료
+     */
+    private JudgeResult runCode(String language, File sourceFile, String input, OutputChecker checker, JudgeSpec spec) {
+        if (Thread.currentThread().isInterrupted()) {
+            return JudgeResult.runtimeError("채점이 중단되었습니다.");
         }
 
-        pb.directory(sourceFile.getParentFile());
-        pb.redirectErrorStream(true);
-
-        try {
-            Process process = pb.start();
-            boolean finished = process.waitFor(5, TimeUnit.SECONDS);
-            if (!finished) {
-                process.destroy();
-                return "Time Limit Exceeded during Compilation";
+        // Java는 미리 띄워둔 워커 JVM에서 먼저 시도 (JVM 부팅 시간이 실행 시간에서 빠짐)
+        if (language.equalsIgnoreCase("java")) {
+            Optional<JudgeResult> pooled = javaWorkerPool.run(
+                    sourceFile.getParentFile().toPath(), input, spec, outputLimitBytes, checker);
+            if (pooled.isPresent()) {
+                return pooled.get();
             }
-            if (process.exitValue() != 0) {
-                return readProcessOutput(process.getInputStream());
+            if (Thread.currentThread().isInterrupted()) {
+                return JudgeResult.runtimeError("채점이 중단되었습니다.");
             }
-            return null; // 컴파일 성공
-        } catch (Exception e) {
-            return e.getMessage();
+            // 워커가 실행 도중 죽었으면 이미 일부 출력을 비교했을 수 있다
+            if (checker != null) checker.reset();
         }
-    }
 
-    private JudgeResult runCode(String language, File sourceFile, String input) {
         ProcessBuilder pb;
-        long startTime = System.currentTimeMillis();
+        ProcessMonitor monitor = null;
+        JudgeSpec monitorSpec = spec;
 
         try {
             if (language.equalsIgnoreCase("java")) {
-                pb = new ProcessBuilder("java", "-cp", ".", "Main");
+                long heapMb = spec.getMemoryLimitBytes() / (1024 * 1024);
+                pb = new ProcessBuilder("java", "-Xmx" + heapMb + "m", "-cp", ".", "Main");
+                // RSS에는 힙 외에 JVM 자체 메모리가 포함되므로 그만큼은 봐준다
+                monitorSpec = new JudgeSpec(spec.getCompareMode(), spec.getTimeLimitMillis(),
+                        spec.getMemoryLimitBytes() + JVM_RSS_OVERHEAD_BYTES);
             } else if (language.equalsIgnoreCase("python")) {
-                pb = new ProcessBuilder("python", sourceFile.getName()); // python3 라면 "python3"
+                pb = new ProcessBuilder(judgeToolchain.getPythonCommand(), sourceFile.getName());
             } else { // cpp
                 String cmd = System.getProperty("os.name").toLowerCase().contains("win") ? "output.exe" : "./output";
                 pb = new ProcessBuilder(cmd);
             }
 
             pb.directory(sourceFile.getParentFile());
-            Process process = pb.start();
+            monitor = ProcessMonitor.start(pb, monitorSpec, monitorScheduler);
+            Process process = monitor.getProcess();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(spec.getWallTimeLimitMillis());
+
+            // 입력 주입 / stderr 수집은 별도 스레드에서 (파이프가 차서 서로 막히는 것 방지)
+            streamExecutor.execute(() -> writeInput(process, input));
+            Future<String> stderr = streamExecutor.submit(() -> drainStderr(process.getErrorStream()));
 
-            // 입력값 주입
-            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()))) {
-                writer.write(input);
-                writer.flush();
+            // stdout: 비교 모드면 흘려보내며 비교, 아니면 제한 크기까지 수집
+            Future<OutputChecker.Outcome> checked = null;
+            Future<String> captured = null;
+            if (checker != null) {
+                checked = streamExecutor.submit(() -> checker.check(process.getInputStream()));
+            } else {
+                captured = streamExecutor.submit(() -> readLimited(process.getInputStream(), outputLimitBytes));
             }
 
-            // 실행 대기
-            boolean finished = process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            if (!finished) {
-                process.destroy();
-                return JudgeResult.builder().statusId(5).message("Time Limit Exceeded").build();
+            OutputChecker.Outcome outcome = OutputChecker.Outcome.MATCH;
+            String output = null;
+            boolean timedOut = false;
+            try {
+                if (checked != null) {
+                    outcome = checked.get(remaining(deadline), TimeUnit.NANOSECONDS);
+                } else {
+                    output = captured.get(remaining(deadline), TimeUnit.NANOSECONDS);
+                    if (output == null) outcome = OutputChecker.Outcome.OUTPUT_LIMIT_EXCEEDED;
+                }
+            } catch (TimeoutException e) {
+                timedOut = true;
             }
 
-            // 결과 읽기
-            String output = readProcessOutput(process.getInputStream());
-            String error = readProcessOutput(process.getErrorStream());
-            double duration = (System.currentTimeMillis() - startTime) / 1000.0;
+            // 실행 대기 (stdout이 닫힌 뒤 실제 종료까지)
+            if (!timedOut && outcome == OutputChecker.Outcome.MATCH) {
+                timedOut = !process.waitFor(remaining(deadline), TimeUnit.NANOSECONDS);
+            }
+            monitor.destroyAndWait(); // 이미 종료됐으면 바로 돌아옴
+            monitor.close();
 
-            if (process.exitValue() != 0) {
-                return JudgeResult.runtimeError(error.isEmpty() ? "Runtime Error" : error);
+            // 감시 중 제한을 넘겨 강제 종료된 경우가 출력 비교 결과보다 우선
+            JudgeResult limitExceeded = limitVerdict(monitor);
+            if (limitExceeded != null) {
+                return limitExceeded;
+            }
+            if (timedOut) {
+                return JudgeResult.timeLimitExceeded();
             }
 
-            // 로컬 실행 성공 (정답 여부는 Service에서 판단하므로 여기선 성공 상태 리턴)
-            // JudgeResult.accepted()는 statusId=3을 반환하여 Service가 정답 비교를 진행하게 함
-            return JudgeResult.accepted(output, duration);
+            double cpuSeconds = monitor.getCpuNanos() / 1_000_000_000.0;
+            JudgeResult result = switch (outcome) {
+                case MISMATCH -> JudgeResult.wrongAnswer(null, cpuSeconds);
+                case OUTPUT_LIMIT_EXCEEDED -> JudgeResult.outputLimitExceeded();
+                case MATCH -> {
+                    if (process.exitValue() != 0) {
+                        String error = stderr.get(1, TimeUnit.SECONDS);
+                        yield JudgeResult.runtimeError(error.isEmpty() ? "Runtime Error" : error);
+                    }
+                    // 로컬 실행 성공 (비교 모드가 아니면 정답 여부는 Service에서 판단)
+                    // JudgeResult.accepted()는 statusId=3을 반환하여 Service가 정답 비교를 진행하게 함
+                    yield JudgeResult.accepted(output, cpuSeconds);
+                }
+            };
+            result.setMemory(monitor.getPeakMemoryBytes() / 1024);
+            return result;
 
+        } catch (InterruptedException e) {
+            // 배치 채점 조기 종료로 취소된 경우
+            if (monitor != null) monitor.destroyAndWait();
+            Thread.currentThread().interrupt();
+            return JudgeResult.runtimeError("채점이 중단되었습니다.");
         } catch (Exception e) {
+            if (monitor != null) monitor.destroyAndWait();
             return JudgeResult.runtimeError(e.getMessage());
+        } finally {
+            if (monitor != null) monitor.close();
+        }
+    }
+
+    private JudgeResult limitVerdict(ProcessMonitor monitor) {
+        return switch (monitor.getViolation()) {
+            case CPU_TIME -> JudgeResult.timeLimitExceeded();
+            case MEMORY -> JudgeResult.memoryLimitExceeded(monitor.getPeakMemoryBytes() / 1024);
+            case NONE -> null;
+        };
+    }
+
+    private void writeInput(Process process, String input) {
+        try (OutputStream os = process.getOutputStream()) {
+            os.write(input.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 프로세스가 입력을 다 읽기 전에 종료된 경우 (오답 조기 종료 등)
         }
     }
 
-    private String readProcessOutput(InputStream inputStream) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append("\n");
+    /**
+     * limit 바이트까지만 읽어 줄 단위로 정리해서 반환. 넘으면 null.
+     */
+    private String readLimited(InputStream inputStream, long limit) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        long total = 0;
+        int n;
+        try (InputStream is = inputStream) {
+            while ((n = is.read(chunk)) != -1) {
+                total += n;
+                if (total > limit) return null;
+                buffer.write(chunk, 0, n);
             }
         }
-        return sb.toString().trim();
+        return buffer.toString(StandardCharsets.UTF_8)
+                .replace("\r\n", "\n")
+                .trim();
     }
 
-    private void cleanup(File sourceFile) {
-        try {
-            if (sourceFile == null) return;
-            File dir = sourceFile.getParentFile();
-            if (dir != null && dir.exists()) {
-                File[] files = dir.listFiles();
-                if (files != null) {
-                    for (File f : files) f.delete();
-                }
-                dir.delete();
+    // stderr는 앞부분만 남기고 나머지는 버리면서 끝까지 읽는다 (파이프가 차서 프로세스가 멈추지 않도록)
+    private String drainStderr(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        try (InputStream is = inputStream) {
+            while ((n = is.read(chunk)) != -1) {
+                int keep = Math.min(n, STDERR_LIMIT_BYTES - buffer.size());
+                if (keep > 0) buffer.write(chunk, 0, keep);
             }
-        } catch (Exception e) {
-            // ignore
         }
+        return buffer.toString(StandardCharsets.UTF_8).trim();
+    }
+
+    private long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
     }
-}
\ No newline at end of file
+}
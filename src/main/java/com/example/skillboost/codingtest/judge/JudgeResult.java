@@ -11,13 +11,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JudgeResult {
     // Judge0 표준 상태 코드 (3: Accepted, 4: Wrong Answer, 5: Time Limit, 6: Compilation Error, 11: Runtime Error)
+    // 0은 배치 채점에서 조기 종료로 실행하지 않은 케이스, 15는 출력 제한 초과, 16은 메모리 제한 초과 (Judge0에 없는 자체 코드)
     private int statusId;
 
     private String stdout;      // 표준 출력 결과
     private String stderr;      // 에러 메시지
     private String message;     // 설명
-    private double time;        // 실행 시간
-    private long memory;        // 메모리 사용량
+    private double time;        // 실행 시간 (초, CPU user + sys)
+    private long memory;        // 최대 메모리 사용량 (KB)
 
     public static JudgeResult accepted(String output, double time) {
         return JudgeResult.builder()
@@ -52,4 +53,41 @@ public class JudgeResult {
                 .message("Runtime Error")
                 .build();
     }
-}
\ No newline at end of file
+
+    public static JudgeResult timeLimitExceeded() {
+        return JudgeResult.builder()
+                .statusId(5) // Time Limit Exceeded
+                .message("Time Limit Exceeded")
+                .build();
+    }
+
+    public static JudgeResult outputLimitExceeded() {
+        return JudgeResult.builder()
+                .statusId(15) // Output Limit Exceeded
+                .message("Output Limit Exceeded")
+                .build();
+    }
+
+    public static JudgeResult memoryLimitExceeded(long memoryKb) {
+        return JudgeResult.builder()
+                .statusId(16) // Memory Limit Exceeded
+                .memory(memoryKb)
+                .message("Memory Limit Exceeded")
+                .build();
+    }
+
+    public static JudgeResult skipped() {
+        return JudgeResult.builder()
+                .statusId(0)
+                .message("Skipped")
+                .build();
+    }
+
+    public boolean isAccepted() {
+        return statusId == 3;
+    }
+
+    public boolean isSkipped() {
+        return statusId == 0;
+    }
+}
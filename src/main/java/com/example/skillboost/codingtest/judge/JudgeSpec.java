@@ -0,0 +1,46 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.CodingProblem;
+import com.example.skillboost.codingtest.domain.OutputCompareMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 문제별 채점 조건 (비교 방식 + 시간/메모리 제한)
+ */
+@Getter
+@AllArgsConstructor
+public class JudgeSpec {
+
+    public static final int DEFAULT_TIME_LIMIT_MS = 2000;
+    public static final int DEFAULT_MEMORY_LIMIT_MB = 256;
+
+    private final OutputCompareMode compareMode;
+
+    // CPU 시간(user + sys) 제한
+    private final long timeLimitMillis;
+
+    // 최대 메모리(RSS, Java 워커는 힙) 제한
+    private final long memoryLimitBytes;
+
+    public static JudgeSpec defaults() {
+        return new JudgeSpec(OutputCompareMode.TOKENS, DEFAULT_TIME_LIMIT_MS, DEFAULT_MEMORY_LIMIT_MB * 1024L * 1024L);
+    }
+
+    public static JudgeSpec of(CodingProblem problem) {
+        int timeLimit = problem.getTimeLimitMs() != null ? problem.getTimeLimitMs() : DEFAULT_TIME_LIMIT_MS;
+        int memoryLimit = problem.getMemoryLimitMb() != null ? problem.getMemoryLimitMb() : DEFAULT_MEMORY_LIMIT_MB;
+        OutputCompareMode compareMode = problem.getCompareMode() != null
+                ? problem.getCompareMode()
+                : OutputCompareMode.TOKENS;
+        return new JudgeSpec(compareMode, timeLimit, memoryLimit * 1024L * 1024L);
+    }
+
+    /**
+     * 벽시계 기준 안전 제한. sleep/입력 대기처럼 CPU를 안 쓰고 멈춘 프로세스를 끊기 위한 것으로,
+     * 판정 자체는 CPU 시간으로 한다.
+     */
+    public long getWallTimeLimitMillis() {
+        return timeLimitMillis * 2 + 1000;
+    }
+}
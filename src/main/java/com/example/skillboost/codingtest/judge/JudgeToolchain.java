@@ -0,0 +1,84 @@
+package com.example.skillboost.codingtest.judge;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채점에 쓰는 컴파일러/인터프리터가 실제로 설치돼 있는지 기동 시 확인한다.
+ *
+ * 없는 언어는 실행 채점 대상에서 빠지고 AI 채점으로 넘어간다
+ * (g++ 이 없는 이미지에서 모든 C++ 제출이 CE 로 판정되는 것 방지).
+ */
+@Slf4j
+@Component
+public class JudgeToolchain {
+
+    private static final int PROBE_TIMEOUT_SECONDS = 5;
+
+    private volatile Set<String> languages = Set.of();
+    private volatile String pythonCommand = "python3";
+
+    @PostConstruct
+    public void probe() {
+        Set<String> available = new HashSet<>();
+
+        // 메모리 컴파일러가 없으면 javac 프로세스로 대체하므로 둘 중 하나만 있으면 된다
+        if (ToolProvider.getSystemJavaCompiler() != null || runs(List.of("javac", "-version"))) {
+            available.add("java");
+        }
+        if (runs(List.of("g++", "--version"))) {
+            available.add("cpp");
+        }
+        for (String command : List.of("python3", "python")) {
+            if (runs(List.of(command, "--version"))) {
+                pythonCommand = command;
+                available.add("python");
+                break;
+            }
+        }
+
+        this.languages = Set.copyOf(available);
+        log.info("채점 가능 언어: {} (python 명령: {})", languages, pythonCommand);
+    }
+
+    /**
+     * 테스트케이스를 실제로 실행해서 채점할 수 있는 언어인지 (소문자 기준)
+     */
+    public boolean supports(String language) {
+        return languages.contains(language);
+    }
+
+    public String getPythonCommand() {
+        return pythonCommand;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private boolean runs(List<String> command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            log.warn("채점 도구를 찾을 수 없습니다: {}", command.get(0));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
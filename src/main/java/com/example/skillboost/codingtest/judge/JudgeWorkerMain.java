@@ -0,0 +1,401 @@
+package com.example.skillboost.codingtest.judge;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ReflectPermission;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.Permission;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TimeZone;
+
+/**
+ * 미리 띄워두는 Java 채점 워커 JVM의 진입점.
+ *
+ * JavaWorkerPool이 이 클래스와 JudgeWorkerOutput 클래스 파일만 별도 디렉토리로 복사해서 `java -cp <dir>` 로 실행한다.
+ * 그래서 JDK 이외의 의존성(Spring, Lombok)이나 내부/익명 클래스를 두면 안 된다.
+ *
+ * 실행 인자: 제어 소켓 경로, 원시 stdin 파일, 원시 stdout 파일
+ *
+ * 프로토콜은 부모가 연 Unix 도메인 소켓(제어 채널) 위의 Data 스트림으로 주고받는다.
+ * 워커의 fd 0/1 은 사용자 코드 몫이라 `new FileOutputStream(FileDescriptor.out)` 같은 직접 쓰기가 프로토콜을 깨지 않는다.
+ * fd 0 은 실행마다 입력을 써 두는 파일, fd 1 은 추가 모드 파일이며, 실행이 끝나면 fd 1 에 쌓인 내용을
+ * System.out 출력 뒤에 이어서 STDOUT 프레임으로 보내고 비운다.
+ *
+ * 프로토콜
+ *  - 기동 완료: int READY
+ *  - 요청: UTF classDir, long outputLimit, long cpuLimitNanos, int inputLength, byte[] input
+ *  - 응답: 실행 중 int FRAME_STDOUT, int length, byte[] stdout 을 0번 이상 (사용자 출력을 그때그때 흘려보냄),
+ *          끝나면 int FRAME_RESULT, int status, int exitCode, long elapsedNanos, long cpuNanos,
+ *          long peakHeapBytes, int stderrLength, byte[] stderr, boolean healthy
+ *  부모는 STDOUT 프레임을 받는 대로 정답과 비교하고, 틀린 순간 워커를 종료한다.
+ *
+ * CPU 시간은 워커 프로세스 전체 기준이다 (제출 코드가 띄운 스레드 포함). 실행 중 cpuLimitNanos 를 넘으면
+ * 감시 스레드가 STATUS_TIME_LIMIT 결과를 보내고 워커를 바로 내린다 (실행 중인 사용자 코드를 멈출 방법이 없으므로).
+ *
+ * 제출 코드는 같은 JVM 안에서 돌기 때문에, 제출 코드가 호출한 경우에는 워커 상태를 건드릴 수 있는 권한
+ * (private 멤버 리플렉션, System.setOut, SecurityManager 교체 등)을 거부한다.
+ * Locale/TimeZone/System 프로퍼티처럼 JVM 전역 상태를 바꾼 실행 뒤에는 워커를 교체하게 한다.
+ */
+@SuppressWarnings("removal")
+public final class JudgeWorkerMain extends SecurityManager {
+
+    static final int READY = 0x4A57524B;
+    static final int FRAME_STDOUT = 1;
+    static final int FRAME_RESULT = 2;
+    static final int STATUS_OK = 0;
+    static final int STATUS_RUNTIME_ERROR = 1;
+    static final int STATUS_OUTPUT_LIMIT = 2;
+    static final int STATUS_MEMORY_LIMIT = 3;
+    static final int STATUS_TIME_LIMIT = 4;
+
+    private static final String EXIT_MARKER = "judge-worker-exit:";
+    private static final long WATCHDOG_INTERVAL_MILLIS = 10;
+
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+
+    // 제출 코드가 호출 경로에 있으면 거부하는 권한 (RuntimePermission / ReflectPermission 이름)
+    private static final Set<String> DENIED_PERMISSIONS = Set.of(
+            "suppressAccessChecks",
+            "accessDeclaredMembers",
+            "setSecurityManager",
+            "createSecurityManager",
+            "setIO",
+            "createClassLoader",
+            "setContextClassLoader",
+            "setDefaultUncaughtExceptionHandler"
+    );
+
+    // 현재(또는 마지막) 실행의 제출 코드 클래스로더
+    private static volatile ClassLoader submissionLoader;
+
+    // 감시 스레드와 공유하는 현재 실행 상태 (결과 채널 out 의 락으로 보호)
+    private static DataOutputStream channel;
+    private static Path rawStdout;
+    private static boolean armed;
+    private static long cpuStart;
+    private static long cpuLimitNanos;
+    private static long outputLimitBytes;
+    private static long runStart;
+
+    // 사용자 코드의 System.exit()가 워커 JVM을 내리지 않도록 예외로 바꾼다
+    @Override
+    public void checkExit(int status) {
+        throw new SecurityException(EXIT_MARKER + status);
+    }
+
+    @Override
+    public void checkPermission(Permission perm) {
+        if (isDenied(perm) && calledBySubmission()) {
+            throw new SecurityException("채점 코드에서 허용되지 않는 작업입니다: " + perm);
+        }
+    }
+
+    @Override
+    public void checkPermission(Permission perm, Object context) {
+        checkPermission(perm);
+    }
+
+    public static void main(String[] args) throws IOException {
+        SocketChannel control = SocketChannel.open(UnixDomainSocketAddress.of(args[0]));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(control)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(control)));
+        Path rawStdin = Path.of(args[1]);
+        rawStdout = Path.of(args[2]);
+        FileChannel stdinChannel = new FileInputStream(FileDescriptor.in).getChannel();
+
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+
+        installExitTrap();
+        warmUp();
+        channel = out;
+        startWatchdog();
+
+        out.writeInt(READY);
+        out.flush();
+
+        while (true) {
+            String classDir;
+            try {
+                classDir = in.readUTF();
+            } catch (EOFException e) {
+                return; // 부모 프로세스가 파이프를 닫음 → 종료
+            }
+            long outputLimit = in.readLong();
+            long cpuLimit = in.readLong();
+            byte[] input = new byte[in.readInt()];
+            in.readFully(input);
+
+            JudgeWorkerOutput capturedOut = new JudgeWorkerOutput(out, outputLimit);
+            ByteArrayOutputStream capturedErr = new ByteArrayOutputStream();
+            int baselineThreads = Thread.activeCount();
+            int status = STATUS_OK;
+            int exitCode = 0;
+            boolean healthy = true;
+
+            // 이전 실행의 garbage가 최대 힙 측정에 섞이지 않도록 정리 후 peak 초기화
+            System.gc();
+            resetHeapPeaks();
+
+            Locale localeBefore = Locale.getDefault();
+            TimeZone timeZoneBefore = TimeZone.getDefault();
+            Properties propertiesBefore = (Properties) System.getProperties().clone();
+
+            // FileDescriptor.in 을 직접 읽는 코드도 같은 입력을 처음부터 읽게 한다
+            Files.write(rawStdin, input);
+            stdinChannel.position(0);
+            truncate(rawStdout);
+
+            System.setIn(new ByteArrayInputStream(input));
+            System.setOut(new PrintStream(capturedOut, false, StandardCharsets.UTF_8));
+            System.setErr(new PrintStream(capturedErr, true, StandardCharsets.UTF_8));
+
+            long start = System.nanoTime();
+            synchronized (out) {
+                runStart = start;
+                cpuStart = processCpuNanos();
+                cpuLimitNanos = cpuLimit;
+                outputLimitBytes = outputLimit;
+                armed = true;
+            }
+            try (URLClassLoader loader = new URLClassLoader(
+                    new URL[]{Path.of(classDir).toUri().toURL()},
+                    ClassLoader.getPlatformClassLoader())) {
+                submissionLoader = loader;
+                Method entry = Class.forName("Main", true, loader).getMethod("main", String[].class);
+                entry.invoke(null, (Object) new String[0]);
+            } catch (Throwable t) {
+                Throwable cause = t instanceof InvocationTargetException && t.getCause() != null ? t.getCause() : t;
+                Integer trapped = trappedExitCode(cause);
+                if (trapped != null) {
+                    exitCode = trapped;
+                } else {
+                    exitCode = 1;
+                    cause.printStackTrace();
+                }
+                status = exitCode == 0 ? STATUS_OK : STATUS_RUNTIME_ERROR;
+                // OOM / StackOverflow 이후의 JVM 상태는 믿지 않는다
+                if (cause instanceof VirtualMachineError) {
+                    healthy = false;
+                }
+                if (cause instanceof OutOfMemoryError) {
+                    status = STATUS_MEMORY_LIMIT;
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            long cpuNanos;
+            synchronized (out) {
+                armed = false;
+                cpuNanos = processCpuNanos() - cpuStart;
+            }
+            long peakHeapBytes = heapPeak();
+
+            try {
+                System.out.flush();
+                System.err.flush();
+                forwardRawStdout(capturedOut);
+                capturedOut.flush();
+            } catch (RuntimeException e) {
+                // 출력 제한을 넘긴 뒤 PrintStream에 남아 있던 버퍼
+            }
+            if (capturedOut.isExceeded()) {
+                status = STATUS_OUTPUT_LIMIT;
+            }
+
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+
+            // 사용자 코드가 띄운 스레드가 남아 있으면 누수로 보고 워커를 교체하게 한다
+            if (Thread.activeCount() > baselineThreads) {
+                healthy = false;
+            }
+            // JVM 전역 기본값을 바꿨으면 다음 제출에 새어 나가지 않도록 교체
+            if (!Locale.getDefault().equals(localeBefore)
+                    || !TimeZone.getDefault().equals(timeZoneBefore)
+                    || !System.getProperties().equals(propertiesBefore)) {
+                healthy = false;
+            }
+
+            writeResult(out, status, exitCode, elapsedNanos, cpuNanos, peakHeapBytes,
+                    capturedErr.toByteArray(), healthy);
+        }
+    }
+
+    // fd 1 에 직접 쓴 출력 (System.out 을 거치지 않은 것)을 STDOUT 프레임으로 이어 보낸다
+    private static void forwardRawStdout(JudgeWorkerOutput target) throws IOException {
+        try (InputStream raw = Files.newInputStream(rawStdout)) {
+            raw.transferTo(target);
+        }
+    }
+
+    // fd 1 은 추가 모드로 열려 있으므로 길이를 0 으로 줄이면 다음 쓰기는 파일 처음부터 들어간다
+    private static void truncate(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, int status, int exitCode, long elapsedNanos,
+                                    long cpuNanos, long peakHeapBytes, byte[] stderr, boolean healthy)
+            throws IOException {
+        synchronized (out) {
+            out.writeInt(FRAME_RESULT);
+            out.writeInt(status);
+            out.writeInt(exitCode);
+            out.writeLong(elapsedNanos);
+            out.writeLong(cpuNanos);
+            out.writeLong(peakHeapBytes);
+            out.writeInt(stderr.length);
+            out.write(stderr);
+            out.writeBoolean(healthy);
+            out.flush();
+        }
+    }
+
+    // 워커 JVM 전체의 CPU 시간. 제출 코드가 만든 스레드(이미 끝난 것 포함)까지 들어간다
+    private static long processCpuNanos() {
+        if (OS instanceof com.sun.management.OperatingSystemMXBean os) {
+            long nanos = os.getProcessCpuTime();
+            if (nanos >= 0) return nanos;
+        }
+        return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+
+    /**
+     * 실행 중 CPU 제한(또는 fd 1 직접 출력의 출력 제한)을 넘으면 결과를 보내고 워커를 내린다.
+     * 제한을 넘긴 코드가 끝날 때까지 기다리지 않으므로 부모의 벽시계 제한보다 먼저 판정된다.
+     */
+    private static void startWatchdog() {
+        Thread watchdog = new Thread(JudgeWorkerMain::watch, "judge-worker-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    private static void watch() {
+        while (true) {
+            try {
+                Thread.sleep(WATCHDOG_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                // 제출 코드가 감시 스레드를 찾아 interrupt 해도 감시는 계속한다
+            }
+            synchronized (channel) {
+                if (!armed) continue;
+                long used = processCpuNanos() - cpuStart;
+                if (used > cpuLimitNanos) {
+                    abort(STATUS_TIME_LIMIT, used);
+                } else if (rawStdoutSize() > outputLimitBytes) {
+                    // fd 1 직접 쓰기는 JudgeWorkerOutput 이 세지 못하므로 파일 크기로 본다 (디스크 보호)
+                    abort(STATUS_OUTPUT_LIMIT, used);
+                }
+            }
+        }
+    }
+
+    private static void installExitTrap() {
+        try {
+            System.setSecurityManager(new JudgeWorkerMain());
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // SecurityManager를 쓸 수 없는 JVM이면 System.exit 시 워커가 죽고,
+            // 부모(JavaWorkerPool)가 일반 프로세스 실행으로 다시 돌린다.
+        }
+    }
+
+    private static void abort(int status, long cpuNanos) {
+        try {
+            writeResult(channel, status, 0, System.nanoTime() - runStart, cpuNanos, heapPeak(), new byte[0], false);
+        } catch (IOException e) {
+            // 부모가 이미 연결을 닫음
+        }
+        Runtime.getRuntime().halt(1);
+    }
+
+    private static boolean isDenied(Permission perm) {
+        return (perm instanceof RuntimePermission || perm instanceof ReflectPermission)
+                && DENIED_PERMISSIONS.contains(perm.getName());
+    }
+
+    /**
+     * 호출 스택에 제출 코드 클래스가 있는지 본다. doPrivileged 를 만나면 그 호출자까지만 본다
+     * (Enum.valueOf 처럼 JDK가 권한 블록 안에서 하는 리플렉션은 허용).
+     * getClassLoader() 는 getClassLoader 권한 검사를 다시 부르지만 거부 대상이 아니라 재귀하지 않는다.
+     */
+    private boolean calledBySubmission() {
+        ClassLoader loader = submissionLoader;
+        if (loader == null) return false;
+
+        Class<?>[] stack = getClassContext();
+        for (int i = 0; i < stack.length; i++) {
+            if (stack[i] == AccessController.class) {
+                while (i < stack.length && stack[i] == AccessController.class) i++;
+                return i < stack.length && stack[i].getClassLoader() == loader;
+            }
+            if (stack[i].getClassLoader() == loader) return true;
+        }
+        return false;
+    }
+
+    private static long rawStdoutSize() {
+        try {
+            return Files.size(rawStdout);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long heapPeak() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                total += pool.getPeakUsage().getUsed();
+            }
+        }
+        return total;
+    }
+
+    private static Integer trappedExitCode(Throwable t) {
+        for (Throwable cur = t; cur != null; cur = cur.getCause()) {
+            if (cur instanceof SecurityException
+                    && cur.getMessage() != null
+                    && cur.getMessage().startsWith(EXIT_MARKER)) {
+                return Integer.parseInt(cur.getMessage().substring(EXIT_MARKER.length()));
+            }
+        }
+        return null;
+    }
+
+    // 채점 코드에서 자주 쓰는 입출력 클래스를 미리 로딩해 둔다
+    private static void warmUp() throws IOException {
+        new java.util.Scanner("1 2\n").nextInt();
+        new BufferedReader(new StringReader("1\n")).readLine();
+        new StringTokenizer("1 2").nextToken();
+        new StringBuilder().append(1).append('\n').toString();
+        new java.util.PriorityQueue<Integer>().offer(1);
+        new java.util.ArrayDeque<Integer>().offer(1);
+    }
+}
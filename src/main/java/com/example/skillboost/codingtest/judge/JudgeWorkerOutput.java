@@ -0,0 +1,75 @@
+package com.example.skillboost.codingtest.judge;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 워커 JVM 안의 사용자 stdout. 모아 두지 않고 FRAME_SIZE 단위 STDOUT 프레임으로 부모에게 바로 흘려보내므로
+ * 실행당 메모리는 프레임 버퍼 하나로 고정된다. 출력 제한을 넘으면 즉시 예외로 실행을 끊는다.
+ * JudgeWorkerMain과 함께 워커 클래스패스로 복사되므로 JDK 외 의존성을 두면 안 된다.
+ */
+final class JudgeWorkerOutput extends OutputStream {
+
+    static final int FRAME_SIZE = 8192;
+
+    private final DataOutputStream channel;
+    private final long limit;
+    private final byte[] buffer = new byte[FRAME_SIZE];
+    private int count;
+    private long written;
+    private boolean exceeded;
+
+    JudgeWorkerOutput(DataOutputStream channel, long limit) {
+        this.channel = channel;
+        this.limit = limit;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        ensureCapacity(1);
+        if (count == buffer.length) sendFrame();
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        ensureCapacity(len);
+        while (len > 0) {
+            if (count == buffer.length) sendFrame();
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    // 사용자 코드의 flush 마다 소켓까지 내보내지는 않는다 (프레임만 만들고 채널 버퍼에 맡김)
+    @Override
+    public synchronized void flush() throws IOException {
+        sendFrame();
+    }
+
+    synchronized boolean isExceeded() {
+        return exceeded;
+    }
+
+    private void sendFrame() throws IOException {
+        if (count == 0) return;
+        synchronized (channel) {
+            channel.writeInt(JudgeWorkerMain.FRAME_STDOUT);
+            channel.writeInt(count);
+            channel.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+    private void ensureCapacity(int len) {
+        if (written + len > limit) {
+            exceeded = true;
+            throw new IllegalStateException("Output Limit Exceeded");
+        }
+        written += len;
+    }
+}
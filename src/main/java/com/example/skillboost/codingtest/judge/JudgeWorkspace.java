@@ -0,0 +1,63 @@
+package com.example.skillboost.codingtest.judge;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 채점 한 건이 쓰는 작업 디렉토리. JudgeWorkspaceManager에서 빌려 쓰고 close()로 반납한다.
+ */
+public class JudgeWorkspace implements AutoCloseable {
+
+    @Getter
+    private final Path dir;
+
+    private final JudgeWorkspaceManager manager;
+    private final boolean pooled;
+    private boolean closed;
+
+    JudgeWorkspace(Path dir, JudgeWorkspaceManager manager, boolean pooled) {
+        this.dir = dir;
+        this.manager = manager;
+        this.pooled = pooled;
+    }
+
+    public Path write(String relativePath, String content) throws IOException {
+        return write(relativePath, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * FileChannel로 한 번에 쓴다 (Writer/버퍼 스트림 계층 없이).
+     */
+    public Path write(String relativePath, byte[] content) throws IOException {
+        Path target = dir.resolve(relativePath);
+        if (!target.getParent().equals(dir)) {
+            Files.createDirectories(target.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return target;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        manager.release(this);
+    }
+}
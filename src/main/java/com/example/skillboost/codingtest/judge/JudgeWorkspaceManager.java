@@ -0,0 +1,128 @@
+package com.example.skillboost.codingtest.judge;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+
+/**
+ * 채점용 작업 디렉토리 풀.
+ *
+ * 기동 시 judge.workspace.root 아래에 디렉토리를 미리 만들어 두고 빌려준다.
+ * 반납된 디렉토리는 채점 스레드가 아닌 백그라운드 스레드에서 내용을 한꺼번에 비운 뒤 다시 풀에 넣으므로,
+ * 채점 경로에는 디렉토리 생성/삭제 비용이 없다.
+ * root는 RAM 기반 마운트(k8s emptyDir medium: Memory 등)를 가리키게 하는 것을 권장한다.
+ * C++ 실행 파일을 여기서 실행하므로 noexec 로 마운트된 곳(Docker 기본 /dev/shm 등)은 쓰면 안 된다.
+ */
+@Slf4j
+@Component
+public class JudgeWorkspaceManager {
+
+    @Value("${judge.workspace.root:${java.io.tmpdir}/skillboost-judge}")
+    private String root;
+
+    @Value("${judge.workspace.pool-size:16}")
+    private int poolSize;
+
+    private final BlockingQueue<Path> idle = new LinkedBlockingQueue<>();
+    private final ExecutorService resetExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 같은 root를 쓰는 다른 인스턴스와 겹치지 않도록 프로세스별 하위 디렉토리 사용
+    private Path home;
+
+    @PostConstruct
+    public void init() throws IOException {
+        home = Path.of(root, "pool-" + ProcessHandle.current().pid());
+        deleteRecursively(home); // 같은 pid로 남은 이전 실행의 잔여물
+        Files.createDirectories(home);
+        for (int i = 0; i < poolSize; i++) {
+            idle.offer(Files.createDirectory(home.resolve("ws-" + i)));
+        }
+        log.info("채점 작업 디렉토리 풀 준비 완료: {} ({}개)", home, poolSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resetExecutor.shutdownNow();
+        deleteRecursively(home);
+    }
+
+    /**
+     * 빈 작업 디렉토리를 빌려준다. 풀이 비어 있으면 일회용 디렉토리를 새로 만든다.
+     */
+    public JudgeWorkspace acquire() {
+        Path dir = idle.poll();
+        if (dir != null) {
+            return new JudgeWorkspace(dir, this, true);
+        }
+        try {
+            return new JudgeWorkspace(Files.createDirectories(home.resolve("tmp-" + UUID.randomUUID())), this, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void release(JudgeWorkspace workspace) {
+        Path dir = workspace.getDir();
+        Runnable reset = workspace.isPooled() ? () -> recycle(dir) : () -> deleteRecursively(dir);
+        try {
+            resetExecutor.execute(reset);
+        } catch (RuntimeException e) {
+            // 종료 중 - 정리는 shutdown()에서 root째로
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void recycle(Path dir) {
+        try {
+            clear(dir);
+            idle.offer(dir);
+        } catch (IOException e) {
+            // 지워지지 않는 파일이 남았으면 디렉토리를 버리고 새로 만든다
+            log.warn("작업 디렉토리 초기화 실패, 새로 생성합니다: {}", dir, e);
+            deleteRecursively(dir);
+            try {
+                idle.offer(Files.createDirectories(dir));
+            } catch (IOException ex) {
+                log.error("작업 디렉토리 재생성 실패: {}", dir, ex);
+            }
+        }
+    }
+
+    // 디렉토리 자체는 남기고 내용만 비운다
+    private void clear(Path dir) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            entries = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path entry : entries) {
+            if (!entry.equals(dir)) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    private void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir)) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
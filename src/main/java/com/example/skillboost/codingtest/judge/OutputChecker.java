@@ -0,0 +1,166 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.OutputCompareMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 프로세스 stdout을 읽는 즉시 기대 출력과 토큰 단위로 비교하는 체커.
+ *
+ * 출력 전체를 메모리에 모으지 않으므로 실행당 메모리는 버퍼 + 현재 토큰 크기로 고정되고,
+ * 첫 불일치나 출력 제한 초과 시점에 바로 결과를 돌려주어 호출 측이 프로세스를 종료할 수 있다.
+ * 프로세스 stdout 은 check(InputStream), Java 워커가 보내는 출력 조각은 feed/finish 로 넣는다.
+ * 한 번의 실행에만 사용한다 (상태를 가짐).
+ */
+public class OutputChecker {
+
+    public enum Outcome {
+        MATCH,
+        MISMATCH,
+        OUTPUT_LIMIT_EXCEEDED
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    // FLOAT_TOLERANCE 에서 "0.5" vs "0.50000000001" 처럼 기대 토큰보다 길게 출력하는 경우 허용폭
+    private static final int TOKEN_SLACK = 64;
+
+    private final byte[] expected;
+    private final OutputCompareMode mode;
+    private final double epsilon;
+    private final long outputLimit;
+    private final int maxTokenLength;
+
+    private int expectedPos;
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private long total;
+
+    public OutputChecker(String expected, OutputCompareMode mode, double epsilon, long outputLimit) {
+        this.expected = (expected != null ? expected : "").getBytes(StandardCharsets.UTF_8);
+        this.mode = mode != null ? mode : OutputCompareMode.TOKENS;
+        this.epsilon = epsilon;
+        this.outputLimit = outputLimit;
+        this.maxTokenLength = longestExpectedToken() + TOKEN_SLACK;
+    }
+
+    public Outcome check(InputStream stdout) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+
+        while ((n = stdout.read(buffer)) != -1) {
+            Outcome early = feed(buffer, 0, n);
+            if (early != null) {
+                return early;
+            }
+        }
+        return finish();
+    }
+
+    /**
+     * 출력 조각 하나를 이어서 비교한다. 토큰이 조각 경계에 걸쳐 있어도 된다.
+     * @return 불일치/출력 초과가 확정되면 그 결과, 아직 판단할 수 없으면 null
+     */
+    public Outcome feed(byte[] chunk, int offset, int length) {
+        total += length;
+        if (total > outputLimit) {
+            return Outcome.OUTPUT_LIMIT_EXCEEDED;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            byte b = chunk[i];
+            if (isWhitespace(b)) {
+                if (tokenLength > 0 && !matchNextToken()) {
+                    return Outcome.MISMATCH;
+                }
+            } else {
+                if (tokenLength == maxTokenLength) {
+                    return Outcome.MISMATCH; // 기대 출력에 이렇게 긴 토큰은 없다
+                }
+                appendToToken(b);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 출력이 끝났을 때의 최종 결과
+     */
+    public Outcome finish() {
+        if (tokenLength > 0 && !matchNextToken()) {
+            return Outcome.MISMATCH;
+        }
+        // 기대 출력에 토큰이 남아 있으면 출력이 모자란 것
+        return skipWhitespace(expectedPos) == expected.length ? Outcome.MATCH : Outcome.MISMATCH;
+    }
+
+    /**
+     * 처음부터 다시 비교한다 (워커 실행이 중간에 실패해 새 프로세스로 다시 돌릴 때)
+     */
+    public void reset() {
+        expectedPos = 0;
+        tokenLength = 0;
+        total = 0;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private boolean matchNextToken() {
+        int start = skipWhitespace(expectedPos);
+        int end = start;
+        while (end < expected.length && !isWhitespace(expected[end])) end++;
+
+        int actualLength = tokenLength;
+        tokenLength = 0;
+        expectedPos = end;
+
+        if (start == end) {
+            return false; // 기대 출력보다 더 많이 출력함
+        }
+        if (Arrays.equals(token, 0, actualLength, expected, start, end)) {
+            return true;
+        }
+        return mode == OutputCompareMode.FLOAT_TOLERANCE && floatEquals(start, end, actualLength);
+    }
+
+    private boolean floatEquals(int start, int end, int actualLength) {
+        try {
+            double want = Double.parseDouble(new String(expected, start, end - start, StandardCharsets.US_ASCII));
+            double got = Double.parseDouble(new String(token, 0, actualLength, StandardCharsets.US_ASCII));
+            if (Double.isNaN(want) || Double.isNaN(got)) return false;
+            return Math.abs(want - got) <= epsilon * Math.max(1.0, Math.abs(want));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void appendToToken(byte b) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, Math.min(token.length * 2, maxTokenLength));
+        }
+        token[tokenLength++] = b;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < expected.length && isWhitespace(expected[pos])) pos++;
+        return pos;
+    }
+
+    private int longestExpectedToken() {
+        int longest = 0;
+        int current = 0;
+        for (byte b : expected) {
+            if (isWhitespace(b)) {
+                current = 0;
+            } else {
+                longest = Math.max(longest, ++current);
+            }
+        }
+        return longest;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+}
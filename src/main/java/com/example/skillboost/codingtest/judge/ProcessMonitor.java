@@ -0,0 +1,250 @@
+package com.example.skillboost.codingtest.judge;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채점 프로세스의 CPU 시간(user + sys)과 최대 RSS를 주기적으로 측정하고,
+ * 제한을 넘는 순간 프로세스를 종료한다.
+ *
+ * Linux에서는 /proc/[pid]/stat, /proc/[pid]/status(VmHWM)를 읽고,
+ * 그 외 OS에서는 ProcessHandle의 CPU 시간만 측정한다 (메모리는 0).
+ *
+ * 종료된 자식은 JDK가 바로 회수(reap)해서 /proc 이 사라지므로, 샘플링만으로는 마지막 구간(최대 10ms)의
+ * CPU 시간을 놓친다. 그래서 Linux에서는 명령을 sh 로 감싸 자식이 끝난 뒤 셸의 `times`(회수한 자식의
+ * 누적 CPU 시간)를 파일로 남기게 하고, close() 에서 그 값을 최종 CPU 시간으로 반영한다.
+ */
+class ProcessMonitor implements AutoCloseable {
+
+    enum Violation {
+        NONE,
+        CPU_TIME,
+        MEMORY
+    }
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+    // 강제 종료한 프로세스가 실제로 사라질 때까지 기다리는 최대 시간
+    private static final long EXIT_WAIT_MILLIS = 5_000;
+    // USER_HZ - 사실상 모든 Linux 배포판에서 100
+    private static final long NANOS_PER_CLOCK_TICK = 1_000_000_000L / 100;
+    private static final boolean PROC_AVAILABLE = Files.isDirectory(Path.of("/proc/self"));
+
+    // 자식이 끝나면 종료 코드를 보존한 채 자식의 CPU 시간을 파일에 남긴다
+    private static final String CPU_WRAPPER = "\"$@\"; code=$?; times > \"$JUDGE_CPU_FILE\"; exit $code";
+    // times 출력 두 번째 줄: "<자식 user> <자식 sys>" (예: 0m1.230s 0m0.040s)
+    private static final Pattern TIMES_VALUE = Pattern.compile("(\\d+)m([\\d.]+)s");
+
+    private final Process process;
+    private final JudgeSpec spec;
+    private final Path cpuFile;
+    private final ScheduledFuture<?> sampling;
+
+    private ProcessHandle target;
+    private Path procDir;
+    private boolean closed;
+
+    private volatile long cpuNanos;
+    private volatile long peakMemoryBytes;
+    private volatile Violation violation = Violation.NONE;
+
+    private ProcessMonitor(Process process, JudgeSpec spec, Path cpuFile, ScheduledExecutorService scheduler) {
+        this.process = process;
+        this.spec = spec;
+        this.cpuFile = cpuFile;
+        // 감싸지 않은 경우에만 바로 대상이 정해진다 (감싼 경우는 sh 의 자식이 뜨면 그쪽을 잰다)
+        if (cpuFile == null) {
+            this.target = process.toHandle();
+            Path proc = Path.of("/proc", String.valueOf(process.pid()));
+            this.procDir = Files.isDirectory(proc) ? proc : null;
+        }
+        this.sampling = scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * pb 의 명령을 (Linux면 CPU 시간 기록용 sh 로 감싸서) 실행하고 측정을 시작한다.
+     */
+    static ProcessMonitor start(ProcessBuilder pb, JudgeSpec spec, ScheduledExecutorService scheduler)
+            throws IOException {
+        if (!PROC_AVAILABLE) {
+            return new ProcessMonitor(pb.start(), spec, null, scheduler);
+        }
+
+        Path cpuFile = Files.createTempFile("judge-cpu", ".txt");
+        List<String> wrapped = new ArrayList<>(List.of("sh", "-c", CPU_WRAPPER, "judge"));
+        wrapped.addAll(pb.command());
+        pb.command(wrapped);
+        pb.environment().put("JUDGE_CPU_FILE", cpuFile.toString());
+        try {
+            return new ProcessMonitor(pb.start(), spec, cpuFile, scheduler);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(cpuFile);
+            throw e;
+        }
+    }
+
+    Process getProcess() {
+        return process;
+    }
+
+    long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    long getPeakMemoryBytes() {
+        return peakMemoryBytes;
+    }
+
+    Violation getViolation() {
+        return violation;
+    }
+
+    /**
+     * 감싼 sh 만 죽이면 실제 프로그램은 고아로 남아 stdout 파이프를 붙잡고 있으므로 자손까지 종료한다.
+     */
+    void destroy() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * destroy() 후 프로세스와 자손이 실제로 끝날 때까지 기다린다.
+     * 작업 디렉토리를 반납(재사용)하기 전에 죽어 가는 프로세스가 남아 있지 않게 하기 위함.
+     */
+    void destroyAndWait() {
+        List<ProcessHandle> descendants = process.descendants().toList();
+        destroy();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(EXIT_WAIT_MILLIS);
+        boolean interrupted = Thread.interrupted();
+        try {
+            process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            for (ProcessHandle handle : descendants) {
+                handle.onExit().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } catch (ExecutionException | TimeoutException e) {
+            // 제한 시간 안에 끝나지 않음 - 더 기다리지 않는다
+        } finally {
+            // 취소로 들어온 인터럽트는 호출 측이 볼 수 있게 되살린다
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 측정 중단. 마지막 값을 한 번 더 읽고, 정상 종료했으면 기록된 최종 CPU 시간까지 반영해 제한을 다시 판정한다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        sampling.cancel(false);
+        sample();
+
+        if (cpuFile == null) return;
+        try {
+            if (!process.isAlive() && Files.size(cpuFile) > 0) {
+                updateCpu(parseChildCpu(Files.readAllLines(cpuFile)));
+                checkLimits();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 강제 종료되어 기록이 없음 - 샘플링 값 유지
+        } finally {
+            try {
+                Files.deleteIfExists(cpuFile);
+            } catch (IOException e) {
+                // 임시 파일 정리 실패는 무시
+            }
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private synchronized void sample() {
+        try {
+            if (target == null) {
+                findTarget();
+            }
+            if (procDir != null) {
+                sampleProc();
+            } else if (target != null) {
+                target.info().totalCpuDuration()
+                        .map(Duration::toNanos)
+                        .ifPresent(this::updateCpu);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 프로세스가 이미 정리됨 - 마지막 측정값 유지
+        }
+
+        checkLimits();
+    }
+
+    private void findTarget() {
+        process.toHandle().children().findFirst().ifPresent(child -> {
+            target = child;
+            Path proc = Path.of("/proc", String.valueOf(child.pid()));
+            procDir = Files.isDirectory(proc) ? proc : null;
+        });
+    }
+
+    private void checkLimits() {
+        // 종료 직후 마지막 측정에서 넘은 경우도 판정에 반영 (이미 종료된 프로세스의 destroy는 무시됨)
+        if (violation != Violation.NONE) return;
+
+        if (cpuNanos > TimeUnit.MILLISECONDS.toNanos(spec.getTimeLimitMillis())) {
+            violation = Violation.CPU_TIME;
+            destroy();
+        } else if (peakMemoryBytes > spec.getMemoryLimitBytes()) {
+            violation = Violation.MEMORY;
+            destroy();
+        }
+    }
+
+    private void sampleProc() throws IOException {
+        // stat: "pid (comm) state ... utime(14) stime(15) ..." - comm에 공백이 있을 수 있어 ')' 뒤부터 자른다
+        String stat = Files.readString(procDir.resolve("stat"));
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+        long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        updateCpu(ticks * NANOS_PER_CLOCK_TICK);
+
+        List<String> status = Files.readAllLines(procDir.resolve("status"));
+        for (String line : status) {
+            if (line.startsWith("VmHWM:")) {
+                long kb = Long.parseLong(line.substring(6).trim().split("\\s+")[0]);
+                peakMemoryBytes = Math.max(peakMemoryBytes, kb * 1024);
+                break;
+            }
+        }
+    }
+
+    // times 출력: 첫 줄은 셸 자신, 둘째 줄은 회수한 자식들의 user / sys 시간
+    static long parseChildCpu(List<String> times) {
+        if (times.size() < 2) throw new IllegalArgumentException("times 출력 형식이 아닙니다: " + times);
+        Matcher matcher = TIMES_VALUE.matcher(times.get(1));
+        long nanos = 0;
+        int values = 0;
+        while (matcher.find()) {
+            long minutes = Long.parseLong(matcher.group(1));
+            double seconds = Double.parseDouble(matcher.group(2));
+            nanos += TimeUnit.MINUTES.toNanos(minutes) + (long) (seconds * 1_000_000_000L);
+            values++;
+        }
+        if (values != 2) throw new IllegalArgumentException("times 출력 형식이 아닙니다: " + times);
+        return nanos;
+    }
+
+    private void updateCpu(long nanos) {
+        cpuNanos = Math.max(cpuNanos, nanos);
+    }
+}
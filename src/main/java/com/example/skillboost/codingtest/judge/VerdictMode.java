@@ -0,0 +1,6 @@
+package com.example.skillboost.codingtest.judge;
+
+public enum VerdictMode {
+    STOP_ON_FIRST_FAILURE,  // 하나라도 틀리면 나머지 케이스는 취소 (최종 판정만 필요할 때)
+    RUN_ALL                 // 모든 케이스 실행 (부분 점수/통과 개수가 필요할 때)
+}
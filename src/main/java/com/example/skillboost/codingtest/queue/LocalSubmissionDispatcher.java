@@ -0,0 +1,88 @@
+package com.example.skillboost.codingtest.queue;
+
+import com.example.skillboost.codingtest.domain.CodingSubmission;
+import com.example.skillboost.codingtest.repository.CodingSubmissionRepository;
+import com.example.skillboost.codingtest.service.SubmissionEventBroadcaster;
+import com.example.skillboost.codingtest.service.SubmissionProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 프로세스 안의 고정 크기 스레드 풀에서 채점한다.
+ * 실행 중 + 대기 중 제출 수가 workers + capacity 를 넘으면 새 제출을 받지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.dispatch.mode", havingValue = "local", matchIfMissing = true)
+public class LocalSubmissionDispatcher implements SubmissionDispatcher {
+
+    private final SubmissionProcessor processor;
+    private final SubmissionEventBroadcaster broadcaster;
+    private final CodingSubmissionRepository submissionRepository;
+
+    @Value("${judge.queue.workers:4}")
+    private int workers;
+
+    @Value("${judge.queue.capacity:100}")
+    private int capacity;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore slots;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                r -> new Thread(r, "grading-" + sequence.incrementAndGet()));
+        slots = new Semaphore(workers + capacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean dispatch(Long submissionId) {
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    processor.process(submissionId, (result, last) -> broadcaster.publish(submissionId, result, last));
+                } finally {
+                    slots.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            return false;
+        }
+    }
+
+    /**
+     * 재시작 전에 끝나지 못한 제출을 다시 대기열에 넣는다. 자리가 없으면 오류로 마감.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverUnfinished() {
+        for (CodingSubmission submission : submissionRepository.findByStatusIn(SubmissionProcessor.inProgressStatuses())) {
+            if (!dispatch(submission.getId())) {
+                processor.fail(submission.getId(), "서버 재시작으로 채점이 취소되었습니다. 다시 제출해 주세요.",
+                        (result, last) -> {});
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.skillboost.codingtest.queue;
+
+import com.example.skillboost.codingtest.service.SubmissionProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * judge-worker 인스턴스에서 Redis Stream 의 제출을 consumer group 으로 가져와 채점한다.
+ *
+ * - 채점이 끝나면 XACK 후 XDEL (스트림 길이 = 남은 제출 수)
+ * - 워커가 죽어서 ack 되지 못한 메시지는 claim-idle-ms 가 지나면 다른 워커가 XCLAIM 으로 가져가
+ *   일반 consumer 들이 새 메시지보다 먼저 다시 채점 (동시 채점 수는 judge.queue.workers 그대로)
+ * - max-deliveries 번 넘게 전달된 메시지는 dead-letter 스트림으로 옮기고 제출을 오류로 마감
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${judge.dispatch.mode:local}' == 'redis' && ${judge.dispatch.consume:true}")
+public class RedisJudgeWorker {
+
+    private static final Duration READ_BLOCK = Duration.ofSeconds(2);
+    private static final long RECLAIM_INTERVAL_SECONDS = 30;
+    private static final int RECLAIM_BATCH = 20;
+
+    private final StringRedisTemplate redisTemplate;
+    private final SubmissionProcessor processor;
+    private final RedisSubmissionDispatcher dispatcher;
+
+    @Value("${judge.dispatch.stream:judge:submissions}")
+    private String stream;
+
+    @Value("${judge.dispatch.dead-letter-stream:judge:submissions:dlq}")
+    private String deadLetterStream;
+
+    @Value("${judge.dispatch.group:judge-workers}")
+    private String group;
+
+    @Value("${judge.dispatch.claim-idle-ms:120000}")
+    private long claimIdleMs;
+
+    @Value("${judge.dispatch.max-deliveries:3}")
+    private int maxDeliveries;
+
+    @Value("${judge.queue.workers:4}")
+    private int workers;
+
+    private final ExecutorService consumers = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService reclaimer = Executors.newSingleThreadScheduledExecutor();
+    // 회수한 메시지. consumer 가 스트림을 읽기 전에 먼저 가져간다
+    private final BlockingQueue<MapRecord<String, String, String>> reclaimed = new LinkedBlockingQueue<>();
+    // 이 인스턴스가 처리 중이거나 처리 대기 중인 메시지 (다시 회수하지 않음)
+    private final Set<RecordId> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private String consumerPrefix;
+
+    @PostConstruct
+    public void init() {
+        createGroup();
+        consumerPrefix = hostName() + "-" + ProcessHandle.current().pid();
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Consumer consumer = Consumer.from(group, consumerPrefix + "-" + i);
+            consumers.execute(() -> consumeLoop(consumer));
+        }
+        reclaimer.scheduleWithFixedDelay(this::reclaimStale,
+                RECLAIM_INTERVAL_SECONDS, RECLAIM_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        log.info("Redis 채점 워커 시작: stream={}, group={}, consumers={}", stream, group, workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        reclaimer.shutdownNow();
+        consumers.shutdownNow();
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void consumeLoop(Consumer consumer) {
+        StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+        while (running) {
+            try {
+                MapRecord<String, String, String> retry = reclaimed.poll();
+                if (retry != null) {
+                    handleTracked(retry);
+                    continue;
+                }
+                List<MapRecord<String, String, String>> records = readNext(ops, consumer);
+                if (records == null) continue;
+                for (MapRecord<String, String, String> record : records) {
+                    inFlight.add(record.getId());
+                    handleTracked(record);
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                log.warn("채점 스트림 읽기 실패, 잠시 후 재시도합니다.", e);
+                sleepQuietly(READ_BLOCK);
+                createGroup(); // 기동 시 Redis가 없었거나 스트림이 지워진 경우 (NOGROUP)
+            }
+        }
+    }
+
+    // read 는 제네릭 가변 인자만 받는다. 만들어지는 배열은 이 호출 안에서만 쓰이므로 힙 오염이 없다
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, String, String>> readNext(StreamOperations<String, String, String> ops,
+                                                             Consumer consumer) {
+        return ops.read(consumer,
+                StreamReadOptions.empty().count(1).block(READ_BLOCK),
+                StreamOffset.create(stream, ReadOffset.lastConsumed()));
+    }
+
+    private void handleTracked(MapRecord<String, String, String> record) {
+        try {
+            handle(record);
+        } finally {
+            inFlight.remove(record.getId());
+        }
+    }
+
+    private void handle(MapRecord<String, String, String> record) {
+        Long submissionId = parseSubmissionId(record.getValue());
+        if (submissionId != null) {
+            // 예외가 나면 ack 하지 않고 둔다 → reclaimStale 에서 재시도 또는 DLQ
+            processor.process(submissionId,
+                    (result, last) -> dispatcher.publishStatus(submissionId, result, last));
+        }
+        acknowledge(record.getId());
+    }
+
+    /**
+     * 오래 ack 되지 않은 메시지(워커 장애)를 가져와 다시 처리 대기열에 넣거나 DLQ로 보낸다.
+     * pending 목록은 RECLAIM_BATCH 개씩 마지막으로 본 ID 다음부터 끝까지 훑는다
+     * (앞쪽의 아직 idle 이 짧은 메시지에 막혀 뒤쪽을 못 보는 일이 없도록).
+     */
+    private void reclaimStale() {
+        try {
+            StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+            Duration minIdle = Duration.ofMillis(claimIdleMs);
+            String consumerName = consumerPrefix + "-reclaim";
+            Range<String> range = Range.unbounded();
+
+            while (running) {
+                PendingMessages pending = ops.pending(stream, group, range, RECLAIM_BATCH);
+                for (PendingMessage message : pending) {
+                    if (!running) return;
+                    if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) continue;
+                    if (inFlight.contains(message.getId())) continue;
+
+                    List<MapRecord<String, String, String>> claimed =
+                            ops.claim(stream, group, consumerName, minIdle, message.getId());
+                    for (MapRecord<String, String, String> record : claimed) {
+                        // XCLAIM 이 전달 횟수를 1 올리므로 claim 전 횟수 + 1 이 이번 시도
+                        if (message.getTotalDeliveryCount() + 1 > maxDeliveries) {
+                            deadLetter(record, message.getTotalDeliveryCount());
+                        } else {
+                            log.info("미완료 채점 재시도: recordId={}, deliveries={}",
+                                    record.getId(), message.getTotalDeliveryCount());
+                            inFlight.add(record.getId());
+                            reclaimed.offer(record);
+                        }
+                    }
+                }
+                if (pending.size() < RECLAIM_BATCH) return;
+                range = Range.rightUnbounded(Range.Bound.inclusive(nextId(pending.get(pending.size() - 1).getId())));
+            }
+        } catch (Exception e) {
+            log.warn("미완료 채점 메시지 회수 실패", e);
+        }
+    }
+
+    // 스트림 ID 순서에서 바로 다음 ID (XPENDING 의 배타적 시작 "(" 는 Redis 6.2 이상에서만 지원)
+    private String nextId(RecordId id) {
+        return id.getTimestamp() + "-" + (id.getSequence() + 1);
+    }
+
+    private void deadLetter(MapRecord<String, String, String> record, long deliveries) {
+        Map<String, String> fields = new HashMap<>(record.getValue());
+        fields.put("originalId", record.getId().getValue());
+        fields.put("deliveries", String.valueOf(deliveries));
+        redisTemplate.opsForStream().add(StreamRecords.newRecord().in(deadLetterStream).ofMap(fields));
+
+        Long submissionId = parseSubmissionId(record.getValue());
+        if (submissionId != null) {
+            processor.fail(submissionId, "채점 서버 오류로 채점하지 못했습니다. 다시 제출해 주세요.",
+                    (result, last) -> dispatcher.publishStatus(submissionId, result, last));
+        }
+        acknowledge(record.getId());
+        log.error("채점 실패 메시지를 DLQ로 이동: recordId={}, submissionId={}", record.getId(), submissionId);
+    }
+
+    private void acknowledge(RecordId recordId) {
+        StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+        ops.acknowledge(stream, group, recordId);
+        ops.delete(stream, recordId);
+    }
+
+    private void createGroup() {
+        try {
+            redisTemplate.opsForStream().createGroup(stream, ReadOffset.from("0"), group);
+        } catch (RuntimeException e) {
+            if (isBusyGroup(e)) return; // 이미 있음
+            log.warn("채점 consumer group 생성 실패 (Redis 연결 확인 필요): {}", e.getMessage());
+        }
+    }
+
+    // 드라이버 예외는 RedisSystemException 안에 감싸져 오므로 원인까지 확인
+    private boolean isBusyGroup(Throwable e) {
+        for (Throwable cur = e; cur != null; cur = cur.getCause()) {
+            if (cur.getMessage() != null && cur.getMessage().contains("BUSYGROUP")) return true;
+        }
+        return false;
+    }
+
+    private Long parseSubmissionId(Map<String, String> fields) {
+        try {
+            return Long.valueOf(fields.get(RedisSubmissionDispatcher.FIELD_SUBMISSION_ID));
+        } catch (RuntimeException e) {
+            log.error("잘못된 채점 메시지: {}", fields);
+            return null;
+        }
+    }
+
+    private String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "judge-worker";
+        }
+    }
+
+    private void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
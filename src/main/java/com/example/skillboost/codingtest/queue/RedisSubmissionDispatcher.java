@@ -0,0 +1,108 @@
+package com.example.skillboost.codingtest.queue;
+
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.example.skillboost.codingtest.service.SubmissionEventBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * API 노드 쪽 Redis 디스패처.
+ *
+ * 제출 ID를 Redis Stream 에 넣기만 하고 채점은 RedisJudgeWorker(judge-worker 인스턴스)가 한다.
+ * 워커가 올리는 상태 변경은 pub/sub 채널로 모든 API 노드에 전달되고, 각 노드는 자기에게 붙은 SSE 구독자에게 흘려준다.
+ * 처리(ack)된 메시지는 스트림에서 지우므로 스트림 길이 = 아직 끝나지 않은 제출 수이고, 이것으로 대기열 상한을 건다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.dispatch.mode", havingValue = "redis")
+public class RedisSubmissionDispatcher implements SubmissionDispatcher {
+
+    static final String FIELD_SUBMISSION_ID = "submissionId";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SubmissionEventBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    @Value("${judge.dispatch.stream:judge:submissions}")
+    private String stream;
+
+    @Value("${judge.dispatch.channel:judge:submission-events}")
+    private String channel;
+
+    @Value("${judge.queue.capacity:100}")
+    private int capacity;
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        listenerContainer.addMessageListener(
+                (message, pattern) -> relay(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    @Override
+    public boolean dispatch(Long submissionId) {
+        Long backlog = redisTemplate.opsForStream().size(stream);
+        if (backlog != null && backlog >= capacity) {
+            return false;
+        }
+        MapRecord<String, String, String> record = StreamRecords.newRecord()
+                .in(stream)
+                .ofMap(Map.of(FIELD_SUBMISSION_ID, String.valueOf(submissionId)));
+        redisTemplate.opsForStream().add(record);
+        return true;
+    }
+
+    /**
+     * 워커에서 호출. 상태 변경을 모든 API 노드로 보낸다.
+     */
+    public void publishStatus(Long submissionId, SubmissionResultDto result, boolean last) {
+        try {
+            ObjectNode event = objectMapper.createObjectNode();
+            event.put("submissionId", submissionId);
+            event.put("last", last);
+            event.set("result", objectMapper.valueToTree(result));
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // 결과는 DB에 있으므로 SSE 전달 실패는 폴링으로 보완된다
+            log.warn("채점 상태 전파 실패: submissionId={}", submissionId, e);
+        }
+    }
+
+    private void relay(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            SubmissionResultDto result = objectMapper.treeToValue(event.path("result"), SubmissionResultDto.class);
+            broadcaster.publish(event.path("submissionId").asLong(), result, event.path("last").asBoolean());
+        } catch (Exception e) {
+            log.warn("채점 상태 메시지 처리 실패: {}", payload, e);
+        }
+    }
+}
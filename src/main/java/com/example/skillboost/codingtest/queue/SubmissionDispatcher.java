@@ -0,0 +1,15 @@
+package com.example.skillboost.codingtest.queue;
+
+/**
+ * 저장된 제출을 채점 워커에게 넘기는 방법.
+ *
+ * - local: 이 프로세스의 스레드 풀에서 채점 (judge.dispatch.mode=local, 기본값)
+ * - redis: Redis Stream 에 넣고 별도 judge-worker 인스턴스가 consumer group 으로 가져가 채점
+ */
+public interface SubmissionDispatcher {
+
+    /**
+     * @return 대기열이 가득 차서 받지 못했으면 false
+     */
+    boolean dispatch(Long submissionId);
+}
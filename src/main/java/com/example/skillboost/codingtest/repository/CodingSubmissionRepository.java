@@ -3,5 +3,10 @@ package com.example.skillboost.codingtest.repository;
 import com.example.skillboost.codingtest.domain.CodingSubmission;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CodingSubmissionRepository extends JpaRepository<CodingSubmission, Long> {
+
+    List<CodingSubmission> findByStatusIn(Collection<String> statuses);
 }
@@ -1,37 +1,120 @@
 package com.example.skillboost.codingtest.service;
 
 import com.example.skillboost.codingtest.domain.CodingProblem;
+import com.example.skillboost.codingtest.domain.CodingTestCase;
 import com.example.skillboost.codingtest.dto.SubmissionRequestDto;
 import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.example.skillboost.codingtest.judge.BatchJudgeResult;
 import com.example.skillboost.codingtest.judge.GeminiJudge;
+import com.example.skillboost.codingtest.judge.JudgeClient;
+import com.example.skillboost.codingtest.judge.JudgeResult;
+import com.example.skillboost.codingtest.judge.JudgeSpec;
+import com.example.skillboost.codingtest.judge.JudgeToolchain;
+import com.example.skillboost.codingtest.judge.VerdictMode;
 import com.example.skillboost.codingtest.repository.CodingProblemRepository;
+import com.example.skillboost.codingtest.repository.CodingTestCaseRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GradingService {
 
     private final CodingProblemRepository problemRepository;
+    private final CodingTestCaseRepository testCaseRepository;
+    private final JudgeClient judgeClient;
     private final GeminiJudge geminiJudge;
+    private final JudgeToolchain judgeToolchain;
 
     /**
-     * 실제 AI 기반 채점
+     * 테스트케이스를 실제로 실행해서 판정한다 (AI 호출 없음).
+     * 테스트케이스가 없는 문제나 실행할 수 없는 언어(서버에 컴파일러/인터프리터가 없는 경우 포함)만
+     * 기존처럼 AI가 판정한다 (이 경우 리뷰까지 함께 채워짐).
      */
     public SubmissionResultDto grade(SubmissionRequestDto request) {
 
-        // 1) 문제 조회
-        CodingProblem problem = problemRepository.findById(request.getProblemId())
+        // 1) 문제 + 테스트케이스 조회
+        CodingProblem problem = findProblem(request.getProblemId());
+        List<CodingTestCase> testCases = testCaseRepository.findByProblem_Id(problem.getId());
+        String language = request.getLanguage() != null ? request.getLanguage().toLowerCase() : "";
+
+        if (testCases.isEmpty() || !judgeToolchain.supports(language)) {
+            log.info("테스트케이스 실행 불가 → AI 채점: problemId={}, language={}, testCases={}",
+                    problem.getId(), language, testCases.size());
+            return geminiJudge.grade(problem, request.getCode(), request.getLanguage());
+        }
+
+        // 2) 전체 테스트케이스 실행 (부분 점수 계산을 위해 실패해도 끝까지)
+        BatchJudgeResult batch = judgeClient.executeAll(
+                request.getCode(), language, testCases, VerdictMode.RUN_ALL, JudgeSpec.of(problem));
+
+        // 3) 판정 결과 변환 (점수 = 통과 비율)
+        int score = batch.getTotalCount() > 0
+                ? (int) Math.round(100.0 * batch.getPassedCount() / batch.getTotalCount())
+                : 0;
+        return SubmissionResultDto.builder()
+                .status(statusCode(batch.getStatusId()))
+                .score(score)
+                .passedCount(batch.getPassedCount())
+                .totalCount(batch.getTotalCount())
+                .message(resultMessage(batch))
+                .build();
+    }
+
+    /**
+     * 판정이 끝난 제출의 AI 코드 리뷰 + 예상 면접 질문
+     */
+    public SubmissionResultDto review(SubmissionRequestDto request, String verdict) {
+        CodingProblem problem = findProblem(request.getProblemId());
+        return geminiJudge.review(problem, request.getCode(), request.getLanguage(), verdict);
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private CodingProblem findProblem(Long problemId) {
+        return problemRepository.findById(problemId)
                 .orElseThrow(() -> new IllegalArgumentException("문제를 찾을 수 없습니다."));
+    }
 
-        // 2) AI 채점 실행
-        SubmissionResultDto aiResult = geminiJudge.grade(
-                problem,
-                request.getCode(),
-                request.getLanguage()
-        );
+    // 컴파일 에러는 어디가 틀렸는지 알 수 있도록 컴파일러 메시지를 붙인다
+    private String resultMessage(BatchJudgeResult batch) {
+        String message = statusMessage(batch.getStatusId());
+        if (batch.getStatusId() != 6 || batch.getResults().isEmpty()) {
+            return message;
+        }
+        JudgeResult first = batch.getResults().get(0);
+        String error = first.getStderr();
+        return error == null || error.isBlank() ? message : message + "\n" + error;
+    }
+
+    // JudgeResult 상태 코드 → 제출 상태 문자열
+    private String statusCode(int statusId) {
+        return switch (statusId) {
+            case 3 -> "AC";
+            case 4 -> "WA";
+            case 5 -> "TLE";
+            case 6 -> "CE";
+            case 11 -> "RE";
+            case 15 -> "OLE";
+            case 16 -> "MLE";
+            default -> "ERROR";
+        };
+    }
 
-        // 3) 결과 그대로 반환 (AI가 최종 판정)
-        return aiResult;
+    private String statusMessage(int statusId) {
+        return switch (statusId) {
+            case 3 -> "정답입니다! 🎉";
+            case 4 -> "오답입니다.";
+            case 5 -> "시간 초과입니다.";
+            case 6 -> "컴파일 에러입니다.";
+            case 11 -> "런타임 에러입니다.";
+            case 15 -> "출력 초과입니다.";
+            case 16 -> "메모리 초과입니다.";
+            default -> "채점 중 오류가 발생했습니다.";
+        };
     }
 }
@@ -0,0 +1,68 @@
+package com.example.skillboost.codingtest.service;
+
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 제출 ID별 SSE 구독자 관리.
+ * 채점 상태가 바뀔 때마다 "status" 이벤트를 보내고, 최종 결과를 보낸 뒤 연결을 닫는다.
+ */
+@Slf4j
+@Component
+public class SubmissionEventBroadcaster {
+
+    private static final String EVENT_NAME = "status";
+
+    @Value("${judge.queue.sse-timeout-ms:120000}")
+    private long sseTimeoutMs;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long submissionId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitters.computeIfAbsent(submissionId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        Runnable remove = () -> remove(submissionId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * 구독자 한 명에게만 현재 상태를 보낸다 (구독 직후 초기 상태 전달용).
+     */
+    public void sendTo(SseEmitter emitter, SubmissionResultDto result, boolean last) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(result));
+            if (last) emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    public void publish(Long submissionId, SubmissionResultDto result, boolean last) {
+        List<SseEmitter> subscribers = last ? emitters.remove(submissionId) : emitters.get(submissionId);
+        if (subscribers == null) return;
+
+        for (SseEmitter emitter : subscribers) {
+            sendTo(emitter, result, last);
+        }
+    }
+
+    private void remove(Long submissionId, SseEmitter emitter) {
+        emitters.computeIfPresent(submissionId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
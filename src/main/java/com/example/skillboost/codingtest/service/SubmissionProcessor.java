@@ -0,0 +1,214 @@
+package com.example.skillboost.codingtest.service;
+
+import com.example.skillboost.codingtest.domain.CodingSubmission;
+import com.example.skillboost.codingtest.dto.SubmissionRequestDto;
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.example.skillboost.codingtest.repository.CodingSubmissionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 저장된 제출 한 건을 채점하고 결과를 DB에 기록한다.
+ * 어느 디스패처(로컬 스레드 풀 / Redis Stream 워커)에서 호출되든 같은 로직을 탄다.
+ *
+ * 판정(테스트케이스 실행)을 먼저 저장/전달하고, AI 코드 리뷰는 별도 스레드 풀에서 나중에 붙인다.
+ * 그래서 판정 지연은 Gemini 응답 시간과 무관하고, 리뷰가 밀리거나 실패해도 판정은 그대로 남는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubmissionProcessor {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_ERROR = "ERROR";
+    private static final Set<String> IN_PROGRESS = Set.of(STATUS_PENDING, STATUS_RUNNING);
+
+    /**
+     * 상태가 바뀔 때마다 호출된다. last=true 이면 최종 결과.
+     */
+    public interface StatusListener {
+        void onStatus(SubmissionResultDto result, boolean last);
+    }
+
+    private final GradingService gradingService;
+    private final CodingSubmissionRepository submissionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${judge.ai-feedback.enabled:true}")
+    private boolean feedbackEnabled;
+
+    @Value("${judge.ai-feedback.workers:4}")
+    private int feedbackWorkers;
+
+    @Value("${judge.ai-feedback.capacity:100}")
+    private int feedbackCapacity;
+
+    private ThreadPoolExecutor feedbackExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        feedbackExecutor = new ThreadPoolExecutor(
+                feedbackWorkers, feedbackWorkers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(feedbackCapacity),
+                r -> new Thread(r, "ai-feedback-" + sequence.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feedbackExecutor.shutdownNow();
+    }
+
+    public static boolean isInProgress(String status) {
+        return IN_PROGRESS.contains(status);
+    }
+
+    public static Set<String> inProgressStatuses() {
+        return IN_PROGRESS;
+    }
+
+    /**
+     * 이미 끝난 제출(재전달된 메시지 등)이면 아무 것도 하지 않는다.
+     */
+    public void process(Long submissionId, StatusListener listener) {
+        CodingSubmission submission = submissionRepository.findById(submissionId).orElse(null);
+        if (submission == null || !isInProgress(submission.getStatus())) return;
+
+        submission.setStatus(STATUS_RUNNING);
+        submissionRepository.save(submission);
+        listener.onStatus(toDto(submission), false);
+
+        SubmissionRequestDto request = toRequest(submission);
+        SubmissionResultDto result;
+        try {
+            result = gradingService.grade(request);
+        } catch (Exception e) {
+            log.error("채점 실패: submissionId={}", submissionId, e);
+            result = SubmissionResultDto.builder()
+                    .status(STATUS_ERROR)
+                    .score(0)
+                    .message("채점 중 오류가 발생했습니다.")
+                    .build();
+        }
+
+        submission.setStatus(result.getStatus());
+        submission.setScore(result.getScore());
+        submission.setPassedCount(result.getPassedCount());
+        submission.setTotalCount(result.getTotalCount());
+        submission.setMessage(truncate(result.getMessage(), 255));
+        submission.setAiFeedback(result.getAiFeedback());
+        submission.setInterviewQuestionsJson(writeQuestions(result.getInterviewQuestions()));
+        submissionRepository.save(submission);
+
+        // AI 채점으로 대체된 경우엔 리뷰가 이미 들어 있다
+        boolean needsReview = feedbackEnabled
+                && result.getAiFeedback() == null
+                && !STATUS_ERROR.equals(result.getStatus());
+        SubmissionResultDto verdict = toDto(submission);
+        listener.onStatus(verdict, !needsReview);
+        if (needsReview) {
+            requestReview(submissionId, request, verdict, listener);
+        }
+    }
+
+    /**
+     * 채점하지 못하고 포기한 제출을 오류로 마감한다.
+     */
+    public void fail(Long submissionId, String message, StatusListener listener) {
+        submissionRepository.findById(submissionId)
+                .filter(s -> isInProgress(s.getStatus()))
+                .ifPresent(submission -> {
+                    submission.setStatus(STATUS_ERROR);
+                    submission.setScore(0);
+                    submission.setMessage(message);
+                    submissionRepository.save(submission);
+                    listener.onStatus(toDto(submission), true);
+                });
+    }
+
+    public SubmissionResultDto toDto(CodingSubmission submission) {
+        return SubmissionResultDto.builder()
+                .submissionId(submission.getId())
+                .status(submission.getStatus())
+                .score(submission.getScore())
+                .passedCount(submission.getPassedCount())
+                .totalCount(submission.getTotalCount())
+                .message(submission.getMessage())
+                .aiFeedback(submission.getAiFeedback())
+                .interviewQuestions(readQuestions(submission.getInterviewQuestionsJson()))
+                .build();
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void requestReview(Long submissionId, SubmissionRequestDto request,
+                               SubmissionResultDto verdict, StatusListener listener) {
+        try {
+            feedbackExecutor.execute(() -> attachReview(submissionId, request, verdict, listener));
+        } catch (RejectedExecutionException e) {
+            log.warn("AI 리뷰 대기열이 가득 차 리뷰를 생략합니다: submissionId={}", submissionId);
+            listener.onStatus(verdict, true);
+        }
+    }
+
+    private void attachReview(Long submissionId, SubmissionRequestDto request,
+                              SubmissionResultDto verdict, StatusListener listener) {
+        try {
+            SubmissionResultDto review = gradingService.review(request, verdict.getStatus());
+            CodingSubmission submission = submissionRepository.findById(submissionId).orElse(null);
+            if (submission == null) return;
+
+            submission.setAiFeedback(review.getAiFeedback());
+            submission.setInterviewQuestionsJson(writeQuestions(review.getInterviewQuestions()));
+            submissionRepository.save(submission);
+            listener.onStatus(toDto(submission), true);
+        } catch (Exception e) {
+            log.error("AI 리뷰 실패: submissionId={}", submissionId, e);
+            listener.onStatus(verdict, true);
+        }
+    }
+
+    private SubmissionRequestDto toRequest(CodingSubmission submission) {
+        SubmissionRequestDto request = new SubmissionRequestDto();
+        request.setProblemId(submission.getProblemId());
+        request.setCode(submission.getSourceCode());
+        request.setLanguage(submission.getLanguage());
+        request.setUserId(submission.getUserId());
+        return request;
+    }
+
+    private String writeQuestions(List<String> questions) {
+        if (questions == null) return null;
+        try {
+            return objectMapper.writeValueAsString(questions);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private List<String> readQuestions(String json) {
+        if (json == null || json.isBlank()) return null;
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String truncate(String text, int max) {
+        return text != null && text.length() > max ? text.substring(0, max) : text;
+    }
+}
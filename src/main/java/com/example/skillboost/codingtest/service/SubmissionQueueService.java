@@ -0,0 +1,77 @@
+package com.example.skillboost.codingtest.service;
+
+import com.example.skillboost.codingtest.domain.CodingSubmission;
+import com.example.skillboost.codingtest.dto.SubmissionRequestDto;
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.example.skillboost.codingtest.queue.SubmissionDispatcher;
+import com.example.skillboost.codingtest.repository.CodingProblemRepository;
+import com.example.skillboost.codingtest.repository.CodingSubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+/**
+ * 제출을 DB에 PENDING 으로 저장한 뒤 SubmissionDispatcher 로 채점 워커에게 넘긴다.
+ *
+ * 요청 스레드는 저장 직후 바로 반환되고, 결과는 GET /api/coding/submissions/{id} 폴링이나
+ * SSE(/api/coding/submissions/{id}/events)로 받는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubmissionQueueService {
+
+    private static final long DEFAULT_USER_ID = 1L;
+
+    private final CodingProblemRepository problemRepository;
+    private final CodingSubmissionRepository submissionRepository;
+    private final SubmissionProcessor processor;
+    private final SubmissionDispatcher dispatcher;
+    private final SubmissionEventBroadcaster broadcaster;
+
+    /**
+     * @return 저장된 제출. 대기열이 가득 찼으면 empty
+     * @throws IllegalArgumentException 문제가 없을 때
+     */
+    public Optional<CodingSubmission> enqueue(SubmissionRequestDto request) {
+        if (request.getProblemId() == null || !problemRepository.existsById(request.getProblemId())) {
+            throw new IllegalArgumentException("문제를 찾을 수 없습니다.");
+        }
+
+        CodingSubmission submission = submissionRepository.save(CodingSubmission.builder()
+                .problemId(request.getProblemId())
+                .userId(request.getUserId() != null ? request.getUserId() : DEFAULT_USER_ID)
+                .language(request.getLanguage())
+                .sourceCode(request.getCode())
+                .status(SubmissionProcessor.STATUS_PENDING)
+                .build());
+
+        if (!dispatcher.dispatch(submission.getId())) {
+            // 받지 못한 제출은 남기지 않는다
+            submissionRepository.delete(submission);
+            return Optional.empty();
+        }
+        return Optional.of(submission);
+    }
+
+    public Optional<SubmissionResultDto> find(Long submissionId) {
+        return submissionRepository.findById(submissionId).map(processor::toDto);
+    }
+
+    /**
+     * 구독 직후 현재 상태를 한 번 보내고, 이미 끝난 제출이면 바로 닫는다.
+     */
+    public Optional<SseEmitter> subscribe(Long submissionId) {
+        if (!submissionRepository.existsById(submissionId)) {
+            return Optional.empty();
+        }
+        // 구독을 먼저 등록하고 상태를 읽어야 그 사이에 끝난 결과를 놓치지 않는다
+        SseEmitter emitter = broadcaster.subscribe(submissionId);
+        SubmissionResultDto current = find(submissionId).orElseThrow();
+        broadcaster.sendTo(emitter, current, !SubmissionProcessor.isInProgress(current.getStatus()));
+        return Optional.of(emitter);
+    }
+}
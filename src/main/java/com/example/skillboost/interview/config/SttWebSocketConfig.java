@@ -0,0 +1,36 @@
+package com.example.skillboost.interview.config;
+
+import com.example.skillboost.interview.controller.SttWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Profile({"local", "prod"})
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class SttWebSocketConfig implements WebSocketConfigurer {
+
+    private final SttWebSocketHandler sttWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(sttWebSocketHandler, "/api/interview/stt/stream")
+                .setAllowedOrigins("https://www.skill-boost.store", "http://localhost:3000");
+    }
+
+    // PCM 프레임은 보통 100~250ms 분량(3~8KB)이므로 64KB 면 충분하다
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(64 * 1024);
+        container.setMaxTextMessageBufferSize(8 * 1024);
+        container.setMaxSessionIdleTimeout(60_000L);
+        return container;
+    }
+}
@@ -7,11 +7,18 @@ import com.example.skillboost.interview.dto.InterviewStartResponse;
 import com.example.skillboost.interview.service.InterviewFeedbackService;
 import com.example.skillboost.interview.service.InterviewService;
 import com.example.skillboost.interview.service.SpeechToTextService;
+import com.example.skillboost.interview.service.SttBusyException;
+import com.example.skillboost.interview.service.SttTimeoutException;
+import com.example.skillboost.llm.LlmStreamRelay;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -24,6 +31,7 @@ public class InterviewController {
     private final InterviewService interviewService;
     private final InterviewFeedbackService feedbackService;
     private final SpeechToTextService speechToTextService;
+    private final LlmStreamRelay llmStreamRelay;
 
     // 1) 면접 시작 + 질문 생성
     @PostMapping("/start")
@@ -41,12 +49,30 @@ public class InterviewController {
         return ResponseEntity.ok(response);
     }
 
-    // 3) 🔊 음성 → 텍스트(STT)만 담당
+    // 2-1) 전체 답변 평가 (SSE 스트리밍: "token" 조각 → "done" 최종 결과)
+    @PostMapping(value = "/feedback/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feedbackStream(@RequestBody InterviewFeedbackRequest request) {
+        return llmStreamRelay.relay(
+                feedbackService.streamFeedback(request),
+                json -> feedbackService.completeFeedback(request, json)
+        );
+    }
+
+    // 3) 🔊 음성 → 텍스트(STT)만 담당 (용량 초과 시 503 + Retry-After, 인식 시간 초과는 500)
     @PostMapping("/stt")
     public ResponseEntity<Map<String, String>> stt(
             @RequestPart("audio") MultipartFile audioFile
     ) {
-        String text = speechToTextService.transcribe(audioFile);
-        return ResponseEntity.ok(Map.of("text", text));
+        try {
+            String text = speechToTextService.transcribe(audioFile);
+            return ResponseEntity.ok(Map.of("text", text));
+        } catch (SttBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
+        } catch (SttTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
 }
@@ -0,0 +1,143 @@
+package com.example.skillboost.interview.controller;
+
+import com.example.skillboost.interview.service.SpeechToTextService;
+import com.example.skillboost.interview.service.SttBusyException;
+import com.example.skillboost.interview.service.SttStream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 스트리밍 STT (WebSocket).
+ *
+ * 클라이언트 → 서버: 16kHz 16bit LE mono PCM 을 binary 프레임으로, 답변이 끝나면 {"type":"end"}.
+ * 서버 → 클라이언트: {"type":"partial"|"result"|"final","text":...} / {"type":"error","message":...}
+ * Recognizer 를 못 구하거나 클라이언트가 너무 빨리 보내면 1013(Try Again Later)으로 닫는다.
+ */
+@Profile({"local", "prod"})
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final String STREAM_ATTR = "sttStream";
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT = 64 * 1024;
+
+    private final SpeechToTextService speechToTextService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession rawSession) throws Exception {
+        // 결과는 STT 실행기 스레드에서 보내므로 동시 전송이 안전하도록 감싼다
+        WebSocketSession session =
+                new ConcurrentWebSocketSessionDecorator(rawSession, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        try {
+            SttStream stream = speechToTextService.openStream(listener(session));
+            rawSession.getAttributes().put(STREAM_ATTR, stream);
+        } catch (SttBusyException e) {
+            log.warn("스트리밍 STT 세션을 열지 못했습니다: {}", e.getMessage());
+            send(session, Map.of("type", "error", "message", e.getMessage()));
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("retry after " + e.getRetryAfterSeconds() + "s"));
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        SttStream stream = stream(session);
+        if (stream == null) return;
+
+        ByteBuffer payload = message.getPayload();
+        byte[] pcm = new byte[payload.remaining()];
+        payload.get(pcm);
+
+        if (!stream.accept(pcm)) {
+            stream.close();
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("audio sent faster than it can be recognized"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        SttStream stream = stream(session);
+        if (stream == null) return;
+
+        JsonNode root = objectMapper.readTree(message.getPayload());
+        if ("end".equals(root.path("type").asText())) {
+            stream.finish();
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("스트리밍 STT 전송 오류: {}", exception.getMessage());
+        closeStream(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        closeStream(session);
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private SttStream.Listener listener(WebSocketSession session) {
+        return new SttStream.Listener() {
+            @Override
+            public void onPartial(String text) {
+                send(session, Map.of("type", "partial", "text", text));
+            }
+
+            @Override
+            public void onResult(String text) {
+                send(session, Map.of("type", "result", "text", text));
+            }
+
+            @Override
+            public void onFinal(String text) {
+                send(session, Map.of("type", "final", "text", text));
+            }
+
+            @Override
+            public void onError(String message) {
+                send(session, Map.of("type", "error", "message", message));
+                try {
+                    session.close(CloseStatus.SERVER_ERROR);
+                } catch (IOException ignore) {
+                    // 이미 끊긴 연결
+                }
+            }
+        };
+    }
+
+    private void send(WebSocketSession session, Map<String, String> payload) {
+        if (!session.isOpen()) return;
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("스트리밍 STT 결과 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private SttStream stream(WebSocketSession session) {
+        return (SttStream) session.getAttributes().get(STREAM_ATTR);
+    }
+
+    private void closeStream(WebSocketSession session) {
+        SttStream stream = (SttStream) session.getAttributes().remove(STREAM_ATTR);
+        if (stream != null) stream.close();
+    }
+}
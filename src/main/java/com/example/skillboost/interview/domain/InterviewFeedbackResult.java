@@ -0,0 +1,45 @@
+package com.example.skillboost.interview.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "interview_feedback")
+public class InterviewFeedbackResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 면접 세션 ID (없으면 null)
+    @Column(length = 64)
+    private String sessionId;
+
+    // 전체 점수 (0 ~ 100)
+    private Integer overallScore;
+
+    // 전체 요약
+    @Lob
+    private String summary;
+
+    // 질문별 점수/피드백 (JSON 문자열로 저장)
+    @Lob
+    private String detailsJson;
+
+    // 생성 시각
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.skillboost.interview.repository;
+
+import com.example.skillboost.interview.domain.InterviewFeedbackResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InterviewFeedbackResultRepository extends JpaRepository<InterviewFeedbackResult, Long> {
+}
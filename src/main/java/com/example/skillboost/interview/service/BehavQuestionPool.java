@@ -0,0 +1,170 @@
+package com.example.skillboost.interview.service;
+
+import com.example.skillboost.llm.LlmGateway;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 미리 생성해 둔 인성 질문 풀 (Redis Set).
+ *
+ * 면접 시작 시에는 SPOP 으로 꺼내기만 하고 Gemini 를 부르지 않는다.
+ * 풀이 low-watermark 아래로 내려가면 스케줄러가 target-size 까지 채운다.
+ * Set 이라 같은 문장은 한 번만 들어간다. 여러 인스턴스가 동시에 채우지 않도록 락을 건다.
+ * 락 TTL 은 한 번의 보충(최대 max-batches-per-run 회 Gemini 호출)이 끝날 때까지 잡고,
+ * 해제는 자기 토큰일 때만 지운다 (TTL 만료 후 다른 인스턴스가 잡은 락을 지우지 않도록).
+ */
+@Slf4j
+@Profile({"local", "prod"})
+@Component
+@RequiredArgsConstructor
+public class BehavQuestionPool {
+
+    private static final String POOL_KEY = "interview:behav-questions";
+    private static final String REFILL_LOCK_KEY = "interview:behav-questions:refill-lock";
+    // Gemini 호출 시간 외의 Redis 작업/파싱 여유
+    private static final Duration REFILL_LOCK_MARGIN = Duration.ofSeconds(30);
+    private static final DefaultRedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final int MIN_LENGTH = 10;
+    private static final int MAX_LENGTH = 80;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LlmGateway llmGateway;
+    private final ObjectMapper objectMapper;
+
+    @Value("${interview.behav-pool.low-watermark:20}")
+    private int lowWatermark;
+
+    @Value("${interview.behav-pool.target-size:60}")
+    private int targetSize;
+
+    @Value("${interview.behav-pool.batch-size:10}")
+    private int batchSize;
+
+    @Value("${interview.behav-pool.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${llm.call-timeout-ms:45000}")
+    private long llmCallTimeoutMs;
+
+    /**
+     * 풀에서 최대 count 개를 꺼낸다 (꺼낸 질문은 풀에서 빠진다). Redis 오류 시 빈 리스트.
+     */
+    public List<String> draw(int count) {
+        try {
+            List<String> popped = redisTemplate.opsForSet().pop(POOL_KEY, count);
+            return popped != null ? popped : List.of();
+        } catch (Exception e) {
+            log.warn("인성 질문 풀 조회 실패: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${interview.behav-pool.initial-delay-ms:5000}",
+            fixedDelayString = "${interview.behav-pool.refill-interval-ms:60000}")
+    public void refill() {
+        try {
+            Long size = redisTemplate.opsForSet().size(POOL_KEY);
+            if (size == null || size >= lowWatermark) return;
+
+            Duration lockTtl = Duration.ofMillis(llmCallTimeoutMs * maxBatchesPerRun).plus(REFILL_LOCK_MARGIN);
+            String token = UUID.randomUUID().toString();
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(REFILL_LOCK_KEY, token, lockTtl);
+            if (!Boolean.TRUE.equals(locked)) return;
+
+            long lockDeadline = System.nanoTime() + lockTtl.minus(REFILL_LOCK_MARGIN).toNanos();
+            try {
+                long current = size;
+                for (int batch = 0; batch < maxBatchesPerRun && current < targetSize; batch++) {
+                    // 호출이 예상보다 오래 걸려 락이 곧 풀리면 다음 주기로 넘긴다
+                    if (System.nanoTime() > lockDeadline) break;
+                    List<String> generated = generateBatch(batchSize, sampleExisting());
+                    if (generated.isEmpty()) break;
+                    Long added = redisTemplate.opsForSet().add(POOL_KEY, generated.toArray(String[]::new));
+                    if (added == null || added == 0) break; // 전부 중복 → 더 돌려도 새 질문이 안 나옴
+                    current += added;
+                }
+                log.info("인성 질문 풀 보충: {} → {}", size, current);
+            } finally {
+                redisTemplate.execute(RELEASE_LOCK, List.of(REFILL_LOCK_KEY), token);
+            }
+        } catch (Exception e) {
+            log.warn("인성 질문 풀 보충 실패: {}", e.getMessage());
+        }
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private List<String> sampleExisting() {
+        Set<String> sample = redisTemplate.opsForSet().distinctRandomMembers(POOL_KEY, 10);
+        return sample != null ? new ArrayList<>(sample) : List.of();
+    }
+
+    private List<String> generateBatch(int count, List<String> existing) {
+        String prompt = """
+            당신은 인성 면접 전문 면접관입니다.
+            아래 조건에 따라 인성 면접 질문을 JSON 배열 형태로 생성하세요.
+
+            조건:
+            - 심층적이지만 과도하게 추상적이지 않은 질문
+            - 1문장, 60자 이내
+            - 지원자의 성격·협업 능력·책임감·문제 해결 능력 중심
+            - 서로 다른 주제의 질문
+            - 아래 "이미 있는 질문"과 겹치지 않는 새로운 질문
+            - JSON 배열로만 출력
+
+            이미 있는 질문:
+            %s
+
+            출력 예시:
+            [
+              { "text": "협업 과정에서 갈등을 해결했던 경험을 말해주세요." },
+              { "text": "압박이 있을 때 자신의 감정을 어떻게 관리하나요?" }
+            ]
+
+            질문 개수: %d개
+            """.formatted(existing.isEmpty() ? "(없음)" : "- " + String.join("\n- ", existing), count);
+
+        try {
+            String raw = llmGateway.generateBlocking(prompt);
+            int start = raw.indexOf('[');
+            int end = raw.lastIndexOf(']');
+            if (start == -1 || end <= start) return List.of();
+
+            List<String> questions = new ArrayList<>();
+            for (JsonNode item : objectMapper.readTree(raw.substring(start, end + 1))) {
+                String text = normalize(item.path("text").asText(""));
+                if (isValid(text)) questions.add(text);
+            }
+            return questions;
+        } catch (Exception e) {
+            log.warn("인성 질문 생성 실패: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    // 공백 차이로 같은 질문이 중복 저장되지 않게 한다
+    private String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+
+    private boolean isValid(String text) {
+        return text.length() >= MIN_LENGTH && text.length() <= MAX_LENGTH;
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.skillboost.interview.service;
 
+import com.example.skillboost.interview.domain.InterviewFeedbackResult;
 import com.example.skillboost.interview.dto.InterviewAnswerDto;
 import com.example.skillboost.interview.dto.InterviewFeedbackRequest;
 import com.example.skillboost.interview.dto.InterviewFeedbackResponse;
 import com.example.skillboost.interview.dto.QuestionFeedbackDto;
+import com.example.skillboost.interview.repository.InterviewFeedbackResultRepository;
+import com.example.skillboost.llm.LlmException;
+import com.example.skillboost.llm.LlmGateway;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -19,25 +24,64 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class InterviewFeedbackService {
 
-    private final GeminiClient geminiClient;
+    private final LlmGateway llmGateway;
     private final ObjectMapper objectMapper;
+    private final InterviewFeedbackResultRepository feedbackResultRepository;
 
     public InterviewFeedbackResponse createFeedback(InterviewFeedbackRequest request) {
+        String json;
+        try {
+            json = llmGateway.generateBlocking(buildPrompt(request));
+        } catch (LlmException e) {
+            log.error("Gemini 호출 실패: {}", e.getMessage());
+            json = null;
+        }
+        return completeFeedback(request, json);
+    }
+
+    /**
+     * 스트리밍 평가. Gemini 가 생성하는 JSON 텍스트 조각을 그대로 흘려주고,
+     * 다 받은 뒤 completeFeedback 으로 해석/저장한다.
+     */
+    public Flux<String> streamFeedback(InterviewFeedbackRequest request) {
+        return llmGateway.stream(buildPrompt(request));
+    }
+
+    /**
+     * Gemini 응답 원문(JSON)을 해석하고, 정상적으로 해석되면 저장한다.
+     */
+    public InterviewFeedbackResponse completeFeedback(InterviewFeedbackRequest request, String json) {
+        if (json == null || json.isBlank()) {
+            return new InterviewFeedbackResponse(
+                    0,
+                    "AI 분석 중 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.",
+                    List.of()
+            );
+        }
+
+        InterviewFeedbackResponse response = parseFeedback(json, questionTexts(request));
+        if (response == null) {
+            return new InterviewFeedbackResponse(
+                    0,
+                    "AI 분석 결과를 해석하는 중 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.",
+                    List.of()
+            );
+        }
+
+        save(request.getSessionId(), response);
+        return response;
+    }
+
+    private String buildPrompt(InterviewFeedbackRequest request) {
 
         // 1. 질문/답변 리스트를 JSON 형태로 준비
         List<Map<String, Object>> qaList = new ArrayList<>();
-        // questionId -> questionText 매핑용
-        Map<Long, String> idToQuestion = new HashMap<>();
-
         for (InterviewAnswerDto answer : request.getAnswers()) {
             qaList.add(Map.of(
                     "questionId", answer.getQuestionId(),
                     "question", answer.getQuestion(),
                     "answer", answer.getAnswerText()
             ));
-            if (answer.getQuestionId() != null) {
-                idToQuestion.put(answer.getQuestionId(), answer.getQuestion());
-            }
         }
 
         String qaJson;
@@ -47,8 +91,8 @@ public class InterviewFeedbackService {
             throw new RuntimeException("질문/답변 JSON 변환 실패", e);
         }
 
-        // 2. Gemini에 평가 요청
-        String prompt = """
+        // 2. Gemini에 보낼 평가 요청
+        return """
             당신은 시니어 개발자/리더 면접관입니다.
             아래는 지원자가 기술/인성 면접에서 답변한 질문/답변 목록입니다.
             각 질문에 대해 0~20점 사이의 점수를 매기고,
@@ -82,16 +126,23 @@ public class InterviewFeedbackService {
             - 질문을 이해하지 못했거나 답변이 거의 없는 경우, 낮은 점수를 주고 그 이유를 feedback에 명확히 적어 주세요.
             - 특히, ```json, ``` 같은 코드 블록 마크다운은 절대로 붙이지 마세요.
             """.formatted(qaJson);
+    }
 
-        String json = geminiClient.generateText(prompt);
-        if (json == null || json.isBlank()) {
-            return new InterviewFeedbackResponse(
-                    0,
-                    "AI 분석 중 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.",
-                    List.of()
-            );
+    // questionId -> questionText 매핑
+    private Map<Long, String> questionTexts(InterviewFeedbackRequest request) {
+        Map<Long, String> idToQuestion = new HashMap<>();
+        for (InterviewAnswerDto answer : request.getAnswers()) {
+            if (answer.getQuestionId() != null) {
+                idToQuestion.put(answer.getQuestionId(), answer.getQuestion());
+            }
         }
+        return idToQuestion;
+    }
 
+    /**
+     * 해석에 실패하면 null
+     */
+    private InterviewFeedbackResponse parseFeedback(String json, Map<Long, String> idToQuestion) {
         try {
             // 🔥 코드블록(```json ... ```) 등 앞뒤 잡소리 제거
             json = cleanupJson(json);
@@ -126,11 +177,21 @@ public class InterviewFeedbackService {
 
         } catch (Exception e) {
             log.error("Interview feedback JSON 파싱 오류. raw={}", json, e);
-            return new InterviewFeedbackResponse(
-                    0,
-                    "AI 분석 결과를 해석하는 중 오류가 발생했습니다. 잠시 후 다시 시도해 주세요.",
-                    List.of()
-            );
+            return null;
+        }
+    }
+
+    private void save(String sessionId, InterviewFeedbackResponse response) {
+        try {
+            feedbackResultRepository.save(InterviewFeedbackResult.builder()
+                    .sessionId(sessionId)
+                    .overallScore(response.getOverallScore())
+                    .summary(response.getSummary())
+                    .detailsJson(objectMapper.writeValueAsString(response.getDetails()))
+                    .build());
+        } catch (Exception e) {
+            // 저장 실패해도 평가 결과는 그대로 돌려준다
+            log.error("면접 피드백 저장 실패: sessionId={}", sessionId, e);
         }
     }
 
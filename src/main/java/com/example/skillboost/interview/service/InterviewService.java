@@ -2,33 +2,59 @@ package com.example.skillboost.interview.service;
 
 import com.example.skillboost.codeReview.GithubFile;
 import com.example.skillboost.codeReview.service.GithubService;
+import com.example.skillboost.codeReview.service.RepoSummaryService;
 import com.example.skillboost.interview.dto.*;
 import com.example.skillboost.interview.model.InterviewSession;
+import com.example.skillboost.interview.session.InterviewSessionStore;
+import com.example.skillboost.llm.LlmGateway;
+import com.example.skillboost.llm.PromptBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 
+@Slf4j
 @Profile({"local", "prod"})
 @Service
 @RequiredArgsConstructor
 public class InterviewService {
 
     private static final int QUESTION_DURATION_SEC = 60;
+    private static final int MIN_FILE_TOKENS = 64;
 
-    private final Map<String, InterviewSession> sessions = new ConcurrentHashMap<>();
+    // 면접 시작 시 질문 준비용 (대부분 GitHub/Gemini I/O 대기라 가상 스레드)
+    private final ExecutorService questionExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    private final GeminiClient geminiClient;
+    @Value("${interview.start-deadline-ms:15000}")
+    private long startDeadlineMs;
+
+    @Value("${interview.prompt.max-tokens:16000}")
+    private int promptMaxTokens;
+
+    @Value("${interview.prompt.repo-token-budget:12000}")
+    private int repoTokenBudget;
+
+    @Value("${interview.prompt.file-token-budget:1500}")
+    private int fileTokenBudget;
+
+    private final LlmGateway llmGateway;
     private final SpeechToTextService speechToTextService;
     private final ObjectMapper objectMapper;
     private final GithubService githubService;   // 🔥 GitHub 읽기 서비스
+    private final RepoSummaryService repoSummaryService;
+    private final BehavQuestionPool behavQuestionPool;
+    private final InterviewSessionStore sessionStore;
 
     // ---------------------------------------------------------
     // 음성 답변 처리
@@ -61,8 +87,17 @@ public class InterviewService {
     public InterviewStartResponse startInterview(InterviewStartRequest request) {
         String repoUrl = request.getRepoUrl();
 
-        List<InterviewQuestionDto> techQuestions = generateTechQuestionsWithGemini(repoUrl);
-        List<InterviewQuestionDto> behavQuestions = pickRandomBehavQuestions(2); // 🔥 자동 생성된 인성 질문
+        // 기술 질문(레포 조회 → Gemini)과 인성 질문을 동시에 준비하고, 마감 시간을 넘긴 쪽은 fallback 으로 대체
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startDeadlineMs);
+        Future<List<InterviewQuestionDto>> techFuture =
+                questionExecutor.submit(() -> generateTechQuestionsWithGemini(repoUrl));
+        Future<List<InterviewQuestionDto>> behavFuture =
+                questionExecutor.submit(() -> pickRandomBehavQuestions(2)); // 🔥 미리 생성된 인성 질문
+
+        List<InterviewQuestionDto> techQuestions = awaitOrFallback(techFuture, deadline,
+                () -> fallbackTechQuestions(extractRepoName(repoUrl)));
+        List<InterviewQuestionDto> behavQuestions = awaitOrFallback(behavFuture, deadline,
+                () -> fallbackBehavQuestions(2));
 
         List<InterviewQuestionDto> all = new ArrayList<>();
         all.addAll(techQuestions);
@@ -79,7 +114,7 @@ public class InterviewService {
 
         String sessionId = UUID.randomUUID().toString();
         InterviewSession session = InterviewSession.create(sessionId, repoUrl, numbered);
-        sessions.put(sessionId, session);
+        sessionStore.save(session);
 
         return InterviewStartResponse.builder()
                 .sessionId(sessionId)
@@ -91,6 +126,30 @@ public class InterviewService {
     // ---------------------------------------------------------
     // 🔥 GitHub 레포 기반 기술 질문 생성
     // ---------------------------------------------------------
+
+    // 소스 → 빌드 설정 → 나머지 순으로, 파일 하나는 file-token-budget 까지만 넣는다
+    private void appendRepoCode(PromptBuilder prompt, List<GithubFile> files, int budget) {
+        List<GithubFile> ordered = new ArrayList<>(files);
+        ordered.sort(Comparator.comparingInt(f -> filePriority(f.getPath())));
+
+        prompt.section(budget);
+        int included = 0;
+        for (GithubFile f : ordered) {
+            if (prompt.remainingTokens() < MIN_FILE_TOKENS) break;
+            String content = PromptBuilder.fit(f.getContent(), fileTokenBudget, PromptBuilder.Truncation.OUTLINE);
+            if (prompt.add("### FILE: " + f.getPath() + "\n" + content + "\n\n")) included++;
+        }
+        log.info("기술 질문 프롬프트: 파일 {}/{}개 포함, 약 {} 토큰", included, files.size(), prompt.usedTokens());
+    }
+
+    private int filePriority(String path) {
+        String lower = path.toLowerCase();
+        if (lower.endsWith(".java") || lower.endsWith(".kt")) return 0;
+        if (lower.endsWith(".gradle") || lower.endsWith("pom.xml")
+                || lower.endsWith(".yml") || lower.endsWith(".yaml")) return 1;
+        return 2;
+    }
+
     private List<InterviewQuestionDto> generateTechQuestionsWithGemini(String repoUrl) {
         String repoName = extractRepoName(repoUrl);
 
@@ -107,21 +166,19 @@ public class InterviewService {
             return fallbackTechQuestions(repoName);
         }
 
-        // 2) 파일 내용을 하나의 큰 텍스트로 합침
-        StringBuilder repoText = new StringBuilder();
-        for (GithubFile f : files) {
-            repoText.append("### FILE: ").append(f.getPath()).append("\n");
-            repoText.append(f.getContent()).append("\n\n");
-        }
-
-        // 3) Gemini 프롬프트 생성
-        String prompt = """
+        // 2) Gemini 프롬프트 생성
+        //    레포 요약이 있으면 요약 + 코드 일부, 없으면 토큰 예산 안에서 코드 (소스 파일 우선)
+        Optional<RepoSummaryService.RepoSummary> summary = repoSummaryService.find(files);
+        PromptBuilder prompt = PromptBuilder.create(promptMaxTokens).text("""
             당신은 시니어 백엔드 개발자 면접관입니다.
-            아래는 지원자의 GitHub 레포지토리 전체 코드입니다.
+            아래는 지원자의 GitHub 레포지토리 요약과 코드입니다 (큰 파일은 선언부만 발췌).
             이 내용을 기반으로 기술 면접 질문 3개를 생성하세요.
 
-            --- Repository Code Start ---
-            %s
+            """);
+        summary.ifPresent(s -> prompt.text("--- Repository Summary ---\n" + s.toPromptText() + "\n"));
+        prompt.text("--- Repository Code Start ---\n");
+        appendRepoCode(prompt, files, summary.isPresent() ? repoTokenBudget / 4 : repoTokenBudget);
+        prompt.text("""
             --- Repository Code End ---
 
             질문 규칙:
@@ -137,12 +194,12 @@ public class InterviewService {
               { "text": "질문2" },
               { "text": "질문3" }
             ]
-            """.formatted(repoText.toString());
+            """);
 
-        // 4) Gemini 호출
+        // 3) Gemini 호출
         String raw;
         try {
-            raw = geminiClient.generateText(prompt);
+            raw = llmGateway.generateBlocking(prompt.build());
         } catch (Exception e) {
             e.printStackTrace();
             return fallbackTechQuestions(repoName);
@@ -199,83 +256,35 @@ public class InterviewService {
     }
 
     // ---------------------------------------------------------
-    // 🔥 Gemini 기반 인성 질문 자동 생성
+    // 🔥 인성 질문: 미리 생성해 둔 풀에서 꺼냄 (Gemini 호출 없음)
     // ---------------------------------------------------------
     private List<InterviewQuestionDto> pickRandomBehavQuestions(int count) {
+        List<String> texts = new ArrayList<>(behavQuestionPool.draw(count));
 
-        String prompt = """
-            당신은 인성 면접 전문 면접관입니다.
-            아래 조건에 따라 인성 면접 질문을 JSON 배열 형태로 생성하세요.
-
-            조건:
-            - 심층적이지만 과도하게 추상적이지 않은 질문
-            - 1문장, 60자 이내
-            - 지원자의 성격·협업 능력·책임감·문제 해결 능력 중심
-            - JSON 배열로만 출력
-
-            출력 예시:
-            [
-              { "text": "협업 과정에서 갈등을 해결했던 경험을 말해주세요." },
-              { "text": "압박이 있을 때 자신의 감정을 어떻게 관리하나요?" }
-            ]
-
-            질문 개수: %d개
-            """.formatted(count);
-
-        String raw;
-        try {
-            raw = geminiClient.generateText(prompt);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return fallbackBehavQuestions(count);
-        }
-
-        if (raw == null || raw.isBlank()) {
-            return fallbackBehavQuestions(count);
-        }
-
-        String cleaned = extractJsonArray(raw).trim();
-        if (!cleaned.startsWith("[")) {
-            return fallbackBehavQuestions(count);
-        }
-
-        try {
-            List<Map<String, Object>> list = objectMapper.readValue(
-                    cleaned,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class)
-            );
-
-            List<InterviewQuestionDto> result = new ArrayList<>();
-            for (Map<String, Object> item : list) {
-                Object textObj = item.get("text");
-                if (textObj == null) continue;
-
-                String text = String.valueOf(textObj).trim();
-                if (text.isEmpty()) continue;
-
-                result.add(new InterviewQuestionDto(null, QuestionType.BEHAV, text));
+        // 풀이 비었으면 기본 질문으로 채운다
+        if (texts.size() < count) {
+            for (InterviewQuestionDto fallback : fallbackBehavQuestions(count)) {
+                if (texts.size() >= count) break;
+                if (!texts.contains(fallback.getText())) texts.add(fallback.getText());
             }
-
-            if (result.size() < count) return fallbackBehavQuestions(count);
-            return result.subList(0, count);
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return fallbackBehavQuestions(count);
         }
+
+        return texts.stream()
+                .map(text -> new InterviewQuestionDto(null, QuestionType.BEHAV, text))
+                .collect(Collectors.toList());
     }
 
     // ---------------------------------------------------------
     // 인성 fallback
     // ---------------------------------------------------------
     private List<InterviewQuestionDto> fallbackBehavQuestions(int count) {
-        List<String> defaults = List.of(
+        List<String> defaults = new ArrayList<>(List.of(
                 "협업 과정에서 갈등을 해결했던 경험을 설명해주세요.",
                 "압박이 큰 상황에서 감정을 관리하는 방법을 말해주세요.",
                 "가장 최근에 성장했다고 느낀 경험을 말해주세요.",
                 "실수했을 때 어떻게 대응했는지 말해주세요.",
                 "목표 달성을 위해 본인이 했던 노력을 설명해주세요."
-        );
+        ));
 
         Collections.shuffle(defaults);
 
@@ -288,6 +297,24 @@ public class InterviewService {
     // ---------------------------------------------------------
     // 기타 유틸
     // ---------------------------------------------------------
+    private List<InterviewQuestionDto> awaitOrFallback(Future<List<InterviewQuestionDto>> future, long deadline,
+                                                       Supplier<List<InterviewQuestionDto>> fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("면접 질문 준비가 {}ms 안에 끝나지 않아 기본 질문을 사용합니다.", startDeadlineMs);
+            future.cancel(true); // 진행 중인 GitHub/Gemini 호출도 중단
+            return fallback.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return fallback.get();
+        } catch (ExecutionException e) {
+            log.error("면접 질문 준비 실패", e.getCause());
+            return fallback.get();
+        }
+    }
+
     private String extractJsonArray(String raw) {
         if (raw == null) return "";
         int start = raw.indexOf('[');
@@ -303,7 +330,12 @@ public class InterviewService {
         return repoUrl.substring(slash + 1);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        questionExecutor.shutdownNow();
+    }
+
     public Optional<InterviewSession> findSession(String sessionId) {
-        return Optional.ofNullable(sessions.get(sessionId));
+        return sessionStore.find(sessionId);
     }
 }
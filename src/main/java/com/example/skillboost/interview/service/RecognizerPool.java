@@ -0,0 +1,102 @@
+package com.example.skillboost.interview.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vosk Recognizer 풀.
+ *
+ * Recognizer 는 네이티브 메모리를 크게 잡으므로 요청마다 만들지 않고 최대 maxSize 개를 만들어 돌려 쓴다.
+ * 반납할 때 reset() 해서 이전 음성 상태가 다음 사용자에게 섞이지 않게 한다.
+ */
+@Slf4j
+public class RecognizerPool implements AutoCloseable {
+
+    private final Model model;
+    private final float sampleRate;
+    private final int maxSize;
+    private final BlockingQueue<Recognizer> idle;
+    private final AtomicInteger created = new AtomicInteger();
+
+    public RecognizerPool(Model model, float sampleRate, int maxSize) {
+        this.model = model;
+        this.sampleRate = sampleRate;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * 쉬고 있는 Recognizer 를 꺼낸다. 없으면 maxSize 까지 새로 만들고, 다 쓰고 있으면 timeout 만큼 기다린다.
+     * 시간 안에 못 구하면 null.
+     */
+    public Recognizer borrow(long timeout, TimeUnit unit) throws InterruptedException, IOException {
+        Recognizer recognizer = idle.poll();
+        if (recognizer != null) return recognizer;
+
+        if (created.incrementAndGet() <= maxSize) {
+            try {
+                return new Recognizer(model, sampleRate);
+            } catch (IOException | RuntimeException e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        created.decrementAndGet();
+        return idle.poll(timeout, unit);
+    }
+
+    public void release(Recognizer recognizer) {
+        if (recognizer == null) return;
+        try {
+            recognizer.reset();
+        } catch (RuntimeException e) {
+            // 상태를 믿을 수 없으면 버리고 다음에 새로 만든다
+            log.warn("Recognizer reset 실패, 폐기합니다: {}", e.getMessage());
+            discard(recognizer);
+            return;
+        }
+        if (!idle.offer(recognizer)) {
+            discard(recognizer);
+        }
+    }
+
+    public int getSize() {
+        return created.get();
+    }
+
+    public int getIdle() {
+        return idle.size();
+    }
+
+    public int getInUse() {
+        return created.get() - idle.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        Recognizer recognizer;
+        while ((recognizer = idle.poll()) != null) {
+            discard(recognizer);
+        }
+    }
+
+    private void discard(Recognizer recognizer) {
+        created.decrementAndGet();
+        try {
+            recognizer.close();
+        } catch (RuntimeException e) {
+            log.warn("Recognizer 해제 실패: {}", e.getMessage());
+        }
+    }
+}
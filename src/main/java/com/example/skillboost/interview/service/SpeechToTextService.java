@@ -2,7 +2,13 @@ package com.example.skillboost.interview.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
@@ -14,18 +20,83 @@ import org.vosk.Recognizer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Vosk 음성 인식.
+ *
+ * 인식은 CPU 를 많이 쓰므로 요청 스레드에서 돌리지 않고 코어 수만큼의 고정 스레드 풀에서 돌린다.
+ * 대기열(queue-capacity)까지 차거나 queue-timeout-ms 안에 차례가 오지 않으면 SttBusyException (→ 503 + Retry-After).
+ * 인식 자체의 제한 시간은 음성 길이에 비례하고, 넘기면 작업을 중단시키고 SttTimeoutException (다시 보내도 소용없음).
+ * Recognizer 는 RecognizerPool 에서 빌려 쓰고 reset 후 반납한다.
+ * 스트리밍(openStream)은 같은 실행기와 풀을 쓰며, 세션 동안 Recognizer 하나를 점유한다.
+ */
 @Profile({"local", "prod"})
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SpeechToTextService {
 
+    private static final float SAMPLE_RATE = 16000;
+    private static final String BUSY_MESSAGE = "음성 인식 요청이 많습니다. 잠시 후 다시 시도해 주세요.";
+
+    private final MeterRegistry meterRegistry;
+
     private Model model;
+    private RecognizerPool recognizerPool;
+    private ThreadPoolExecutor executor;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private Timer latency;
+    private Timer queueWait;
+    private Counter rejected;
+    private Counter timedOut;
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
     @Value("${stt.vosk-model-path}")
     private String modelPath;
 
+    // 0 이면 CPU 코어 수
+    @Value("${stt.threads:0}")
+    private int threads;
+
+    @Value("${stt.queue-capacity:32}")
+    private int queueCapacity;
+
+    // 0 이면 threads 의 2배 (스트리밍 세션은 말하는 동안 Recognizer 를 계속 점유하지만 CPU 는 조금씩만 씀)
+    @Value("${stt.recognizer-pool-size:0}")
+    private int recognizerPoolSize;
+
+    @Value("${stt.recognizer-wait-ms:2000}")
+    private long recognizerWaitMs;
+
+    // 대기열에서 차례를 기다리는 최대 시간 (인식 시간은 포함하지 않음)
+    @Value("${stt.queue-timeout-ms:10000}")
+    private long queueTimeoutMs;
+
+    // 인식 제한 시간 = base + 음성 길이 × realtime-factor
+    @Value("${stt.decode-timeout-base-ms:10000}")
+    private long decodeTimeoutBaseMs;
+
+    @Value("${stt.decode-realtime-factor:3.0}")
+    private double decodeRealtimeFactor;
+
+    @Value("${stt.retry-after-seconds:3}")
+    private long retryAfterSeconds;
+
+    // 스트리밍 세션 하나가 처리 대기로 쌓아 둘 수 있는 음성 (16kHz 16bit 기준 512KB ≈ 16초)
+    @Value("${stt.stream.max-pending-bytes:524288}")
+    private int streamMaxPendingBytes;
+
     @PostConstruct
     public void init() {
         try {
@@ -35,31 +106,175 @@ public class SpeechToTextService {
             log.error("Vosk 모델 로드 실패", e);
             throw new RuntimeException("Vosk 모델 로드 실패", e);
         }
+
+        int poolThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int poolSize = recognizerPoolSize > 0 ? recognizerPoolSize : poolThreads * 2;
+        this.recognizerPool = new RecognizerPool(model, SAMPLE_RATE, poolSize);
+        this.executor = new ThreadPoolExecutor(
+                poolThreads, poolThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("stt-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("STT 실행기 준비: 스레드 {}개, 대기열 {}, Recognizer 최대 {}개", poolThreads, queueCapacity, poolSize);
+
+        registerMetrics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) executor.shutdownNow();
+        if (recognizerPool != null) recognizerPool.close();
     }
 
     public String transcribe(MultipartFile audioFile) {
         if (model == null) throw new IllegalStateException("Vosk 모델 초기화 실패");
 
+        byte[] data;
         try {
-            byte[] data = audioFile.getBytes();
-
-            try (InputStream is = new ByteArrayInputStream(data);
-                 Recognizer recognizer = new Recognizer(model, 16000)) {
+            data = audioFile.getBytes();
+        } catch (IOException e) {
+            log.error("STT 음성 파일 읽기 실패", e);
+            throw new RuntimeException(e);
+        }
 
-                byte[] buffer = new byte[4096];
-                int n;
+        long enqueuedAt = System.nanoTime();
+        // 대기열 시간 초과로 포기한 요청과 막 시작하려는 작업 중 한쪽만 이기도록
+        AtomicBoolean claimed = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return null;
+                started.countDown();
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return latency.recordCallable(() -> recognize(data));
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("STT 대기열이 가득 차 요청을 거절했습니다 (대기 {}건)", executor.getQueue().size());
+            throw new SttBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        }
 
-                while ((n = is.read(buffer)) >= 0) {
-                    recognizer.acceptWaveForm(buffer, n);
-                }
+        long decodeTimeoutMs = decodeTimeoutMs(data.length);
+        try {
+            // 1) 차례 기다리기 - 여기서 시간이 다 되면 정말로 바쁜 것
+            if (!started.await(queueTimeoutMs, TimeUnit.MILLISECONDS) && claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                executor.remove((Runnable) future);
+                rejected.increment();
+                throw new SttBusyException(BUSY_MESSAGE, retryAfterSeconds);
+            }
 
-                String resultJson = recognizer.getFinalResult();
-                JsonNode root = objectMapper.readTree(resultJson);
-                return root.path("text").asText("").trim();
+            // 2) 인식 - 음성 길이에 비례한 시간 안에 끝나야 한다
+            return future.get(decodeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true); // recognize 가 조각 사이마다 인터럽트를 확인하고 멈춘다
+            timedOut.increment();
+            log.warn("STT 인식 시간 초과: 음성 {}바이트, 제한 {}ms", data.length, decodeTimeoutMs);
+            throw new SttTimeoutException("음성 인식 시간이 초과되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SttBusyException busy) {
+                rejected.increment();
+                throw busy;
             }
-        } catch (Exception e) {
-            log.error("STT 변환 실패", e);
+            log.error("STT 변환 실패", e.getCause());
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * 스트리밍 인식 세션을 연다 (Recognizer 하나를 세션이 끝날 때까지 점유).
+     * Recognizer 를 recognizer-wait-ms 안에 못 구하면 SttBusyException.
+     */
+    public SttStream openStream(SttStream.Listener listener) {
+        if (model == null) throw new IllegalStateException("Vosk 모델 초기화 실패");
+
+        Recognizer recognizer;
+        try {
+            recognizer = recognizerPool.borrow(recognizerWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SttBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (IOException e) {
+            log.error("Recognizer 생성 실패", e);
+            throw new RuntimeException(e);
+        }
+        if (recognizer == null) {
+            rejected.increment();
+            throw new SttBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+
+        activeStreams.incrementAndGet();
+        return new SttStream(recognizer, recognizerPool, executor, listener, objectMapper,
+                streamMaxPendingBytes, activeStreams::decrementAndGet);
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private String recognize(byte[] data) throws Exception {
+        Recognizer recognizer = recognizerPool.borrow(recognizerWaitMs, TimeUnit.MILLISECONDS);
+        if (recognizer == null) {
+            throw new SttBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+
+        try (InputStream is = new ByteArrayInputStream(data)) {
+            byte[] buffer = new byte[4096];
+            int n;
+
+            while ((n = is.read(buffer)) >= 0) {
+                // 시간 초과로 취소된 요청이면 남은 음성은 버리고 스레드와 Recognizer 를 돌려준다
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("STT 작업 취소");
+                }
+                recognizer.acceptWaveForm(buffer, n);
+            }
+
+            String resultJson = recognizer.getFinalResult();
+            JsonNode root = objectMapper.readTree(resultJson);
+            return root.path("text").asText("").trim();
+        } finally {
+            recognizerPool.release(recognizer);
+        }
+    }
+
+    // 16kHz 16bit mono 기준 음성 길이로 인식 제한 시간을 정한다 (WAV 헤더 정도는 무시)
+    private long decodeTimeoutMs(int audioBytes) {
+        double audioSeconds = audioBytes / (SAMPLE_RATE * 2);
+        return decodeTimeoutBaseMs + (long) (audioSeconds * decodeRealtimeFactor * 1000);
+    }
+
+    private void registerMetrics() {
+        this.latency = Timer.builder("stt.latency")
+                .description("음성 인식 소요 시간 (대기열 대기 제외)")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("stt.queue.wait")
+                .description("STT 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("stt.rejected")
+                .description("용량 초과로 거절된 STT 요청 수")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("stt.timeout")
+                .description("인식 제한 시간을 넘겨 중단된 STT 요청 수")
+                .register(meterRegistry);
+
+        Gauge.builder("stt.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("인식 중인 STT 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("stt.executor.queued", executor, e -> e.getQueue().size())
+                .description("STT 대기열 길이")
+                .register(meterRegistry);
+        Gauge.builder("stt.recognizer.in-use", recognizerPool, RecognizerPool::getInUse)
+                .description("사용 중인 Vosk Recognizer 수")
+                .register(meterRegistry);
+        Gauge.builder("stt.recognizer.idle", recognizerPool, RecognizerPool::getIdle)
+                .description("쉬고 있는 Vosk Recognizer 수")
+                .register(meterRegistry);
+        Gauge.builder("stt.stream.active", activeStreams, AtomicInteger::get)
+                .description("열려 있는 스트리밍 STT 세션 수")
+                .register(meterRegistry);
+    }
 }
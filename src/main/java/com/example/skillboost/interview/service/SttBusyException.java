@@ -0,0 +1,19 @@
+package com.example.skillboost.interview.service;
+
+/**
+ * STT 처리 용량(작업 큐 / Recognizer 풀)이 가득 찬 경우.
+ * 컨트롤러는 503 + Retry-After 로 응답한다.
+ */
+public class SttBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SttBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
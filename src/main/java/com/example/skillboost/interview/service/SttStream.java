@@ -0,0 +1,188 @@
+package com.example.skillboost.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.vosk.Recognizer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스트리밍 음성 인식 세션 하나 (WebSocket 연결 하나).
+ *
+ * 도착한 PCM 조각을 대기열에 넣고 STT 실행기에서 순서대로 acceptWaveForm 한다 (세션당 동시에 하나만 실행).
+ * 대기열은 max-pending-bytes 까지만 받으므로 스트림 하나의 메모리는 Recognizer + 그 크기로 고정된다.
+ * Recognizer 는 열 때 빌리고 close 때 (실행기 스레드에서) 반납한다.
+ */
+@Slf4j
+public class SttStream {
+
+    /**
+     * 인식 결과 통지. STT 실행기 스레드에서 호출된다.
+     */
+    public interface Listener {
+
+        /** 말하는 중간의 임시 결과 (바뀔 수 있음) */
+        void onPartial(String text);
+
+        /** 한 구간(문장)이 확정됨 */
+        void onResult(String text);
+
+        /** finish() 이후 지금까지 확정된 전체 텍스트 */
+        void onFinal(String text);
+
+        void onError(String message);
+    }
+
+    private static final Object FINISH = new Object();
+    private static final Object CLOSE = new Object();
+
+    private final Recognizer recognizer;
+    private final RecognizerPool recognizerPool;
+    private final Executor executor;
+    private final Listener listener;
+    private final ObjectMapper objectMapper;
+    private final int maxPendingBytes;
+    private final Runnable onClosed;
+
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingBytes = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // 실행기 스레드에서만 접근 (draining 으로 직렬화)
+    private final StringBuilder transcript = new StringBuilder();
+    private String lastPartial = "";
+    private volatile boolean released;
+
+    SttStream(Recognizer recognizer, RecognizerPool recognizerPool, Executor executor, Listener listener,
+              ObjectMapper objectMapper, int maxPendingBytes, Runnable onClosed) {
+        this.recognizer = recognizer;
+        this.recognizerPool = recognizerPool;
+        this.executor = executor;
+        this.listener = listener;
+        this.objectMapper = objectMapper;
+        this.maxPendingBytes = maxPendingBytes;
+        this.onClosed = onClosed;
+    }
+
+    /**
+     * 16kHz, 16bit little-endian mono PCM 조각. 처리 대기량이 한도를 넘으면 false (클라이언트가 너무 빨리 보냄).
+     */
+    public boolean accept(byte[] pcm) {
+        if (closed.get()) return false;
+        if (pendingBytes.addAndGet(pcm.length) > maxPendingBytes) {
+            pendingBytes.addAndGet(-pcm.length);
+            return false;
+        }
+        pending.add(pcm);
+        schedule();
+        return true;
+    }
+
+    /**
+     * 답변 하나가 끝남 → 남은 음성을 마저 인식하고 onFinal. 세션은 다음 답변을 위해 계속 쓸 수 있다.
+     */
+    public void finish() {
+        if (closed.get()) return;
+        pending.add(FINISH);
+        schedule();
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        pending.add(CLOSE);
+        schedule();
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void schedule() {
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 실행기를 못 쓰면 여기서 바로 정리한다 (draining 을 쥐고 있으니 아무도 Recognizer 를 쓰고 있지 않음)
+            closed.set(true);
+            releaseRecognizer();
+            pending.clear();
+            draining.set(false);
+            listener.onError("음성 인식 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private void drain() {
+        try {
+            Object item;
+            while ((item = pending.poll()) != null) {
+                if (item == CLOSE) {
+                    releaseRecognizer();
+                    pending.clear();
+                    return;
+                }
+                if (released) continue;
+                if (item == FINISH) {
+                    complete();
+                } else {
+                    byte[] pcm = (byte[]) item;
+                    pendingBytes.addAndGet(-pcm.length);
+                    feed(pcm);
+                }
+            }
+        } catch (Exception e) {
+            log.error("스트리밍 STT 처리 실패", e);
+            listener.onError("음성 인식 중 오류가 발생했습니다.");
+            closed.set(true);
+            releaseRecognizer();
+            pending.clear();
+        } finally {
+            draining.set(false);
+        }
+        // 빠져나오는 사이에 새로 들어온 조각이 있으면 다시 돌린다
+        if (!pending.isEmpty()) schedule();
+    }
+
+    private void feed(byte[] pcm) throws Exception {
+        if (recognizer.acceptWaveForm(pcm, pcm.length)) {
+            String text = text(recognizer.getResult(), "text");
+            appendTranscript(text);
+            lastPartial = "";
+            if (!text.isEmpty()) listener.onResult(text);
+        } else {
+            String partial = text(recognizer.getPartialResult(), "partial");
+            if (!partial.equals(lastPartial)) {
+                lastPartial = partial;
+                listener.onPartial(partial);
+            }
+        }
+    }
+
+    private void complete() throws Exception {
+        appendTranscript(text(recognizer.getFinalResult(), "text"));
+        listener.onFinal(transcript.toString());
+        transcript.setLength(0);
+        lastPartial = "";
+        recognizer.reset();
+    }
+
+    private void appendTranscript(String text) {
+        if (text.isEmpty()) return;
+        if (transcript.length() > 0) transcript.append(' ');
+        transcript.append(text);
+    }
+
+    private String text(String json, String field) throws Exception {
+        return objectMapper.readTree(json).path(field).asText("").trim();
+    }
+
+    private synchronized void releaseRecognizer() {
+        if (released) return;
+        released = true;
+        recognizerPool.release(recognizer);
+        onClosed.run();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.skillboost.interview.service;
+
+/**
+ * 음성 인식이 제한 시간(음성 길이에 비례) 안에 끝나지 않은 경우.
+ * 같은 음성을 다시 보내도 결과가 같으므로 SttBusyException 과 달리 재시도를 권하지 않는다.
+ */
+public class SttTimeoutException extends RuntimeException {
+
+    public SttTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.skillboost.interview.session;
+
+import com.example.skillboost.interview.model.InterviewSession;
+
+import java.util.Optional;
+
+/**
+ * 면접 세션 저장소.
+ * interview.session.store=redis(기본) 이면 여러 인스턴스가 세션을 공유하고, local 이면 이 인스턴스 메모리에만 둔다.
+ */
+public interface InterviewSessionStore {
+
+    void save(InterviewSession session);
+
+    Optional<InterviewSession> find(String sessionId);
+}
@@ -0,0 +1,40 @@
+package com.example.skillboost.interview.session;
+
+import com.example.skillboost.interview.model.InterviewSession;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 단일 인스턴스용 세션 저장소 (Redis 없이 개발할 때).
+ * TTL 과 최대 개수가 있어서 오래된 세션이 힙에 쌓이지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "interview.session.store", havingValue = "local")
+public class LocalInterviewSessionStore implements InterviewSessionStore {
+
+    private final Cache<String, InterviewSession> sessions;
+
+    public LocalInterviewSessionStore(@Value("${interview.session.ttl-minutes:120}") long ttlMinutes,
+                                      @Value("${interview.session.local.max-entries:10000}") long maxEntries) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public void save(InterviewSession session) {
+        sessions.put(session.getSessionId(), session);
+    }
+
+    @Override
+    public Optional<InterviewSession> find(String sessionId) {
+        return Optional.ofNullable(sessions.getIfPresent(sessionId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.skillboost.interview.session;
+
+import com.example.skillboost.interview.model.InterviewSession;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis 세션 저장소 (JSON, TTL).
+ *
+ * 세션은 만들어진 뒤 바뀌지 않으므로, 자주 조회되는 세션은 짧은 로컬 near cache 에서 바로 꺼낸다.
+ * 어느 인스턴스로 요청이 가든 같은 세션을 보게 되어 replicas 를 늘릴 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "interview.session.store", havingValue = "redis", matchIfMissing = true)
+public class RedisInterviewSessionStore implements InterviewSessionStore {
+
+    private static final String KEY_PREFIX = "interview:session:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, InterviewSession> nearCache;
+
+    public RedisInterviewSessionStore(StringRedisTemplate redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      @Value("${interview.session.ttl-minutes:120}") long ttlMinutes,
+                                      @Value("${interview.session.near-cache.max-entries:1000}") long nearCacheMaxEntries,
+                                      @Value("${interview.session.near-cache.ttl-seconds:60}") long nearCacheTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(nearCacheTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public void save(InterviewSession session) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + session.getSessionId(),
+                    objectMapper.writeValueAsString(session), ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("면접 세션 직렬화 실패", e);
+        }
+        nearCache.put(session.getSessionId(), session);
+    }
+
+    @Override
+    public Optional<InterviewSession> find(String sessionId) {
+        InterviewSession cached = nearCache.getIfPresent(sessionId);
+        if (cached != null) return Optional.of(cached);
+
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + sessionId);
+        if (json == null) return Optional.empty();
+
+        try {
+            InterviewSession session = objectMapper.readValue(json, InterviewSession.class);
+            nearCache.put(sessionId, session);
+            return Optional.of(session);
+        } catch (JsonProcessingException e) {
+            log.error("면접 세션 역직렬화 실패: sessionId={}", sessionId, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.skillboost.llm;
+
+/**
+ * AIMD 동시 실행 한도.
+ *
+ * 정상 응답이 오면 한도를 조금씩 올리고(limit 번 성공마다 +1),
+ * 429/5xx/타임아웃처럼 과부하 신호가 오면 한도를 backoffRatio 배로 줄인다.
+ * 한도는 [minLimit, maxLimit] 안에서만 움직이며, maxLimit 이 bulkhead 상한이다.
+ */
+final class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    AimdLimiter(int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = this.maxLimit;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        inFlight--;
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    synchronized void onOverload() {
+        inFlight--;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    /**
+     * 결과와 무관하게 자리만 반납 (취소 등)
+     */
+    synchronized void onIgnore() {
+        inFlight--;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.skillboost.llm;
+
+/**
+ * 최근 windowSize 건의 실패율로 열리는 서킷 브레이커.
+ *
+ * - CLOSED: 통과. 실패율이 임계치를 넘으면 OPEN
+ * - OPEN: openMillis 동안 바로 거절
+ * - HALF_OPEN: 시험 호출 한 건만 통과시키고, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+    }
+
+    synchronized boolean tryPass(long now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (now - openedAt < openMillis) yield false;
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) yield false;
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minimumCalls && (double) failures / calls >= failureRateThreshold) {
+                open(now);
+            }
+        }
+    }
+
+    /**
+     * 통과는 했지만 결과를 판단할 수 없이 끝난 호출 (취소, 동시 실행 한도 초과 등)
+     */
+    synchronized void onIgnore() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            if (window[position]) failures--;
+        } else {
+            calls++;
+        }
+        window[position] = failure;
+        if (failure) failures++;
+        position = (position + 1) % window.length;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        position = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
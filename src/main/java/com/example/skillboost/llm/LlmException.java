@@ -0,0 +1,15 @@
+package com.example.skillboost.llm;
+
+/**
+ * LLM 호출 실패 (네트워크 오류, 타임아웃, 비정상 응답).
+ */
+public class LlmException extends RuntimeException {
+
+    public LlmException(String message) {
+        super(message);
+    }
+
+    public LlmException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
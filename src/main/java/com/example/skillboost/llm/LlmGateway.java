@@ -0,0 +1,294 @@
+package com.example.skillboost.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gemini 호출 공용 게이트웨이.
+ *
+ * 커넥션 풀을 가진 WebClient 하나를 애플리케이션 전체가 같이 쓴다 (요청마다 TCP/TLS 연결을 새로 맺지 않음).
+ * https 이면 ALPN 으로 HTTP/2 를 먼저 시도하고, 안 되면 HTTP/1.1 로 붙는다.
+ * 리액티브 API(generate, stream)와 블로킹 어댑터(generateBlocking)를 같이 제공한다.
+ * 모든 호출은 LlmGuard(서킷 브레이커 + AIMD 동시 실행 한도)를 거친다.
+ */
+@Slf4j
+@Component
+public class LlmGateway {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final LlmGuard guard;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+
+    private final String apiKey;
+    private final String model;
+    private final Duration callTimeout;
+
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, String> resultCache;
+    private final Counter upstreamCalls;
+    private final Counter coalesced;
+    private final Counter cacheHits;
+    private final DistributionSummary promptTokens;
+
+    public LlmGateway(WebClient.Builder webClientBuilder,
+                      ObjectMapper objectMapper,
+                      LlmGuard guard,
+                      MeterRegistry meterRegistry,
+                      @Value("${gemini.api.key:}") String apiKey,
+                      @Value("${gemini.model:gemini-2.0-flash}") String model,
+                      @Value("${llm.base-url:https://generativelanguage.googleapis.com/v1beta}") String baseUrl,
+                      @Value("${llm.http.max-connections:50}") int maxConnections,
+                      @Value("${llm.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+                      @Value("${llm.http.max-idle-ms:30000}") long maxIdleMs,
+                      @Value("${llm.http.connect-timeout-ms:3000}") int connectTimeoutMs,
+                      @Value("${llm.http.response-timeout-ms:60000}") long responseTimeoutMs,
+                      @Value("${llm.call-timeout-ms:45000}") long callTimeoutMs,
+                      @Value("${llm.result-cache.ttl-seconds:60}") long resultCacheTtlSeconds,
+                      @Value("${llm.result-cache.max-entries:500}") long resultCacheMaxEntries) {
+        this.objectMapper = objectMapper;
+        this.guard = guard;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+        this.apiKey = apiKey;
+        this.model = model;
+
+        this.resultCache = Caffeine.newBuilder()
+                .maximumSize(resultCacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(resultCacheTtlSeconds))
+                .build();
+        this.upstreamCalls = dedupCounter(meterRegistry, "upstream");
+        this.coalesced = dedupCounter(meterRegistry, "coalesced");
+        this.cacheHits = dedupCounter(meterRegistry, "cache_hit");
+        this.promptTokens = DistributionSummary.builder("llm.prompt.tokens")
+                .description("Gemini 로 보낸 프롬프트의 추정 토큰 수")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+
+        this.connectionProvider = ConnectionProvider.builder("llm")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .compress(true);
+        if (baseUrl.startsWith("https")) {
+            // HTTP/2 는 TLS(ALPN) 위에서만 협상한다
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * API 키가 설정되어 있는지. 없으면 호출 측에서 mock/fallback 응답을 쓴다.
+     */
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    /**
+     * 프롬프트 하나를 보내고 첫 번째 candidate 의 text 를 돌려준다.
+     * 실패(HTTP 오류, call-timeout-ms 초과, 빈 응답, LlmGuard 거절)는 LlmException 으로 끝난다.
+     *
+     * 같은 (모델, 프롬프트) 요청이 동시에 들어오면 Gemini 호출 한 번의 결과를 같이 받고 (single-flight),
+     * 성공한 결과는 result-cache.ttl-seconds 동안 재사용한다.
+     */
+    public Mono<String> generate(String prompt) {
+        String key = requestKey(prompt);
+        String cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return Mono.just(cached);
+        }
+
+        boolean[] created = new boolean[1];
+        Mono<String> shared = inFlight.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return singleFlight(k, prompt);
+        });
+        (created[0] ? upstreamCalls : coalesced).increment();
+        return shared;
+    }
+
+    /**
+     * 끝나면 inFlight 에서 자기 자신만 뺀다 (그 사이 같은 키로 새로 시작된 호출은 건드리지 않음).
+     * doFinally 는 결과를 구독자에게 보낸 뒤에 돌기 때문에, 그것만 쓰면 그 사이에 들어온 요청이
+     * 이미 끝난(실패한) Mono 에 합류한다. 그래서 결과를 내보내기 전(doOnTerminate)에 빼고,
+     * 취소로 끝난 경우만 doFinally 로 정리한다.
+     */
+    private Mono<String> singleFlight(String key, String prompt) {
+        AtomicReference<Mono<String>> self = new AtomicReference<>();
+        Mono<String> shared = call(prompt)
+                .doOnNext(text -> resultCache.put(key, text))
+                .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private Mono<String> call(String prompt) {
+        promptTokens.record(TokenEstimator.estimate(prompt));
+        Mono<String> call = webClient.post()
+                .uri(uri -> uri.path("/models/{model}:generateContent")
+                        .queryParam("key", apiKey)
+                        .build(model))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody(prompt))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(this::extractText)
+                .timeout(callTimeout);
+        return guard.protect(call)
+                .onErrorMap(e -> !(e instanceof LlmException),
+                        e -> new LlmException("Gemini API 호출 실패: " + e.getMessage(), e));
+    }
+
+    /**
+     * streamGenerateContent(SSE)로 호출해서 생성되는 텍스트 조각을 도착하는 대로 흘려준다.
+     * 구독을 취소하면 Gemini 쪽 연결도 끊긴다. 전체 길이 제한은 없고 조각 사이 간격만 response-timeout-ms 로 제한한다.
+     */
+    public Flux<String> stream(String prompt) {
+        promptTokens.record(TokenEstimator.estimate(prompt));
+        Flux<String> call = webClient.post()
+                .uri(uri -> uri.path("/models/{model}:streamGenerateContent")
+                        .queryParam("alt", "sse")
+                        .queryParam("key", apiKey)
+                        .build(model))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody(prompt))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .mapNotNull(ServerSentEvent::data)
+                .map(this::extractChunk)
+                .filter(text -> !text.isEmpty());
+        return guard.protect(call)
+                .onErrorMap(e -> !(e instanceof LlmException),
+                        e -> new LlmException("Gemini 스트리밍 호출 실패: " + e.getMessage(), e));
+    }
+
+    /**
+     * 블로킹 호출용 어댑터 (채점 워커, 서블릿 요청 스레드 등).
+     */
+    public String generateBlocking(String prompt) {
+        String text = generate(prompt).block();
+        if (text == null) {
+            throw new LlmException("Gemini 응답이 비어 있음");
+        }
+        return text;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private static Counter dedupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.requests")
+                .tag("result", result)
+                .description("LLM 요청 처리 방식별 건수 (실제 호출 / 동시 요청 합류 / 캐시)")
+                .register(meterRegistry);
+    }
+
+    private String requestKey(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectNode requestBody(String prompt) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.putArray("contents")
+                .addObject()
+                .putArray("parts")
+                .addObject()
+                .put("text", prompt);
+        return root;
+    }
+
+    // 스트리밍 조각은 마지막(finishReason 만 있는) 조각처럼 text 가 없을 수 있다
+    private String extractChunk(String data) {
+        try {
+            JsonNode chunk = objectMapper.readTree(data);
+            return chunk.path("candidates").path(0).path("content").path("parts").path(0).path("text").asText("");
+        } catch (Exception e) {
+            throw new LlmException("Gemini 스트리밍 응답 파싱 실패: " + data, e);
+        }
+    }
+
+    // 응답 구조: candidates → content → parts → text
+    private String extractText(JsonNode response) {
+        JsonNode candidates = response.path("candidates");
+        if (!candidates.isArray() || candidates.isEmpty()) {
+            log.error("Gemini 응답에 candidates 없음: {}", response);
+            throw new LlmException("Gemini 응답에 candidates 없음");
+        }
+
+        JsonNode parts = candidates.get(0).path("content").path("parts");
+        if (!parts.isArray() || parts.isEmpty()) {
+            log.error("Gemini 응답에 parts 없음: {}", response);
+            throw new LlmException("Gemini 응답에 parts 없음");
+        }
+
+        String text = parts.get(0).path("text").asText("");
+        if (text.isBlank()) {
+            log.error("Gemini 응답 text 없음: {}", response);
+            throw new LlmException("Gemini 응답 text 없음");
+        }
+        return text.trim();
+    }
+}
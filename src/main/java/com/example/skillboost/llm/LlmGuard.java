@@ -0,0 +1,162 @@
+package com.example.skillboost.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 모든 LLM 호출 앞에 두는 보호막 (서킷 브레이커 → AIMD 동시 실행 한도).
+ *
+ * Gemini 가 느려지거나 429/5xx 를 내기 시작하면 동시 호출 수를 줄이고,
+ * 실패가 계속되면 서킷을 열어 바로 LlmException 으로 끝낸다.
+ * 호출 측은 이미 LlmException 을 각자의 fallback 으로 처리하므로, LLM 장애가 요청 스레드를 붙잡지 않는다.
+ */
+@Slf4j
+@Component
+public class LlmGuard {
+
+    private final AimdLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejected;
+    private final Counter shortCircuited;
+    private final Timer latency;
+
+    public LlmGuard(MeterRegistry meterRegistry,
+                    @Value("${llm.guard.max-in-flight:20}") int maxInFlight,
+                    @Value("${llm.guard.min-in-flight:2}") int minInFlight,
+                    @Value("${llm.guard.backoff-ratio:0.5}") double backoffRatio,
+                    @Value("${llm.guard.circuit.window-size:20}") int windowSize,
+                    @Value("${llm.guard.circuit.minimum-calls:10}") int minimumCalls,
+                    @Value("${llm.guard.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                    @Value("${llm.guard.circuit.open-ms:30000}") long openMillis) {
+        this.limiter = new AimdLimiter(minInFlight, maxInFlight, backoffRatio);
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openMillis);
+
+        this.successes = callCounter(meterRegistry, "success");
+        this.failures = callCounter(meterRegistry, "failure");
+        this.rejected = callCounter(meterRegistry, "rejected");
+        this.shortCircuited = callCounter(meterRegistry, "short_circuited");
+        this.latency = Timer.builder("llm.latency")
+                .description("LLM 호출 소요 시간")
+                .register(meterRegistry);
+
+        Gauge.builder("llm.concurrency.limit", limiter, AimdLimiter::getLimit)
+                .description("현재 LLM 동시 호출 한도 (AIMD)")
+                .register(meterRegistry);
+        Gauge.builder("llm.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+                .description("진행 중인 LLM 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("llm.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("LLM 서킷 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = acquire();
+            return call
+                    .doOnSuccess(v -> permit.complete(null))
+                    .doOnError(permit::complete)
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    public <T> Flux<T> protect(Flux<T> call) {
+        return Flux.defer(() -> {
+            Permit permit = acquire();
+            return call
+                    .doOnComplete(() -> permit.complete(null))
+                    .doOnError(permit::complete)
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private Permit acquire() {
+        if (!circuitBreaker.tryPass(System.currentTimeMillis())) {
+            shortCircuited.increment();
+            throw new LlmException("LLM 서킷이 열려 있어 호출하지 않습니다.");
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnore();
+            rejected.increment();
+            throw new LlmException("LLM 동시 호출 한도(" + limiter.getLimit() + ")를 초과했습니다.");
+        }
+        return new Permit(System.nanoTime());
+    }
+
+    /**
+     * 429, 5xx, 타임아웃, 연결 실패는 과부하 신호로 본다.
+     * 그 외(4xx, 응답 형식 오류)는 Gemini 가 응답은 했으므로 정상 취급.
+     */
+    private boolean isOverload(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status >= 500;
+            }
+            if (e instanceof WebClientRequestException
+                    || e instanceof ReadTimeoutException
+                    || e instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.calls")
+                .tag("result", result)
+                .description("LLM 호출 결과별 건수")
+                .register(meterRegistry);
+    }
+
+    private class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void complete(Throwable error) {
+            if (!released.compareAndSet(false, true)) return;
+            latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+            if (error != null && isOverload(error)) {
+                limiter.onOverload();
+                circuitBreaker.onFailure(System.currentTimeMillis());
+                failures.increment();
+                log.warn("LLM 과부하 응답: {} (동시 호출 한도 → {})", error.getMessage(), limiter.getLimit());
+            } else {
+                limiter.onSuccess();
+                circuitBreaker.onSuccess();
+                successes.increment();
+            }
+        }
+
+        void cancel() {
+            if (!released.compareAndSet(false, true)) return;
+            limiter.onIgnore();
+            circuitBreaker.onIgnore();
+        }
+    }
+}
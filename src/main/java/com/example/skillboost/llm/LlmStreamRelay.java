@@ -0,0 +1,99 @@
+package com.example.skillboost.llm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LLM 스트리밍 응답을 브라우저 SSE 로 중계한다.
+ *
+ * - "status": 준비 단계 안내 ({"message": ...}), 첫 토큰 전에 할 일이 있을 때 바로 보낸다
+ * - "token": 도착한 텍스트 조각 ({"text": ...})
+ * - "done":  전체 텍스트로 onComplete 를 실행한 결과 (저장된 최종 결과)
+ * - "error": 중간에 실패한 경우 ({"message": ...})
+ *
+ * 클라이언트가 끊으면 구독을 취소해서 Gemini 호출도 같이 끊는다.
+ */
+@Slf4j
+@Component
+public class LlmStreamRelay {
+
+    private static final String EVENT_STATUS = "status";
+    private static final String EVENT_TOKEN = "token";
+    private static final String EVENT_DONE = "done";
+    private static final String EVENT_ERROR = "error";
+
+    @Value("${llm.stream.sse-timeout-ms:180000}")
+    private long sseTimeoutMs;
+
+    public SseEmitter relay(Flux<String> chunks, Function<String, Object> onComplete) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        subscribe(emitter, chunks, onComplete);
+        return emitter;
+    }
+
+    /**
+     * chunks 가 시작되기 전에 준비 작업(레포 불러오기 등)이 있는 경우. status 이벤트를 먼저 보내 응답을 바로 시작한다.
+     */
+    public SseEmitter relay(String status, Flux<String> chunks, Function<String, Object> onComplete) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        send(emitter, EVENT_STATUS, Map.of("message", status));
+        subscribe(emitter, chunks, onComplete);
+        return emitter;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void subscribe(SseEmitter emitter, Flux<String> chunks, Function<String, Object> onComplete) {
+        StringBuilder full = new StringBuilder();
+
+        // SseEmitter.send 와 onComplete(DB 저장)는 블로킹이라 netty 이벤트 루프에서 돌리지 않는다
+        Disposable subscription = chunks
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        chunk -> {
+                            full.append(chunk);
+                            send(emitter, EVENT_TOKEN, Map.of("text", chunk));
+                        },
+                        error -> {
+                            log.warn("LLM 스트리밍 실패: {}", error.getMessage());
+                            // 잘못된 요청(레포 URL, 브랜치 등)은 이유를 그대로 알려준다
+                            String message = error instanceof IllegalArgumentException
+                                    ? error.getMessage()
+                                    : "AI 응답 생성 중 오류가 발생했습니다.";
+                            send(emitter, EVENT_ERROR, Map.of("message", message));
+                            emitter.complete();
+                        },
+                        () -> {
+                            try {
+                                send(emitter, EVENT_DONE, onComplete.apply(full.toString()));
+                                emitter.complete();
+                            } catch (Exception e) {
+                                log.error("LLM 스트리밍 결과 처리 실패", e);
+                                send(emitter, EVENT_ERROR, Map.of("message", "AI 응답 처리 중 오류가 발생했습니다."));
+                                emitter.complete();
+                            }
+                        });
+
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 끊음 → onError/onCompletion 에서 구독 취소
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.skillboost.llm;
+
+import java.util.regex.Pattern;
+
+/**
+ * 토큰 예산을 지키면서 프롬프트를 조립한다.
+ *
+ * 전체 예산(maxTokens) 안에서 고정 문구(text)는 항상 넣고, 가변 내용은 section 을 열어 그 예산 안에서만 넣는다.
+ * 내용이 예산보다 크면 Truncation 전략으로 줄이고, 아예 안 들어가면 add 가 false 를 돌려준다
+ * (호출 측은 그때 반복을 멈추면 되므로 레포 전체를 한 문자열로 합쳐 둘 필요가 없다).
+ */
+public final class PromptBuilder {
+
+    public enum Truncation {
+        /** 앞부분만 */
+        HEAD,
+        /** 앞 2/3 + 뒤 1/3 (에러 로그, main 함수처럼 끝부분도 중요한 경우) */
+        HEAD_TAIL,
+        /**
+         * 선언부(클래스/메서드 시그니처, 어노테이션)만 남기고, 그래도 크면 앞부분만.
+         * 선언부가 거의 없는 파일(yml, gradle, README, SQL 등)은 HEAD 와 같다
+         */
+        OUTLINE
+    }
+
+    private static final String OMITTED = "\n... (생략) ...\n";
+    private static final int OMITTED_TOKENS = TokenEstimator.estimate(OMITTED);
+    private static final int MIN_USEFUL_TOKENS = 32;
+    // 선언부가 예산의 이 비율도 안 되면 OUTLINE 대신 원문 앞부분을 넣는다
+    private static final double MIN_OUTLINE_RATIO = 0.25;
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(class|interface|enum|record|def|fun|function)\\b");
+
+    private final StringBuilder buffer = new StringBuilder(8 * 1024);
+    private final int maxTokens;
+    private int usedTokens;
+    private int sectionRemaining;
+
+    private PromptBuilder(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public static PromptBuilder create(int maxTokens) {
+        return new PromptBuilder(maxTokens);
+    }
+
+    /**
+     * 예산과 관계없이 항상 넣는 고정 문구 (지시문, 출력 형식 등)
+     */
+    public PromptBuilder text(String text) {
+        buffer.append(text);
+        usedTokens += TokenEstimator.estimate(text);
+        return this;
+    }
+
+    /**
+     * 새 구간을 연다. 이후 add 는 이 구간 예산과 전체 남은 예산 중 작은 쪽 안에서만 넣는다.
+     */
+    public PromptBuilder section(int budgetTokens) {
+        sectionRemaining = Math.max(0, Math.min(budgetTokens, maxTokens - usedTokens));
+        return this;
+    }
+
+    /**
+     * 통째로 들어가면 넣고 true, 아니면 아무것도 넣지 않고 false
+     */
+    public boolean add(String text) {
+        int tokens = TokenEstimator.estimate(text);
+        if (tokens > sectionRemaining) return false;
+        append(text, tokens);
+        return true;
+    }
+
+    /**
+     * 통째로 안 들어가면 전략에 따라 줄여서 넣는다. 남은 예산이 너무 작아 넣지 못하면 false
+     */
+    public boolean add(String text, Truncation truncation) {
+        if (add(text)) return true;
+        if (sectionRemaining < MIN_USEFUL_TOKENS) return false;
+
+        String fitted = fit(text, sectionRemaining, truncation);
+        append(fitted, TokenEstimator.estimate(fitted));
+        return true;
+    }
+
+    public int remainingTokens() {
+        return sectionRemaining;
+    }
+
+    public int usedTokens() {
+        return usedTokens;
+    }
+
+    public String build() {
+        return buffer.toString();
+    }
+
+    /**
+     * 문자열 하나를 maxTokens 안으로 줄인다 (text block 템플릿에 끼워 넣는 인자용).
+     */
+    public static String fit(String text, int maxTokens, Truncation truncation) {
+        if (text == null) return "";
+        if (TokenEstimator.estimate(text) <= maxTokens) return text;
+
+        return switch (truncation) {
+            case HEAD -> head(text, maxTokens);
+            case HEAD_TAIL -> headTail(text, maxTokens);
+            case OUTLINE -> {
+                String outline = outline(text);
+                int outlineTokens = TokenEstimator.estimate(outline);
+                // 선언부만으로는 예산을 거의 못 채우면 원문 앞부분이 더 많은 정보를 준다
+                if (outlineTokens < maxTokens * MIN_OUTLINE_RATIO) yield head(text, maxTokens);
+                yield outlineTokens <= maxTokens ? outline : head(outline, maxTokens);
+            }
+        };
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private void append(String text, int tokens) {
+        buffer.append(text);
+        usedTokens += tokens;
+        sectionRemaining -= tokens;
+    }
+
+    private static String head(String text, int maxTokens) {
+        int end = lineBoundaryBefore(text, TokenEstimator.fitPrefix(text, Math.max(0, maxTokens - OMITTED_TOKENS)));
+        return text.substring(0, end) + OMITTED;
+    }
+
+    private static String headTail(String text, int maxTokens) {
+        int available = Math.max(0, maxTokens - OMITTED_TOKENS);
+        int headEnd = lineBoundaryBefore(text, TokenEstimator.fitPrefix(text, available * 2 / 3));
+        int tailStart = text.length() - TokenEstimator.fitSuffix(text, available / 3);
+        if (tailStart < text.length() && Character.isLowSurrogate(text.charAt(tailStart))) tailStart++;
+        tailStart = Math.max(headEnd, tailStart);
+        return text.substring(0, headEnd) + OMITTED + text.substring(tailStart);
+    }
+
+    // 줄 중간에서 자르지 않도록 마지막 줄바꿈까지 물린다 (너무 많이 잃으면 그냥 자름)
+    private static int lineBoundaryBefore(String text, int end) {
+        int newline = text.lastIndexOf('\n', end - 1);
+        return newline >= end / 2 ? newline + 1 : end;
+    }
+
+    private static String outline(String text) {
+        StringBuilder outline = new StringBuilder();
+        for (String line : text.split("\n")) {
+            if (isDeclaration(line.strip())) {
+                outline.append(line).append('\n');
+            }
+        }
+        return outline.toString();
+    }
+
+    private static boolean isDeclaration(String line) {
+        if (line.isEmpty() || line.startsWith("//") || line.startsWith("*") || line.startsWith("import ")) {
+            return false;
+        }
+        if (line.startsWith("@") || line.startsWith("package ")) return true;
+        if (TYPE_DECLARATION.matcher(line).find()) return true;
+        // 메서드 시그니처: "...(...) {" 또는 "...(...) throws X {"
+        return line.endsWith("{") && line.contains("(")
+                && !line.startsWith("if") && !line.startsWith("for") && !line.startsWith("while")
+                && !line.startsWith("switch") && !line.startsWith("} else") && !line.startsWith("try")
+                && !line.startsWith("catch") && !line.startsWith("} catch") && !line.startsWith("return");
+    }
+}
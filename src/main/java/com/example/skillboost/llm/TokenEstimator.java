@@ -0,0 +1,70 @@
+package com.example.skillboost.llm;
+
+/**
+ * 프롬프트 토큰 수 추정기 (토크나이저 없이 한 번 훑어서 계산).
+ *
+ * - 영문/숫자 연속: 4글자당 1토큰 (BPE 평균)
+ * - 그 밖의 ASCII 기호: 1개당 1토큰
+ * - 한글 등 비 ASCII 문자: 1글자당 1토큰
+ * - 공백/줄바꿈: 0 (앞뒤 토큰에 붙는 경우가 대부분)
+ *
+ * 실제보다 조금 크게 나오도록 잡았다. 예산을 넘지 않는 게 목적이라 과대 추정이 안전하다.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_WORD_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) return 0;
+        return scan(text, 0, text.length(), 1, Integer.MAX_VALUE).tokens;
+    }
+
+    /**
+     * 앞에서부터 maxTokens 안에 들어가는 글자 수
+     */
+    static int fitPrefix(CharSequence text, int maxTokens) {
+        return scan(text, 0, text.length(), 1, maxTokens).chars;
+    }
+
+    /**
+     * 뒤에서부터 maxTokens 안에 들어가는 글자 수
+     */
+    static int fitSuffix(CharSequence text, int maxTokens) {
+        return scan(text, text.length() - 1, -1, -1, maxTokens).chars;
+    }
+
+    // --- 내부 헬퍼 메서드 ---
+
+    private record Result(int tokens, int chars) {
+    }
+
+    // from 부터 step 방향으로 end 직전까지, 토큰이 maxTokens 를 넘기 직전까지 센다
+    private static Result scan(CharSequence text, int from, int end, int step, int maxTokens) {
+        int tokens = 0;
+        int wordRun = 0;
+        int chars = 0;
+        for (int i = from; i != end; i += step) {
+            char c = text.charAt(i);
+            int cost;
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                // 단어의 1, 5, 9... 번째 글자에서 토큰 하나가 늘어난다
+                cost = wordRun % CHARS_PER_WORD_TOKEN == 0 ? 1 : 0;
+                wordRun++;
+            } else {
+                wordRun = 0;
+                if (Character.isWhitespace(c) || Character.isLowSurrogate(c)) {
+                    cost = 0;
+                } else {
+                    cost = 1;
+                }
+            }
+            if (tokens + cost > maxTokens) break;
+            tokens += cost;
+            chars++;
+        }
+        return new Result(tokens, chars);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.skillboost.codeReview.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeTokenizerTest {
+
+    @Test
+    void camelCase_는_통째와_조각을_모두_낸다() {
+        assertThat(CodeTokenizer.tokenize("getUserById"))
+                .containsExactly("getuserbyid", "get", "user", "by", "id");
+    }
+
+    @Test
+    void snake_case_는_밑줄_경계로_나눈다() {
+        assertThat(CodeTokenizer.tokenize("MAX_RETRY_COUNT"))
+                .containsExactly("maxretrycount", "max", "retry", "count");
+    }
+
+    @Test
+    void 대문자_약어_뒤의_단어를_분리한다() {
+        assertThat(CodeTokenizer.tokenize("XMLHttpRequest"))
+                .containsExactly("xmlhttprequest", "xml", "http", "request");
+        assertThat(CodeTokenizer.tokenize("parseJSON"))
+                .containsExactly("parsejson", "parse", "json");
+    }
+
+    @Test
+    void 숫자_경계로_나누고_한_글자_조각은_버린다() {
+        assertThat(CodeTokenizer.tokenize("HTTPServer2"))
+                .containsExactly("httpserver2", "http", "server");
+        assertThat(CodeTokenizer.tokenize("utf8Decoder"))
+                .containsExactly("utf8decoder", "utf", "decoder");
+    }
+
+    @Test
+    void 한글과_영문_경계에서_나눈다() {
+        assertThat(CodeTokenizer.tokenize("사용자Service"))
+                .containsExactly("사용자service", "사용자", "service");
+        assertThat(CodeTokenizer.tokenize("회원가입API"))
+                .containsExactly("회원가입api", "회원가입", "api");
+    }
+
+    @Test
+    void 주석의_한글_단어도_토큰이_된다() {
+        assertThat(CodeTokenizer.tokenize("// 사용자 조회 (id 기준)"))
+                .containsExactly("사용자", "조회", "id", "기준");
+    }
+
+    @Test
+    void 너무_긴_덩어리와_빈_입력은_무시한다() {
+        assertThat(CodeTokenizer.tokenize("a".repeat(65) + " ok")).containsExactly("ok");
+        assertThat(CodeTokenizer.tokenize("")).isEmpty();
+        assertThat(CodeTokenizer.tokenize(null)).isEmpty();
+    }
+}
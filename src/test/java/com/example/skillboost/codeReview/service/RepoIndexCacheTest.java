@@ -0,0 +1,41 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepoIndexCacheTest {
+
+    private final RepoIndexCache cache = new RepoIndexCache(10, 30);
+
+    @Test
+    void 같은_경로와_내용이면_색인을_재사용한다() {
+        RepoSearchIndex first = cache.get(List.of(new GithubFile("A.java", "class Alpha {}")));
+        RepoSearchIndex second = cache.get(List.of(new GithubFile("A.java", new String("class Alpha {}"))));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void hashCode_와_길이가_같아도_내용이_다르면_다른_색인이다() {
+        // "Aa" 와 "BB" 는 String.hashCode 와 길이가 같다
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        RepoSearchIndex aa = cache.get(List.of(new GithubFile("A.java", "Aa")));
+        RepoSearchIndex bb = cache.get(List.of(new GithubFile("A.java", "BB")));
+
+        assertThat(bb).isNotSameAs(aa);
+        assertThat(bb.search("bb", 5)).hasSize(1);
+    }
+
+    @Test
+    void 경로와_내용의_경계가_달라지면_다른_색인이다() {
+        RepoSearchIndex first = cache.get(List.of(new GithubFile("ab", "c")));
+        RepoSearchIndex second = cache.get(List.of(new GithubFile("a", "bc")));
+
+        assertThat(second).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.skillboost.codeReview.service;
+
+import com.example.skillboost.codeReview.GithubFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepoSearchIndexTest {
+
+    @Test
+    void 긴_파일은_40줄_단위_청크로_나누고_줄_번호를_유지한다() {
+        String content = IntStream.rangeClosed(1, 100).mapToObj(i -> "line" + i).collect(Collectors.joining("\n"));
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(new GithubFile("src/Big.java", content)));
+
+        assertThat(index.size()).isEqualTo(3);
+        // "line" 조각은 모든 청크에 있고 "line55" 통째 토큰은 두 번째 청크에만 있다
+        List<RepoSearchIndex.ScoredChunk> hits = index.search("line55", 5);
+        assertThat(hits).hasSize(3);
+        assertThat(hits.get(0).chunk().startLine()).isEqualTo(41);
+        assertThat(hits.get(0).chunk().endLine()).isEqualTo(80);
+        assertThat(hits.get(0).chunk().text()).contains("line55").doesNotContain("line81");
+    }
+
+    @Test
+    void 긴_줄이_많으면_글자_수_기준으로도_청크를_나눈다() {
+        String content = IntStream.range(0, 10).mapToObj(i -> "x".repeat(500)).collect(Collectors.joining("\n"));
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(new GithubFile("min.js", content)));
+
+        // 2000자를 넘기 전에 끊으므로 500자 줄 3개씩
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void 빈_파일은_색인하지_않는다() {
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(
+                new GithubFile("empty.txt", ""),
+                new GithubFile("blank.txt", "  \n\n"),
+                new GithubFile("none.txt", null)));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("empty", 5)).isEmpty();
+    }
+
+    @Test
+    void 쿼리_단어가_많이_겹치는_청크가_먼저_나온다() {
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(
+                new GithubFile("src/UserService.java", "class UserService { User findUserById(long id) { return repo.findById(id); } }"),
+                new GithubFile("src/OrderService.java", "class OrderService { Order findOrder(long id) { return null; } }"),
+                new GithubFile("README.md", "프로젝트 소개")));
+
+        List<RepoSearchIndex.ScoredChunk> hits = index.search("findUserById 사용자", 10);
+
+        assertThat(hits).isNotEmpty();
+        assertThat(hits.get(0).chunk().path()).isEqualTo("src/UserService.java");
+        assertThat(hits).extracting(hit -> hit.chunk().path()).doesNotContain("README.md");
+        assertThat(hits).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+    }
+
+    @Test
+    void 파일_경로도_검색_대상이다() {
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(
+                new GithubFile("src/payment/PaymentGateway.java", "class A { void run() {} }"),
+                new GithubFile("src/B.java", "class B { void run() {} }")));
+
+        List<RepoSearchIndex.ScoredChunk> hits = index.search("payment", 10);
+
+        assertThat(hits).extracting(hit -> hit.chunk().path()).containsExactly("src/payment/PaymentGateway.java");
+    }
+
+    @Test
+    void limit_개까지만_돌려주고_파일_순위는_최고_청크_점수로_정한다() {
+        RepoSearchIndex index = RepoSearchIndex.build(List.of(
+                new GithubFile("a.java", "token token token"),
+                new GithubFile("b.java", "token other words here"),
+                new GithubFile("c.java", "token")));
+
+        List<RepoSearchIndex.ScoredChunk> hits = index.search("token", 2);
+
+        assertThat(hits).hasSize(2);
+        assertThat(RepoSearchIndex.rankFiles(index.search("token", 10)).get(0)).isEqualTo("a.java");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.dto.SubmissionResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiResultCacheTest {
+
+    // Redis 없이 로컬 캐시만
+    private final AiResultCache cache =
+            new AiResultCache(null, new ObjectMapper(), new SimpleMeterRegistry(), 100, 24, false);
+
+    @Test
+    void 저장한_뒤_원본_리스트를_바꿔도_캐시_값은_그대로다() {
+        List<String> questions = new ArrayList<>(List.of("q1", "q2"));
+        cache.put("key", SubmissionResultDto.builder().submissionId(7L).aiFeedback("good")
+                .interviewQuestions(questions).build());
+
+        questions.add("q3");
+
+        SubmissionResultDto cached = cache.get("key").orElseThrow();
+        assertThat(cached.getInterviewQuestions()).containsExactly("q1", "q2");
+        assertThat(cached.getSubmissionId()).isNull();
+    }
+
+    @Test
+    void 꺼낸_값의_리스트를_바꿔도_다음_조회에는_영향이_없다() {
+        cache.put("key", SubmissionResultDto.builder().interviewQuestions(List.of("q1")).build());
+
+        cache.get("key").orElseThrow().getInterviewQuestions().add("changed");
+
+        assertThat(cache.get("key").orElseThrow().getInterviewQuestions()).containsExactly("q1");
+    }
+
+    @Test
+    void 리스트가_없는_값도_복사한다() {
+        cache.put("key", SubmissionResultDto.builder().aiFeedback("good").build());
+
+        assertThat(cache.get("key").orElseThrow().getInterviewQuestions()).isNull();
+        assertThat(cache.get("missing")).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.skillboost.codingtest.judge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeNormalizerTest {
+
+    @Test
+    void 주석과_공백_차이는_같은_코드로_본다() {
+        String a = """
+                int main() {
+                    // 입력
+                    int a = 1; /* 임시 */
+                    return a;
+                }
+                """;
+        String b = "int main(){int a = 1;\n\n   return a;}";
+
+        assertThat(CodeNormalizer.normalize("cpp", a)).isEqualTo(CodeNormalizer.normalize("cpp", b));
+    }
+
+    @Test
+    void 문자열_안의_주석_기호는_지우지_않는다() {
+        String url = "String s = \"http://example.com\"; // 주소";
+        String block = "String s = \"/* not a comment */\";";
+
+        assertThat(CodeNormalizer.normalize("java", url)).isEqualTo("String s= \"http://example.com\";");
+        assertThat(CodeNormalizer.normalize("java", block)).isEqualTo("String s= \"/* not a comment */\";");
+        // 리터럴 내용이 다르면 다른 키
+        assertThat(CodeNormalizer.normalize("java", "print(\"a//b\");"))
+                .isNotEqualTo(CodeNormalizer.normalize("java", "print(\"a\");"));
+    }
+
+    @Test
+    void 문자열_안의_공백은_줄이지_않는다() {
+        assertThat(CodeNormalizer.normalize("java", "print(\"x = 1\");"))
+                .isNotEqualTo(CodeNormalizer.normalize("java", "print(\"x=1\");"));
+        assertThat(CodeNormalizer.normalize("cpp", "puts(\"a  b\");")).isEqualTo("puts(\"a  b\");");
+    }
+
+    @Test
+    void Java_text_block_안의_주석_기호와_줄바꿈은_그대로_둔다() {
+        String code = "String s = \"\"\"\n    // 내용\n      /* 그대로 */\n    \"\"\"; // 주석";
+
+        assertThat(CodeNormalizer.normalize("java", code))
+                .isEqualTo("String s= \"\"\"\n    // 내용\n      /* 그대로 */\n    \"\"\";");
+    }
+
+    @Test
+    void 이스케이프된_따옴표_뒤의_주석_기호도_문자열로_본다() {
+        String code = "char q='\\'';String s=\"say \\\"hi\\\" // not comment\";";
+
+        assertThat(CodeNormalizer.normalize("java", code)).isEqualTo(code);
+    }
+
+    @Test
+    void 토큰_경계에_필요한_공백은_남긴다() {
+        assertThat(CodeNormalizer.normalize("cpp", "a + +b")).isNotEqualTo(CodeNormalizer.normalize("cpp", "a ++b"));
+        assertThat(CodeNormalizer.normalize("java", "return  x ;")).isEqualTo("return x;");
+    }
+
+    @Test
+    void Python_은_들여쓰기를_유지하고_줄_끝_공백과_빈_줄만_없앤다() {
+        String code = "def f(x):   \n\n    if x:\n        return 1  # 주석\n    return 0\n";
+
+        assertThat(CodeNormalizer.normalize("python", code))
+                .isEqualTo("def f(x):\n    if x:\n        return 1\n    return 0\n");
+        // 들여쓰기가 다르면 다른 코드
+        assertThat(CodeNormalizer.normalize("python", "if x:\n    a()\nb()\n"))
+                .isNotEqualTo(CodeNormalizer.normalize("python", "if x:\n    a()\n    b()\n"));
+    }
+
+    @Test
+    void Python_문자열_안의_샵은_주석이_아니다() {
+        assertThat(CodeNormalizer.normalize("python", "print('#1')  # 출력"))
+                .isEqualTo("print('#1')\n");
+    }
+
+    @Test
+    void Python_삼중_따옴표_문자열_안의_샵과_따옴표는_그대로_둔다() {
+        String code = "def f():\n"
+                + "    \"\"\"설명 # 주석 아님\n"
+                + "    it's \"quoted\" # 이것도\n"
+                + "    \"\"\"\n"
+                + "    return '''a # b''' # 진짜 주석\n";
+
+        assertThat(CodeNormalizer.normalize("python", code)).isEqualTo("def f():\n"
+                + "    \"\"\"설명 # 주석 아님\n"
+                + "    it's \"quoted\" # 이것도\n"
+                + "    \"\"\"\n"
+                + "    return '''a # b'''\n");
+    }
+
+    @Test
+    void Python_여러_줄_문자열_안의_빈_줄과_끝_공백은_유지한다() {
+        String code = "s = '''a  \n\n  b'''   \n\nprint(s)\n";
+
+        assertThat(CodeNormalizer.normalize("python", code)).isEqualTo("s = '''a  \n\n  b'''\nprint(s)\n");
+    }
+
+    @Test
+    void 닫히지_않은_삼중_따옴표는_코드_끝까지_문자열이다() {
+        String code = "x = \"\"\"unterminated # still string\n# also string";
+
+        assertThat(CodeNormalizer.normalize("python", code)).isEqualTo(code + "\n");
+    }
+}
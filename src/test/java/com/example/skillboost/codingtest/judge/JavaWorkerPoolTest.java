@@ -0,0 +1,311 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.OutputCompareMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaWorkerPoolTest {
+
+    private static final long OUTPUT_LIMIT = 16L * 1024 * 1024;
+
+    @TempDir
+    Path classDir;
+
+    private final CompilerService compilerService = new CompilerService(new SimpleMeterRegistry());
+    private JavaWorkerPool pool;
+
+    @BeforeEach
+    void setUp() {
+        // 운영에서는 @PostConstruct 에서 한다
+        compilerService.warmUp();
+        pool = new JavaWorkerPool();
+        ReflectionTestUtils.setField(pool, "enabled", true);
+        ReflectionTestUtils.setField(pool, "poolSize", 1);
+        ReflectionTestUtils.setField(pool, "maxRuns", 50);
+        ReflectionTestUtils.setField(pool, "maxHeapMb", 256);
+        ReflectionTestUtils.setField(pool, "maxTiers", 3);
+        // 첫 실행은 워커 JVM 이 뜰 때까지 기다린다
+        ReflectionTestUtils.setField(pool, "acquireTimeoutMs", 10_000L);
+        pool.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void 오답이_확정되면_출력이_끝나기_전에_실행을_중단한다() throws IOException {
+        compile("""
+                public class Main {
+                    public static void main(String[] args) {
+                        while (true) System.out.println(0);
+                    }
+                }
+                """);
+        OutputChecker checker = new OutputChecker("1", OutputCompareMode.TOKENS, 1e-6, OUTPUT_LIMIT);
+
+        long start = System.nanoTime();
+        Optional<JudgeResult> result = pool.run(classDir, "", JudgeSpec.defaults(), OUTPUT_LIMIT, checker);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(4);
+        // 출력 제한이나 시간 제한까지 가지 않고 첫 불일치에서 끝나야 한다
+        assertThat(elapsedMillis).isLessThan(JudgeSpec.DEFAULT_TIME_LIMIT_MS);
+    }
+
+    @Test
+    void 긴_정답_출력도_흘려보내며_비교한다() throws IOException {
+        compile("""
+                public class Main {
+                    public static void main(String[] args) {
+                        StringBuilder sb = new StringBuilder();
+                        for (int i = 1; i <= 200000; i++) sb.append(i).append('\\n');
+                        System.out.print(sb);
+                    }
+                }
+                """);
+        String expected = IntStream.rangeClosed(1, 200000).mapToObj(String::valueOf)
+                .collect(Collectors.joining("\n"));
+        OutputChecker checker = new OutputChecker(expected, OutputCompareMode.TOKENS, 1e-6, OUTPUT_LIMIT);
+
+        Optional<JudgeResult> result = pool.run(classDir, "", JudgeSpec.defaults(), OUTPUT_LIMIT, checker);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isAccepted()).isTrue();
+    }
+
+    @Test
+    void 출력_제한을_넘으면_출력_초과() throws IOException {
+        compile("""
+                public class Main {
+                    public static void main(String[] args) {
+                        while (true) System.out.println("1 1 1 1 1 1 1 1");
+                    }
+                }
+                """);
+        OutputChecker checker = new OutputChecker("1 ".repeat(100000), OutputCompareMode.TOKENS, 1e-6, 64 * 1024);
+
+        Optional<JudgeResult> result = pool.run(classDir, "", JudgeSpec.defaults(), 64 * 1024, checker);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(15);
+    }
+
+    @Test
+    void checker_가_없으면_출력을_모아서_돌려준다() throws IOException {
+        compile("""
+                import java.util.Scanner;
+                public class Main {
+                    public static void main(String[] args) {
+                        Scanner sc = new Scanner(System.in);
+                        System.out.println(sc.nextInt() + sc.nextInt());
+                    }
+                }
+                """);
+
+        Optional<JudgeResult> result = pool.run(classDir, "3 4\n", JudgeSpec.defaults(), OUTPUT_LIMIT, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isAccepted()).isTrue();
+        assertThat(result.get().getStdout()).isEqualTo("7");
+    }
+
+    @Test
+    void 사용자_코드가_띄운_스레드의_CPU_시간도_제한에_포함한다() throws IOException {
+        compile("""
+                public class Main {
+                    static volatile long sink;
+                    public static void main(String[] args) throws Exception {
+                        Thread busy = new Thread(() -> { while (true) sink++; });
+                        busy.start();
+                        busy.join();
+                    }
+                }
+                """);
+        JudgeSpec spec = new JudgeSpec(OutputCompareMode.TOKENS, 300, 256L * 1024 * 1024);
+
+        long start = System.nanoTime();
+        Optional<JudgeResult> result = pool.run(classDir, "", spec, OUTPUT_LIMIT, null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(5);
+        // 벽시계 제한까지 기다리지 않고 워커 안에서 CPU 제한으로 끊어야 한다
+        assertThat(elapsedMillis).isLessThan(spec.getWallTimeLimitMillis());
+    }
+
+    @Test
+    void FileDescriptor_를_직접_써도_워커_프로토콜이_깨지지_않는다() throws IOException {
+        compile("""
+                import java.io.*;
+                public class Main {
+                    public static void main(String[] args) throws IOException {
+                        DataInputStream in = new DataInputStream(new FileInputStream(FileDescriptor.in));
+                        int a = Integer.parseInt(new String(in.readAllBytes()).trim());
+                        System.out.print("sum ");
+                        System.out.flush();
+                        OutputStream raw = new FileOutputStream(FileDescriptor.out);
+                        raw.write(String.valueOf(a + 1).getBytes());
+                        raw.flush();
+                    }
+                }
+                """);
+
+        for (int round = 0; round < 3; round++) {
+            OutputChecker checker = new OutputChecker("sum " + (round + 1), OutputCompareMode.TOKENS, 1e-6, OUTPUT_LIMIT);
+
+            Optional<JudgeResult> result = pool.run(classDir, round + "\n", JudgeSpec.defaults(), OUTPUT_LIMIT, checker);
+
+            assertThat(result).isPresent();
+            assertThat(result.get().isAccepted()).as("round %d", round).isTrue();
+        }
+    }
+
+    @Test
+    void 상대_경로_파일은_실행마다_비워지는_작업_디렉토리에_만들어진다() throws IOException {
+        compile("""
+                import java.io.*;
+                import java.nio.file.*;
+                public class Main {
+                    public static void main(String[] args) throws IOException {
+                        Path marker = Path.of("marker.txt");
+                        System.out.println(Files.exists(marker) ? "seen" : "fresh");
+                        Files.writeString(marker, "x");
+                        System.out.println(Files.list(Path.of(".")).count());
+                    }
+                }
+                """);
+
+        for (int round = 0; round < 2; round++) {
+            Optional<JudgeResult> result = pool.run(classDir, "", JudgeSpec.defaults(), OUTPUT_LIMIT, null);
+
+            assertThat(result).isPresent();
+            // 작업 디렉토리에는 워커 클래스 파일이나 이전 실행의 파일이 없다
+            assertThat(result.get().getStdout()).isEqualTo("fresh\n1");
+        }
+    }
+
+    @Test
+    void 수거될_가비지만_많이_만드는_풀이는_메모리_초과가_아니다() throws IOException {
+        compile("""
+                public class Main {
+                    public static void main(String[] args) {
+                        long sum = 0;
+                        for (int i = 0; i < 40; i++) {
+                            byte[] chunk = new byte[8 * 1024 * 1024];
+                            chunk[i] = 1;
+                            sum += chunk[i];
+                        }
+                        System.out.println(sum);
+                    }
+                }
+                """);
+        // 누적 할당 320MB, 동시에 살아 있는 건 8MB
+        JudgeSpec spec = new JudgeSpec(OutputCompareMode.TOKENS, 2000, 64L * 1024 * 1024);
+
+        Optional<JudgeResult> result = pool.run(classDir, "", spec, OUTPUT_LIMIT, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(3);
+        assertThat(result.get().getStdout()).isEqualTo("40");
+    }
+
+    @Test
+    void 살아_있는_메모리가_제한을_넘으면_메모리_초과다() throws IOException {
+        compile("""
+                import java.util.*;
+                public class Main {
+                    public static void main(String[] args) {
+                        List<byte[]> kept = new ArrayList<>();
+                        for (int i = 0; i < 12; i++) kept.add(new byte[8 * 1024 * 1024]);
+                        System.out.println(kept.size());
+                    }
+                }
+                """);
+        // 96MB 를 붙잡고 있으므로 기본 풀(256MB)에서는 통과하지만 64MB 제한에서는 초과
+        JudgeSpec spec = new JudgeSpec(OutputCompareMode.TOKENS, 2000, 64L * 1024 * 1024);
+
+        Optional<JudgeResult> result = pool.run(classDir, "", spec, OUTPUT_LIMIT, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(16);
+    }
+
+    @Test
+    void 제출_코드는_리플렉션으로_워커_상태를_바꿀_수_없다() throws IOException {
+        compile("""
+                import java.lang.reflect.Field;
+                public class Main {
+                    public static void main(String[] args) throws Exception {
+                        Class<?> worker = ClassLoader.getSystemClassLoader()
+                                .loadClass("com.example.skillboost.codingtest.judge.JudgeWorkerMain");
+                        Field armed = worker.getDeclaredField("armed");
+                        armed.setAccessible(true);
+                        armed.setBoolean(null, false);
+                        while (true) { }
+                    }
+                }
+                """);
+        JudgeSpec spec = new JudgeSpec(OutputCompareMode.TOKENS, 300, 256L * 1024 * 1024);
+
+        Optional<JudgeResult> result = pool.run(classDir, "", spec, OUTPUT_LIMIT, null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatusId()).isEqualTo(11);
+        assertThat(result.get().getStderr()).contains("SecurityException");
+    }
+
+    @Test
+    void 전역_기본값을_바꾼_실행_뒤에는_새_워커가_실행한다() throws IOException {
+        compile("""
+                import java.util.Locale;
+                public class Main {
+                    public static void main(String[] args) {
+                        Locale.setDefault(Locale.GERMANY);
+                        System.out.println(String.format("%.1f", 1.5));
+                    }
+                }
+                """);
+        Optional<JudgeResult> changed = pool.run(classDir, "", JudgeSpec.defaults(), OUTPUT_LIMIT, null);
+        assertThat(changed).isPresent();
+        assertThat(changed.get().getStdout()).isEqualTo("1,5");
+
+        compile("""
+                public class Main {
+                    enum Color { RED }
+                    public static void main(String[] args) {
+                        System.out.println(String.format("%.1f", 1.5) + " " + Color.valueOf("RED"));
+                    }
+                }
+                """);
+        Optional<JudgeResult> next = pool.run(classDir, "", JudgeSpec.defaults(), OUTPUT_LIMIT, null);
+
+        assertThat(next).isPresent();
+        // Enum.valueOf 처럼 JDK 내부에서 권한 블록으로 하는 리플렉션은 막지 않는다
+        assertThat(next.get().getStdout()).isEqualTo("1.5 RED");
+    }
+
+    private void compile(String source) throws IOException {
+        CompileResult compiled = compilerService.compile("java", source);
+        assertThat(compiled.isSuccess()).as(compiled.getError()).isTrue();
+        for (Map.Entry<String, byte[]> file : compiled.getArtifact().getFiles().entrySet()) {
+            Files.write(classDir.resolve(file.getKey()), file.getValue());
+        }
+    }
+}
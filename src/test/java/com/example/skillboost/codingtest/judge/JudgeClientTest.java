@@ -0,0 +1,128 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.CodingTestCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JudgeClientTest {
+
+    // 입력이 slow 면 한참 뒤에 정답을, 아니면 바로 오답을 출력
+    private static final String SLOW_THEN_WRONG = """
+            import sys, time
+            if sys.stdin.read().strip() == "slow":
+                time.sleep(1.5)
+                print("ok")
+            else:
+                print("wrong")
+            """;
+
+    // 입력이 "hang <파일>" 이면 pid 를 남기고 오래 멈추고, 아니면 잠시 뒤 오답을 출력
+    private static final String HANG_OR_WRONG = """
+            import os, sys, time
+            args = sys.stdin.read().split()
+            if args[0] == "hang":
+                with open(args[1], "w") as f:
+                    f.write(str(os.getpid()))
+                time.sleep(60)
+                print("ok")
+            else:
+                time.sleep(0.5)
+                print("wrong")
+            """;
+
+    @TempDir
+    Path workspaceRoot;
+
+    @TempDir
+    Path scratch;
+
+    private JudgeWorkspaceManager workspaceManager;
+    private JudgeClient judgeClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JudgeToolchain toolchain = new JudgeToolchain();
+        toolchain.probe();
+        assumeTrue(toolchain.supports("python"), "python 이 없는 환경");
+
+        workspaceManager = new JudgeWorkspaceManager();
+        ReflectionTestUtils.setField(workspaceManager, "root", workspaceRoot.toString());
+        ReflectionTestUtils.setField(workspaceManager, "poolSize", 2);
+        workspaceManager.init();
+
+        judgeClient = new JudgeClient(new JavaWorkerPool(), new CompilerService(new SimpleMeterRegistry()),
+                workspaceManager, toolchain);
+        ReflectionTestUtils.setField(judgeClient, "outputLimitBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(judgeClient, "floatEpsilon", 1e-6);
+        // 코어 수와 관계없이 두 케이스가 동시에 돌도록
+        ReflectionTestUtils.setField(judgeClient, "testCaseExecutor", Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (judgeClient != null) judgeClient.shutdown();
+        if (workspaceManager != null) workspaceManager.shutdown();
+    }
+
+    @Test
+    void 조기_종료로_취소된_앞번호_케이스가_실제_실패_판정을_덮지_않는다() {
+        List<CodingTestCase> cases = List.of(
+                testCase("slow", "ok"),
+                testCase("fast", "ok"));
+
+        BatchJudgeResult result = judgeClient.executeAll(
+                SLOW_THEN_WRONG, "python", cases, VerdictMode.STOP_ON_FIRST_FAILURE);
+
+        assertThat(result.getStatusId()).isEqualTo(4);
+        assertThat(result.getResults().get(1).getStatusId()).isEqualTo(4);
+        // 0번은 끝까지 돌았으면 AC, 취소됐으면 skipped - 어느 쪽이든 RE 로 남으면 안 된다
+        assertThat(result.getResults().get(0).getStatusId()).isIn(0, 3);
+    }
+
+    @Test
+    void RUN_ALL_은_느린_케이스도_끝까지_채점한다() {
+        List<CodingTestCase> cases = List.of(
+                testCase("slow", "ok"),
+                testCase("fast", "ok"));
+
+        BatchJudgeResult result = judgeClient.executeAll(
+                SLOW_THEN_WRONG, "python", cases, VerdictMode.RUN_ALL);
+
+        assertThat(result.getStatusId()).isEqualTo(4);
+        assertThat(result.getPassedCount()).isEqualTo(1);
+        assertThat(result.getResults().get(0).isAccepted()).isTrue();
+    }
+
+    @Test
+    void 조기_종료하면_취소된_케이스의_프로세스가_끝난_뒤에_돌아온다() throws Exception {
+        Path pidFile = scratch.resolve("hang.pid");
+        List<CodingTestCase> cases = List.of(
+                testCase("hang " + pidFile, "ok"),
+                testCase("fast", "ok"));
+
+        BatchJudgeResult result = judgeClient.executeAll(
+                HANG_OR_WRONG, "python", cases, VerdictMode.STOP_ON_FIRST_FAILURE);
+
+        assertThat(result.getStatusId()).isEqualTo(4);
+        assertThat(pidFile).exists();
+        long pid = Long.parseLong(Files.readString(pidFile).trim());
+        assertThat(ProcessHandle.of(pid).map(ProcessHandle::isAlive)).isNotEqualTo(Optional.of(true));
+    }
+
+    private CodingTestCase testCase(String input, String expected) {
+        return CodingTestCase.builder().inputData(input).expectedOutput(expected).build();
+    }
+}
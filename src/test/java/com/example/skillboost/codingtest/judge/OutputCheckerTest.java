@@ -0,0 +1,135 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.OutputCompareMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputCheckerTest {
+
+    private static final long LIMIT = 1024;
+
+    @Test
+    void TOKENS_는_공백과_개행_차이를_무시한다() throws IOException {
+        assertThat(check("1 2\n3\n", OutputCompareMode.TOKENS, "1\n2   3"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+        assertThat(check("1 2 3", OutputCompareMode.TOKENS, "1\r\n2\r\n3\r\n"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    @Test
+    void TOKENS_는_토큰이_다르거나_모자라거나_남으면_오답() throws IOException {
+        assertThat(check("1 2 3", OutputCompareMode.TOKENS, "1 2 4"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+        assertThat(check("1 2 3", OutputCompareMode.TOKENS, "1 2"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+        assertThat(check("1 2 3", OutputCompareMode.TOKENS, "1 2 3 4"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+        assertThat(check("12", OutputCompareMode.TOKENS, "1 2"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+    }
+
+    @Test
+    void TOKENS_는_실수를_글자_그대로_비교한다() throws IOException {
+        assertThat(check("0.5", OutputCompareMode.TOKENS, "0.50"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+    }
+
+    @Test
+    void 끝의_공백과_빈_줄은_무시한다() throws IOException {
+        assertThat(check("hello world\n", OutputCompareMode.TOKENS, "hello world   \n\n\t\n"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+        assertThat(check("hello world\n\n\n", OutputCompareMode.TOKENS, "hello world"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    @Test
+    void FLOAT_TOLERANCE_는_오차_안의_실수를_허용한다() throws IOException {
+        assertThat(check("0.333333", OutputCompareMode.FLOAT_TOLERANCE, "0.3333333333"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+        assertThat(check("1000000", OutputCompareMode.FLOAT_TOLERANCE, "1000000.0000001"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+        assertThat(check("2.5 3", OutputCompareMode.FLOAT_TOLERANCE, "2.5000000001 3"))
+                .isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    @Test
+    void FLOAT_TOLERANCE_도_오차를_넘거나_숫자가_아니면_오답() throws IOException {
+        assertThat(check("0.5", OutputCompareMode.FLOAT_TOLERANCE, "0.501"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+        assertThat(check("YES", OutputCompareMode.FLOAT_TOLERANCE, "yes"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+        assertThat(check("1.0", OutputCompareMode.FLOAT_TOLERANCE, "NaN"))
+                .isEqualTo(OutputChecker.Outcome.MISMATCH);
+    }
+
+    @Test
+    void 조각_경계에_걸친_토큰도_이어서_비교한다() {
+        OutputChecker checker = new OutputChecker("12345 abc", OutputCompareMode.TOKENS, 1e-6, LIMIT);
+
+        assertThat(feed(checker, "12")).isNull();
+        assertThat(feed(checker, "3")).isNull();
+        assertThat(feed(checker, "45 a")).isNull();
+        assertThat(feed(checker, "bc\n")).isNull();
+        assertThat(checker.finish()).isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    @Test
+    void 조각_경계에서_갈라진_실수도_오차_비교한다() {
+        OutputChecker checker = new OutputChecker("3.14159265", OutputCompareMode.FLOAT_TOLERANCE, 1e-6, LIMIT);
+
+        assertThat(feed(checker, "3.141")).isNull();
+        assertThat(feed(checker, "5926")).isNull();
+        assertThat(checker.finish()).isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    @Test
+    void 첫_불일치_조각에서_바로_결과를_돌려준다() {
+        OutputChecker checker = new OutputChecker("1 2 3", OutputCompareMode.TOKENS, 1e-6, LIMIT);
+
+        assertThat(feed(checker, "1 ")).isNull();
+        assertThat(feed(checker, "9 ")).isEqualTo(OutputChecker.Outcome.MISMATCH);
+    }
+
+    @Test
+    void 기대_출력보다_훨씬_긴_토큰은_끝까지_기다리지_않고_오답() {
+        OutputChecker checker = new OutputChecker("1", OutputCompareMode.TOKENS, 1e-6, LIMIT * 1024);
+
+        assertThat(feed(checker, "1".repeat(200))).isEqualTo(OutputChecker.Outcome.MISMATCH);
+    }
+
+    @Test
+    void 출력_제한을_넘으면_출력_초과() throws IOException {
+        String huge = "1 ".repeat((int) LIMIT);
+        assertThat(check(huge, OutputCompareMode.TOKENS, huge))
+                .isEqualTo(OutputChecker.Outcome.OUTPUT_LIMIT_EXCEEDED);
+
+        OutputChecker checker = new OutputChecker("1", OutputCompareMode.TOKENS, 1e-6, 8);
+        assertThat(feed(checker, "1       ")).isNull();
+        assertThat(feed(checker, " ")).isEqualTo(OutputChecker.Outcome.OUTPUT_LIMIT_EXCEEDED);
+    }
+
+    @Test
+    void reset_후에는_처음부터_다시_비교한다() {
+        OutputChecker checker = new OutputChecker("1 2", OutputCompareMode.TOKENS, 1e-6, LIMIT);
+        assertThat(feed(checker, "1 ")).isNull();
+
+        checker.reset();
+        assertThat(feed(checker, "1 2")).isNull();
+        assertThat(checker.finish()).isEqualTo(OutputChecker.Outcome.MATCH);
+    }
+
+    private OutputChecker.Outcome check(String expected, OutputCompareMode mode, String actual) throws IOException {
+        OutputChecker checker = new OutputChecker(expected, mode, 1e-6, LIMIT);
+        return checker.check(new ByteArrayInputStream(actual.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private OutputChecker.Outcome feed(OutputChecker checker, String chunk) {
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        return checker.feed(bytes, 0, bytes.length);
+    }
+}
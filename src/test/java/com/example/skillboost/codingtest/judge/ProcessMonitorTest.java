@@ -0,0 +1,83 @@
+package com.example.skillboost.codingtest.judge;
+
+import com.example.skillboost.codingtest.domain.OutputCompareMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ProcessMonitorTest {
+
+    // dash 기준 수십 ms 정도 CPU 를 쓰고 끝나는 루프
+    private static final String BUSY_LOOP = "i=0; while [ $i -lt 100000 ]; do i=$((i+1)); done";
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void times_출력에서_자식_CPU_시간을_읽는다() {
+        // bash
+        assertThat(ProcessMonitor.parseChildCpu(List.of("0m0.001s 0m0.002s", "0m1.250s 0m0.050s")))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(1300));
+        // dash
+        assertThat(ProcessMonitor.parseChildCpu(List.of("0m0.000000s 0m0.001000s", "1m2.500000s 0m0.000000s")))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(62_500));
+    }
+
+    @Test
+    void 샘플링_사이에_끝난_프로세스도_최종_CPU_시간을_반영한다() throws Exception {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "/proc 이 없는 환경");
+
+        ProcessMonitor monitor = ProcessMonitor.start(new ProcessBuilder("sh", "-c", BUSY_LOOP),
+                new JudgeSpec(OutputCompareMode.TOKENS, 60_000, 256L * 1024 * 1024), scheduler);
+        assertThat(monitor.getProcess().waitFor(30, TimeUnit.SECONDS)).isTrue();
+        monitor.close();
+
+        assertThat(monitor.getCpuNanos()).isPositive();
+        assertThat(monitor.getViolation()).isEqualTo(ProcessMonitor.Violation.NONE);
+    }
+
+    @Test
+    void 종료_직후_기록된_CPU_시간이_제한을_넘으면_시간_초과() throws Exception {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "/proc 이 없는 환경");
+
+        ProcessMonitor monitor = ProcessMonitor.start(new ProcessBuilder("sh", "-c", BUSY_LOOP),
+                new JudgeSpec(OutputCompareMode.TOKENS, 1, 256L * 1024 * 1024), scheduler);
+        monitor.getProcess().waitFor(30, TimeUnit.SECONDS);
+        monitor.close();
+
+        assertThat(monitor.getViolation()).isEqualTo(ProcessMonitor.Violation.CPU_TIME);
+    }
+
+    @Test
+    void destroyAndWait_는_자손_프로세스까지_끝난_뒤에_돌아온다() throws Exception {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self")), "/proc 이 없는 환경");
+
+        ProcessMonitor monitor = ProcessMonitor.start(new ProcessBuilder("sh", "-c", "sleep 60 & wait"),
+                new JudgeSpec(OutputCompareMode.TOKENS, 60_000, 256L * 1024 * 1024), scheduler);
+        // sh 와 그 자식 sleep 이 뜰 때까지
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (monitor.getProcess().descendants().count() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<ProcessHandle> descendants = monitor.getProcess().descendants().toList();
+
+        monitor.destroyAndWait();
+        monitor.close();
+
+        assertThat(monitor.getProcess().isAlive()).isFalse();
+        assertThat(descendants).isNotEmpty().noneMatch(ProcessHandle::isAlive);
+    }
+}
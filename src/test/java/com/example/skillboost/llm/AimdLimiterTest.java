@@ -0,0 +1,81 @@
+package com.example.skillboost.llm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private final AimdLimiter limiter = new AimdLimiter(2, 8, 0.5);
+
+    @Test
+    void 처음에는_최대_한도까지_동시에_허용한다() {
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(8);
+    }
+
+    @Test
+    void 과부하_응답이면_한도를_절반으로_줄이되_최소_한도_아래로는_내리지_않는다() {
+        overload();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        overload();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        overload();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void 줄어든_한도를_넘는_호출은_거절한다() {
+        overload();
+        overload();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void 성공이_이어지면_한도를_조금씩_올리고_최대_한도에서_멈춘다() {
+        overload();
+        overload();
+
+        // 성공마다 1/limit 씩: 2 → 2.5 → 2.9 → 3.24
+        succeed(3);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        succeed(3);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        succeed(100);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void 취소는_자리만_반납하고_한도는_그대로다() {
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        limiter.onIgnore();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    private void overload() {
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onOverload();
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.skillboost.llm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 1_000;
+
+    // 최근 4건 중 절반 이상 실패하면 열림
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, OPEN_MILLIS);
+
+    @Test
+    void 최소_호출_수를_채우기_전에는_실패해도_열리지_않는다() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryPass(0)).isTrue();
+            breaker.onFailure(0);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryPass(0)).isTrue();
+    }
+
+    @Test
+    void 실패율이_임계치를_넘으면_열리고_열린_동안은_바로_거절한다() {
+        failTwiceOutOfFour(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryPass(OPEN_MILLIS - 1)).isFalse();
+    }
+
+    @Test
+    void 열린_시간이_지나면_시험_호출_한_건만_통과시키고_성공하면_닫힌다() {
+        failTwiceOutOfFour(0);
+
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        // 시험 호출이 끝나기 전에는 다른 호출을 막는다
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isFalse();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isTrue();
+    }
+
+    @Test
+    void 시험_호출이_실패하면_다시_열린다() {
+        failTwiceOutOfFour(0);
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isTrue();
+
+        breaker.onFailure(OPEN_MILLIS);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        // 열린 시각이 시험 호출 실패 시점으로 갱신된다
+        assertThat(breaker.tryPass(OPEN_MILLIS * 2 - 1)).isFalse();
+        assertThat(breaker.tryPass(OPEN_MILLIS * 2)).isTrue();
+    }
+
+    @Test
+    void 결과_없이_끝난_시험_호출은_다음_시험_호출을_허용한다() {
+        failTwiceOutOfFour(0);
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isTrue();
+
+        breaker.onIgnore();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryPass(OPEN_MILLIS)).isTrue();
+    }
+
+    @Test
+    void 닫힌_뒤에는_이전_실패를_잊는다() {
+        failTwiceOutOfFour(0);
+        breaker.tryPass(OPEN_MILLIS);
+        breaker.onSuccess();
+
+        // 닫히기 전 실패가 남아 있었다면 이번 한 번으로 다시 열렸을 것
+        for (int i = 0; i < 3; i++) {
+            breaker.tryPass(OPEN_MILLIS);
+            breaker.onSuccess();
+        }
+        breaker.tryPass(OPEN_MILLIS);
+        breaker.onFailure(OPEN_MILLIS);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void failTwiceOutOfFour(long now) {
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryPass(now)).isTrue();
+            if (i % 2 == 0) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure(now);
+            }
+        }
+    }
+}
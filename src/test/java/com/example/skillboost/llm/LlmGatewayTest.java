@@ -0,0 +1,123 @@
+package com.example.skillboost.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmGatewayTest {
+
+    private static final String ANSWER = """
+            {"candidates":[{"content":{"parts":[{"text":"answer"}]}}]}
+            """;
+
+    private final AtomicInteger upstreamRequests = new AtomicInteger();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private volatile int responseStatus = 200;
+    private HttpServer server;
+    private LlmGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::respond);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        LlmGuard guard = new LlmGuard(meterRegistry, 20, 2, 0.5, 20, 10, 0.5, 30_000);
+        gateway = new LlmGateway(WebClient.builder(), new ObjectMapper(), guard, meterRegistry,
+                "test-key", "test-model", "http://127.0.0.1:" + server.getAddress().getPort(),
+                10, 5_000, 30_000, 3_000, 10_000, 10_000, 60, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void 같은_프롬프트를_동시에_요청하면_Gemini_는_한_번만_호출한다() throws Exception {
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return gateway.generateBlocking("same prompt");
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("answer");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamRequests.get()).isEqualTo(1);
+        assertThat(requests("upstream")).isEqualTo(1);
+        // 나머지는 진행 중인 호출에 합류했거나, 늦게 와서 캐시된 결과를 받았다
+        assertThat(requests("coalesced") + requests("cache_hit")).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void 실패한_호출은_공유하거나_캐시하지_않는다() {
+        responseStatus = 500;
+        assertThatThrownBy(() -> gateway.generateBlocking("prompt")).isInstanceOf(LlmException.class);
+
+        responseStatus = 200;
+        assertThat(gateway.generateBlocking("prompt")).isEqualTo("answer");
+        assertThat(upstreamRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 프롬프트가_다르면_각각_호출한다() {
+        assertThat(gateway.generateBlocking("first")).isEqualTo("answer");
+        assertThat(gateway.generateBlocking("second")).isEqualTo("answer");
+
+        assertThat(upstreamRequests.get()).isEqualTo(2);
+    }
+
+    // 동시에 들어온 요청이 모두 합류할 수 있도록 조금 늦게 응답한다
+    private void respond(HttpExchange exchange) throws IOException {
+        upstreamRequests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (responseStatus == 200 ? ANSWER : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("llm.requests").tag("result", result).counter().count();
+    }
+}
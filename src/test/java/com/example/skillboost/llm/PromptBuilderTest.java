@@ -0,0 +1,139 @@
+package com.example.skillboost.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptBuilderTest {
+
+    private static final String OMITTED = "... (생략) ...";
+
+    // 200줄, 줄마다 "line 0" ~ "line 199"
+    private static final String LONG_TEXT = IntStream.range(0, 200)
+            .mapToObj(i -> "line " + i)
+            .collect(Collectors.joining("\n"));
+
+    @Test
+    void add_는_구간_예산을_넘으면_아무것도_넣지_않고_false() {
+        PromptBuilder prompt = PromptBuilder.create(1000).text("지시문\n");
+        prompt.section(10);
+
+        assertThat(prompt.add("aaaa bbbb")).isTrue();
+        assertThat(prompt.remainingTokens()).isEqualTo(8);
+        assertThat(prompt.add("가나다라마바사아자차")).isFalse();
+        assertThat(prompt.remainingTokens()).isEqualTo(8);
+        assertThat(prompt.build()).isEqualTo("지시문\naaaa bbbb");
+    }
+
+    @Test
+    void 구간_예산은_전체_남은_예산을_넘지_않는다() {
+        PromptBuilder prompt = PromptBuilder.create(20).text("가".repeat(15));
+
+        prompt.section(100);
+
+        assertThat(prompt.remainingTokens()).isEqualTo(5);
+        assertThat(prompt.add("가".repeat(6))).isFalse();
+    }
+
+    @Test
+    void 남은_예산이_너무_작으면_줄여서도_넣지_않는다() {
+        PromptBuilder prompt = PromptBuilder.create(1000);
+        prompt.section(20);
+
+        assertThat(prompt.add(LONG_TEXT, PromptBuilder.Truncation.HEAD)).isFalse();
+        assertThat(prompt.build()).isEmpty();
+    }
+
+    @Test
+    void 줄여서_넣으면_구간_예산_안에_들어간다() {
+        PromptBuilder prompt = PromptBuilder.create(1000).text("헤더\n");
+        int before = prompt.usedTokens();
+        prompt.section(100);
+
+        assertThat(prompt.add(LONG_TEXT, PromptBuilder.Truncation.HEAD)).isTrue();
+
+        assertThat(prompt.usedTokens() - before).isLessThanOrEqualTo(100);
+        assertThat(prompt.remainingTokens()).isGreaterThanOrEqualTo(0);
+        assertThat(TokenEstimator.estimate(prompt.build())).isLessThanOrEqualTo(prompt.usedTokens());
+    }
+
+    @Test
+    void 예산_안이면_그대로_돌려준다() {
+        assertThat(PromptBuilder.fit("short", 100, PromptBuilder.Truncation.HEAD)).isEqualTo("short");
+        assertThat(PromptBuilder.fit(null, 100, PromptBuilder.Truncation.HEAD)).isEmpty();
+    }
+
+    @Test
+    void HEAD_는_앞부분을_줄_단위로_남긴다() {
+        String fitted = PromptBuilder.fit(LONG_TEXT, 60, PromptBuilder.Truncation.HEAD);
+
+        assertThat(TokenEstimator.estimate(fitted)).isLessThanOrEqualTo(60);
+        assertThat(fitted).startsWith("line 0\nline 1\n").contains(OMITTED).doesNotContain("line 199");
+        // 줄 중간에서 자르지 않는다
+        assertThat(fitted.substring(0, fitted.indexOf(OMITTED) - 1)).endsWith("\n");
+    }
+
+    @Test
+    void HEAD_TAIL_은_앞과_끝을_모두_남긴다() {
+        String fitted = PromptBuilder.fit(LONG_TEXT, 60, PromptBuilder.Truncation.HEAD_TAIL);
+
+        assertThat(TokenEstimator.estimate(fitted)).isLessThanOrEqualTo(60);
+        assertThat(fitted).startsWith("line 0\n").contains(OMITTED).endsWith("line 199");
+        // 앞쪽이 뒤쪽보다 길다 (2/3 : 1/3)
+        int omitted = fitted.indexOf(OMITTED);
+        assertThat(omitted).isGreaterThan(fitted.length() - omitted - OMITTED.length());
+    }
+
+    @Test
+    void OUTLINE_은_선언부만_남긴다() {
+        String body = "        int value = x * 2;\n".repeat(50);
+        String source = """
+                package com.example;
+
+                import java.util.List;
+
+                @Service
+                public class Calculator {
+                    @Override
+                    public int doubled(int x) {
+                %s        return value;
+                    }
+                }
+                """.formatted(body);
+
+        String fitted = PromptBuilder.fit(source, 80, PromptBuilder.Truncation.OUTLINE);
+
+        assertThat(TokenEstimator.estimate(fitted)).isLessThanOrEqualTo(80);
+        assertThat(fitted).contains("package com.example;", "@Service", "public class Calculator {",
+                "@Override", "public int doubled(int x) {");
+        assertThat(fitted).doesNotContain("import java.util.List;", "int value = x * 2;", "return value;");
+    }
+
+    @Test
+    void OUTLINE_도_예산보다_크면_앞부분만_남긴다() {
+        String source = IntStream.range(0, 100)
+                .mapToObj(i -> "public void method" + i + "() {\n    work();\n}")
+                .collect(Collectors.joining("\n"));
+
+        String fitted = PromptBuilder.fit(source, 60, PromptBuilder.Truncation.OUTLINE);
+
+        assertThat(TokenEstimator.estimate(fitted)).isLessThanOrEqualTo(60);
+        assertThat(fitted).startsWith("public void method0() {\n").contains(OMITTED).doesNotContain("work();");
+    }
+
+    @Test
+    void 선언부가_없는_파일의_OUTLINE_은_앞부분을_남긴다() {
+        String yml = IntStream.range(0, 100)
+                .mapToObj(i -> "key" + i + ": value" + i)
+                .collect(Collectors.joining("\n"));
+
+        String fitted = PromptBuilder.fit(yml, 60, PromptBuilder.Truncation.OUTLINE);
+
+        assertThat(TokenEstimator.estimate(fitted)).isLessThanOrEqualTo(60);
+        assertThat(fitted).startsWith("key0: value0\nkey1: value1\n").contains(OMITTED);
+        assertThat(fitted).isEqualTo(PromptBuilder.fit(yml, 60, PromptBuilder.Truncation.HEAD));
+    }
+}
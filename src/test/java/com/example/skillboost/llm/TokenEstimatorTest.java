@@ -0,0 +1,77 @@
+package com.example.skillboost.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+    // 코드, 한글, 기호, 공백, 이모지(서로게이트 쌍)가 섞인 임의 문자열용
+    private static final String ALPHABET = "abcXYZ019_(){}[];.,+=-*/\"' \n\t가나다한글😀";
+
+    @Test
+    void 규칙대로_센다() {
+        assertThat(TokenEstimator.estimate("hello")).isEqualTo(2);       // 4글자당 1토큰, 올림
+        assertThat(TokenEstimator.estimate("안녕하세요")).isEqualTo(5);   // 한글 1글자 1토큰
+        assertThat(TokenEstimator.estimate("a+b")).isEqualTo(3);         // 기호 1개 1토큰
+        assertThat(TokenEstimator.estimate(" \n\t")).isZero();
+        assertThat(TokenEstimator.estimate("😀")).isEqualTo(1);          // 서로게이트 쌍은 한 글자
+        assertThat(TokenEstimator.estimate(null)).isZero();
+    }
+
+    @Test
+    void 실제_토크나이저보다_작게_세지_않는다() {
+        // BPE 토크나이저(cl100k) 실측값: "Hello, world!" = 4
+        assertThat(TokenEstimator.estimate("Hello, world!")).isGreaterThanOrEqualTo(4);
+        // 기호는 BPE 에서도 보통 따로 떨어지므로 기호 수보다 작으면 안 된다
+        String code = "for (int i = 0; i < n; i++) {";
+        assertThat(TokenEstimator.estimate(code)).isGreaterThanOrEqualTo((int) code.chars()
+                .filter(c -> !Character.isLetterOrDigit(c) && !Character.isWhitespace(c)).count());
+        // 어떤 토크나이저도 한 토큰에 4글자 넘는 영문/숫자 조각을 평균으로 넣지 않는다
+        String words = "the quick brown fox jumps over the lazy dog";
+        assertThat(TokenEstimator.estimate(words)).isGreaterThanOrEqualTo(words.replace(" ", "").length() / 4);
+    }
+
+    @Test
+    void 나눠서_센_합이_전체보다_작지_않다() {
+        // PromptBuilder 는 조각별 추정치를 더해 예산을 잡으므로, 합친 프롬프트가 그 합을 넘으면 안 된다
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, random.nextInt(80));
+            int split = text.isEmpty() ? 0 : random.nextInt(text.length() + 1);
+            if (split > 0 && split < text.length() && Character.isLowSurrogate(text.charAt(split))) split--;
+            String head = text.substring(0, split);
+            String tail = text.substring(split);
+
+            assertThat(TokenEstimator.estimate(head) + TokenEstimator.estimate(tail))
+                    .as("'%s' | '%s'", head, tail)
+                    .isGreaterThanOrEqualTo(TokenEstimator.estimate(text));
+        }
+    }
+
+    @Test
+    void 잘라낸_앞뒤_조각은_예산을_넘지_않는다() {
+        Random random = new Random(7);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, random.nextInt(200));
+            int budget = random.nextInt(40);
+
+            String prefix = text.substring(0, TokenEstimator.fitPrefix(text, budget));
+            String suffix = text.substring(text.length() - TokenEstimator.fitSuffix(text, budget));
+
+            assertThat(TokenEstimator.estimate(prefix)).as(prefix).isLessThanOrEqualTo(budget);
+            assertThat(TokenEstimator.estimate(suffix)).as(suffix).isLessThanOrEqualTo(budget);
+        }
+    }
+
+    private String randomText(Random random, int codePoints) {
+        int[] alphabet = ALPHABET.codePoints().toArray();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < codePoints; i++) {
+            sb.appendCodePoint(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return sb.toString();
+    }
+}